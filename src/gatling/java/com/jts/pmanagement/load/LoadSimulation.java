@@ -0,0 +1,99 @@
+package com.jts.pmanagement.load;
+
+import static com.intuit.karate.gatling.javaapi.KarateDsl.karateFeature;
+import static com.intuit.karate.gatling.javaapi.KarateDsl.karateProtocol;
+import static com.intuit.karate.gatling.javaapi.KarateDsl.uri;
+import static io.gatling.javaapi.core.CoreDsl.details;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.rampUsers;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+
+import com.intuit.karate.gatling.javaapi.KarateProtocolBuilder;
+import io.gatling.javaapi.core.Assertion;
+import io.gatling.javaapi.core.Assertion.WithPath;
+import io.gatling.javaapi.core.PopulationBuilder;
+import io.gatling.javaapi.core.Simulation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Replays the functional Karate features as a load test. Each feature is ramped up to {@code
+ * load.users} users over {@code load.ramp} seconds, and the run is asserted against the limits of
+ * {@code load-thresholds.csv}.
+ */
+public class LoadSimulation extends Simulation {
+
+  private static final String FEATURES = "classpath:features/";
+  private static final String THRESHOLDS = "/load-thresholds.csv";
+
+  public LoadSimulation() {
+    int users = Integer.getInteger("load.users", 20);
+    var ramp = Duration.ofSeconds(Integer.getInteger("load.ramp", 30));
+
+    // Groups the requests per endpoint instead of per concrete URL
+    KarateProtocolBuilder protocol =
+        karateProtocol(
+            uri("/v1/doctors/{id}").nil(),
+            uri("/v1/patients/{patientId}/appointments/{id}/cancel").nil(),
+            uri("/v1/patients/{patientId}/appointments/{id}").nil(),
+            uri("/v1/patients/{patientId}/appointments").nil(),
+            uri("/v1/patients/{id}").nil());
+
+    List<PopulationBuilder> populations =
+        Stream.of("doctor-crud", "patient-crud", "appointment-flow")
+            .map(
+                feature ->
+                    scenario(feature)
+                        .exec(karateFeature(FEATURES + feature + ".feature"))
+                        .injectOpen(rampUsers(users).during(ramp))
+                        .protocols(protocol))
+            .toList();
+
+    setUp(populations).assertions(assertions());
+  }
+
+  private static List<Assertion> assertions() {
+    List<Assertion> assertions = new ArrayList<>();
+    assertions.add(global().failedRequests().count().is(0L));
+
+    for (String[] row : readThresholds()) {
+      var request = row[0];
+      assertions.add(target(request).responseTime().percentile(50.0).lte(Integer.parseInt(row[1])));
+      assertions.add(target(request).responseTime().percentile(95.0).lte(Integer.parseInt(row[2])));
+      assertions.add(target(request).responseTime().percentile(99.0).lte(Integer.parseInt(row[3])));
+      if (row.length > 4 && !row[4].isBlank()) {
+        assertions.add(target(request).requestsPerSec().gte(Double.parseDouble(row[4])));
+      }
+    }
+
+    return assertions;
+  }
+
+  private static WithPath target(String request) {
+    return "global".equals(request) ? global() : details(request);
+  }
+
+  private static List<String[]> readThresholds() {
+    var stream =
+        Objects.requireNonNull(
+            LoadSimulation.class.getResourceAsStream(THRESHOLDS), THRESHOLDS + " not found");
+    try (var reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+      return reader
+          .lines()
+          .map(String::strip)
+          .filter(line -> !line.isEmpty() && !line.startsWith("#") && !line.startsWith("request,"))
+          .map(line -> line.split(",", -1))
+          .toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
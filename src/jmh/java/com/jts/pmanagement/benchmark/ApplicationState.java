@@ -0,0 +1,52 @@
+package com.jts.pmanagement.benchmark;
+
+import com.jts.pmanagement.Application;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Application context shared by the benchmarks of a fork, started without the web server against
+ * the in-memory database, so the beans are measured with their real configuration.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+  private ConfigurableApplicationContext context;
+  private EntityManager entityManager;
+
+  @Setup(Level.Trial)
+  public void start() {
+    context =
+        new SpringApplicationBuilder(Application.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "logging.level.com.jts.pmanagement=WARN")
+            .run();
+    entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() {
+    entityManager.close();
+    context.close();
+  }
+
+  public <T> T getBean(Class<T> type) {
+    return context.getBean(type);
+  }
+
+  /** Entity manager outside any transaction, only meant to build criteria queries. */
+  public EntityManager getEntityManager() {
+    return entityManager;
+  }
+}
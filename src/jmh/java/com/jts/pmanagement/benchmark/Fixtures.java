@@ -0,0 +1,61 @@
+package com.jts.pmanagement.benchmark;
+
+import com.jts.pmanagement.domains.appointment.dto.AppointmentStatus;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentType;
+import com.jts.pmanagement.domains.appointment.model.Appointment;
+import com.jts.pmanagement.domains.doctor.model.Doctor;
+import com.jts.pmanagement.domains.doctor.model.Speciality;
+import com.jts.pmanagement.domains.patient.model.Patient;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** Fully populated entities, the way they come out of the repositories. */
+final class Fixtures {
+
+  private static final LocalDateTime START = LocalDateTime.of(2026, 1, 20, 10, 0);
+
+  private Fixtures() {}
+
+  static Doctor doctor(Long id) {
+    return Doctor.builder()
+        .id(id)
+        .firstName("John")
+        .lastName("Foreman")
+        .title("Dr.")
+        .speciality(Speciality.builder().id(1L).description("Cardiology").build())
+        .email("john.foreman%d@gmail.com".formatted(id))
+        .phone("+1 555 0100")
+        .department("Cardiology")
+        .createdAt(START.minusYears(1))
+        .build();
+  }
+
+  static Patient patient(Long id) {
+    return Patient.builder()
+        .id(id)
+        .firstName("Jane")
+        .lastName("Doe")
+        .email("jane.doe%d@gmail.com".formatted(id))
+        .address("123 Main St")
+        .dateOfBirth(LocalDate.of(1990, 1, 1))
+        .createdAt(START.minusMonths(6))
+        .build();
+  }
+
+  static Appointment appointment(Long id, Patient patient, Doctor doctor) {
+    var startTime = START.plusHours(id);
+    return Appointment.builder()
+        .id(id)
+        .patient(patient)
+        .doctor(doctor)
+        .startTime(startTime)
+        .endTime(startTime.plusMinutes(60))
+        .duration(60)
+        .type(AppointmentType.CONSULTATION)
+        .title("Check up")
+        .description("Yearly check up")
+        .status(AppointmentStatus.SCHEDULED)
+        .createdAt(START.minusDays(7))
+        .build();
+  }
+}
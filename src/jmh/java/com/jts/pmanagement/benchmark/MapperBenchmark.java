@@ -0,0 +1,83 @@
+package com.jts.pmanagement.benchmark;
+
+import com.jts.pmanagement.domains.appointment.controller.mapper.AppointmentMapper;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentResponse;
+import com.jts.pmanagement.domains.appointment.model.Appointment;
+import com.jts.pmanagement.domains.doctor.controller.mapper.DoctorMapper;
+import com.jts.pmanagement.domains.doctor.dto.DoctorRequest;
+import com.jts.pmanagement.domains.doctor.dto.DoctorResponse;
+import com.jts.pmanagement.domains.doctor.model.Doctor;
+import com.jts.pmanagement.domains.patient.controller.mapper.PatientMapper;
+import com.jts.pmanagement.domains.patient.dto.PatientRequest;
+import com.jts.pmanagement.domains.patient.dto.PatientResponse;
+import com.jts.pmanagement.domains.patient.model.Patient;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Mapping between entities, requests and responses, done once per returned item. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+  private final AppointmentMapper appointmentMapper = new AppointmentMapper();
+  private final DoctorMapper doctorMapper = new DoctorMapper();
+  private final PatientMapper patientMapper = new PatientMapper();
+
+  private Appointment appointment;
+  private Doctor doctor;
+  private Patient patient;
+  private DoctorRequest doctorRequest;
+  private PatientRequest patientRequest;
+
+  @Setup
+  public void setUp() {
+    doctor = Fixtures.doctor(1L);
+    patient = Fixtures.patient(1L);
+    appointment = Fixtures.appointment(1L, patient, doctor);
+    doctorRequest =
+        new DoctorRequest(
+            "John", "Foreman", "Dr.", 1L, "john.foreman@gmail.com", "+1 555 0100", "Cardiology");
+    patientRequest =
+        new PatientRequest(
+            "Jane", "Doe", "jane.doe@gmail.com", "123 Main St", LocalDate.of(1990, 1, 1));
+  }
+
+  @Benchmark
+  public AppointmentResponse appointmentResponse() {
+    return appointmentMapper.toAppointmentResponse(appointment);
+  }
+
+  @Benchmark
+  public DoctorResponse doctorResponse() {
+    return doctorMapper.toDoctorResponse(doctor);
+  }
+
+  @Benchmark
+  public Doctor doctorFromRequest() {
+    return doctorMapper.toDoctor(doctorRequest);
+  }
+
+  @Benchmark
+  public PatientResponse patientResponse() {
+    return patientMapper.toPatientResponse(patient);
+  }
+
+  @Benchmark
+  public Patient patientFromRequest() {
+    return patientMapper.toPatient(patientRequest);
+  }
+}
@@ -0,0 +1,62 @@
+package com.jts.pmanagement.benchmark;
+
+import com.jts.pmanagement.domains.appointment.controller.mapper.AppointmentMapper;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Serialization of an appointments page, as returned by the list endpoint, with the mapper
+ * configured by the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+  @Param({"10", "50"})
+  private int pageSize;
+
+  private JsonMapper jsonMapper;
+  private Page<AppointmentResponse> page;
+
+  @Setup
+  public void setUp(ApplicationState application) {
+    jsonMapper = application.getBean(JsonMapper.class);
+
+    var mapper = new AppointmentMapper();
+    var doctor = Fixtures.doctor(1L);
+    var patient = Fixtures.patient(1L);
+    page =
+        new PageImpl<>(
+            LongStream.rangeClosed(1, pageSize)
+                .mapToObj(
+                    id -> mapper.toAppointmentResponse(Fixtures.appointment(id, patient, doctor)))
+                .toList(),
+            PageRequest.of(0, pageSize),
+            1000);
+  }
+
+  @Benchmark
+  public byte[] appointmentPage() {
+    return jsonMapper.writeValueAsBytes(page);
+  }
+}
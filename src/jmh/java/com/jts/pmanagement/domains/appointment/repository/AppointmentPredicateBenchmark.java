@@ -0,0 +1,66 @@
+package com.jts.pmanagement.domains.appointment.repository;
+
+import com.jts.pmanagement.benchmark.ApplicationState;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentFilter;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentStatus;
+import com.jts.pmanagement.domains.appointment.model.Appointment;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Criteria query and predicate building of the appointment list, without running it. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AppointmentPredicateBenchmark {
+
+  private AppointmentRepositoryImpl repository;
+  private CriteriaBuilder criteriaBuilder;
+  private AppointmentFilter emptyFilter;
+  private AppointmentFilter fullFilter;
+
+  @Setup
+  public void setUp(ApplicationState application) {
+    var entityManager = application.getEntityManager();
+    repository = new AppointmentRepositoryImpl(entityManager);
+    criteriaBuilder = entityManager.getCriteriaBuilder();
+
+    emptyFilter = new AppointmentFilter();
+
+    fullFilter = new AppointmentFilter();
+    fullFilter.setDoctorId(1L);
+    fullFilter.setStatus(AppointmentStatus.SCHEDULED);
+    fullFilter.setStartDate(LocalDate.of(2026, 1, 1));
+    fullFilter.setEndDate(LocalDate.of(2026, 1, 31));
+  }
+
+  @Benchmark
+  public Predicate patientOnly() {
+    return predicate(emptyFilter);
+  }
+
+  @Benchmark
+  public Predicate allFilters() {
+    return predicate(fullFilter);
+  }
+
+  private Predicate predicate(AppointmentFilter filter) {
+    var query = criteriaBuilder.createQuery(Appointment.class);
+    var root = query.from(Appointment.class);
+    return repository.getPredicate(1L, filter, root);
+  }
+}
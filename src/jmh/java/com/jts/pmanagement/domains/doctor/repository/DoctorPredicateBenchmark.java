@@ -0,0 +1,72 @@
+package com.jts.pmanagement.domains.doctor.repository;
+
+import com.jts.pmanagement.benchmark.ApplicationState;
+import com.jts.pmanagement.domains.doctor.dto.DoctorFilter;
+import com.jts.pmanagement.domains.doctor.model.Doctor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Criteria query and predicate building of the doctor list, both with the ids resolved by the
+ * in-memory indexes and with the text fallback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DoctorPredicateBenchmark {
+
+  private DoctorRepositoryImpl repository;
+  private CriteriaBuilder criteriaBuilder;
+  private DoctorFilter resolvedFilter;
+  private DoctorFilter textFilter;
+
+  @Setup
+  public void setUp(ApplicationState application) {
+    var entityManager = application.getEntityManager();
+    repository = new DoctorRepositoryImpl(entityManager);
+    criteriaBuilder = entityManager.getCriteriaBuilder();
+
+    resolvedFilter = new DoctorFilter();
+    resolvedFilter.setFirstName("John");
+    resolvedFilter.setSpeciality("Cardio");
+    resolvedFilter.setDoctorIds(Set.of(1L, 2L, 3L));
+    resolvedFilter.setSpecialityIds(Set.of(1L));
+
+    textFilter = new DoctorFilter();
+    textFilter.setFirstName("John");
+    textFilter.setLastName("Fore");
+    textFilter.setEmail("gmail");
+    textFilter.setSpeciality("Cardio");
+  }
+
+  @Benchmark
+  public Predicate resolvedIds() {
+    return predicate(resolvedFilter);
+  }
+
+  @Benchmark
+  public Predicate textMatch() {
+    return predicate(textFilter);
+  }
+
+  private Predicate predicate(DoctorFilter filter) {
+    var query = criteriaBuilder.createQuery(Doctor.class);
+    var root = query.from(Doctor.class);
+    return repository.getPredicate(filter, root);
+  }
+}
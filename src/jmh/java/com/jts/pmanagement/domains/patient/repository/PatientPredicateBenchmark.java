@@ -0,0 +1,69 @@
+package com.jts.pmanagement.domains.patient.repository;
+
+import com.jts.pmanagement.benchmark.ApplicationState;
+import com.jts.pmanagement.domains.patient.dto.PatientFilter;
+import com.jts.pmanagement.domains.patient.dto.PatientSearchMode;
+import com.jts.pmanagement.domains.patient.model.Patient;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Criteria query and predicate building of the patient list, in both search modes. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatientPredicateBenchmark {
+
+  private PatientRepositoryImpl repository;
+  private CriteriaBuilder criteriaBuilder;
+  private PatientFilter containsFilter;
+  private PatientFilter prefixFilter;
+
+  @Setup
+  public void setUp(ApplicationState application) {
+    var entityManager = application.getEntityManager();
+    repository = new PatientRepositoryImpl(entityManager);
+    criteriaBuilder = entityManager.getCriteriaBuilder();
+
+    containsFilter = filter(PatientSearchMode.CONTAINS);
+    prefixFilter = filter(PatientSearchMode.PREFIX);
+  }
+
+  @Benchmark
+  public Predicate contains() {
+    return predicate(containsFilter);
+  }
+
+  @Benchmark
+  public Predicate prefix() {
+    return predicate(prefixFilter);
+  }
+
+  private Predicate predicate(PatientFilter filter) {
+    var query = criteriaBuilder.createQuery(Patient.class);
+    var root = query.from(Patient.class);
+    return repository.getPredicate(filter, root);
+  }
+
+  private static PatientFilter filter(PatientSearchMode searchMode) {
+    var filter = new PatientFilter();
+    filter.setFirstName("Jane");
+    filter.setLastName("Doe");
+    filter.setEmail("jane.doe");
+    filter.setSearchMode(searchMode);
+    return filter;
+  }
+}
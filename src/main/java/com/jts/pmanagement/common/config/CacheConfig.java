@@ -0,0 +1,19 @@
+package com.jts.pmanagement.common.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Enables the in-process caches in front of reference data lookups. The cache manager itself is
+ * configured through the {@code spring.cache} properties.
+ *
+ * <p>The cache advice runs before the transactional one, so a hit opens no transaction. Entries
+ * are evicted by the services once the write has committed.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+  public static final String DOCTORS = "doctors";
+}
@@ -0,0 +1,75 @@
+package com.jts.pmanagement.common.config;
+
+import com.jts.pmanagement.common.repository.BulkheadDataSource;
+import com.jts.pmanagement.common.repository.ConnectionHoldDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.time.Duration;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Puts a {@link BulkheadDataSource} in front of the application data source, so requests served on
+ * virtual threads ({@code spring.threads.virtual.enabled}) queue for a connection cheaply.
+ *
+ * <p>Set with {@code pms.db.bulkhead.enabled}, {@code pms.db.bulkhead.permits} (defaults to the
+ * maximum size of the Hikari pool) and {@code pms.db.bulkhead.timeout}.
+ *
+ * <p>In front of both sits a {@link ConnectionHoldDataSource}, which times how long each connection
+ * is held once handed out, leaving out the time spent waiting for a permit.
+ *
+ * <p>The routing data source of {@link ReplicaRoutingConfig} is left as is; the pools behind it get
+ * their own. The meters of each are tagged with the bean name of its data source as {@code pool}.
+ */
+@Configuration(proxyBeanMethods = false)
+@Slf4j
+public class DatabaseBulkheadConfig {
+
+  private static final int DEFAULT_PERMITS = 10;
+
+  @Bean
+  static BeanPostProcessor databaseBulkhead(
+      Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)
+            || bean instanceof BulkheadDataSource
+            || bean instanceof ConnectionHoldDataSource
+            || bean instanceof LazyConnectionDataSourceProxy) {
+          return bean;
+        }
+
+        var registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        if (!environment.getProperty("pms.db.bulkhead.enabled", Boolean.class, true)) {
+          return new ConnectionHoldDataSource(dataSource, beanName, registry);
+        }
+
+        int permits =
+            environment.getProperty(
+                "pms.db.bulkhead.permits", Integer.class, poolSize(dataSource));
+        var timeout =
+            environment.getProperty(
+                "pms.db.bulkhead.timeout", Duration.class, Duration.ofSeconds(30));
+        log.info("Database bulkhead with {} permits in front of [{}]", permits, beanName);
+        return new ConnectionHoldDataSource(
+            new BulkheadDataSource(dataSource, permits, timeout, beanName, registry),
+            beanName,
+            registry);
+      }
+    };
+  }
+
+  private static int poolSize(DataSource dataSource) {
+    return dataSource instanceof HikariDataSource hikari
+        ? hikari.getMaximumPoolSize()
+        : DEFAULT_PERMITS;
+  }
+}
@@ -0,0 +1,23 @@
+package com.jts.pmanagement.common.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Replica database of the {@code replica} profile, set under {@code pms.db.replica} in {@code
+ * application-replica.yaml}.
+ *
+ * @param url JDBC url of the replica
+ * @param username user of the replica
+ * @param password password of the replica
+ * @param readYourWrites how long the reads of a client go to the primary after it writes; longer
+ *     than the replication lag
+ * @param syncInterval time between two copies of the primary into the local replica
+ */
+@ConfigurationProperties("pms.db.replica")
+public record ReplicaProperties(
+    String url,
+    String username,
+    String password,
+    Duration readYourWrites,
+    Duration syncInterval) {}
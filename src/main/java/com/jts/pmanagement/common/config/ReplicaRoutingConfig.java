@@ -0,0 +1,119 @@
+package com.jts.pmanagement.common.config;
+
+import com.jts.pmanagement.common.repository.ReadYourWritesFilter;
+import com.jts.pmanagement.common.repository.ReplicaDataSource;
+import com.jts.pmanagement.common.repository.ReplicaSync;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationInitializer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.jpa.autoconfigure.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Sends read-only transactions, like the searches and lookups of the services, to a replica and the
+ * rest to the primary, with the {@code replica} profile. The application data source is a {@link
+ * LazyConnectionDataSourceProxy}: it only takes a physical connection at the first statement, once
+ * the transaction has marked it read-only, and then takes it from the {@link ReplicaDataSource}.
+ *
+ * <p>Both pools get their own bulkhead from {@link DatabaseBulkheadConfig}. The {@link
+ * ReadYourWritesFilter} pins the reads of a client to the primary for {@code
+ * pms.db.replica.read-your-writes} after it writes. With {@code pms.db.replica.sync-interval} set,
+ * the replica is a local H2 database that {@link ReplicaSync} migrates and copies the primary into.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("replica")
+@EnableConfigurationProperties(ReplicaProperties.class)
+@Slf4j
+public class ReplicaRoutingConfig {
+
+  @Bean(defaultCandidate = false)
+  @ConfigurationProperties("spring.datasource.hikari")
+  HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    var dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  @Bean(defaultCandidate = false)
+  @ConfigurationProperties("pms.db.replica.hikari")
+  HikariDataSource replicaDataSource(ReplicaProperties replica) {
+    var dataSource =
+        DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(replica.url())
+            .username(replica.username())
+            .password(replica.password())
+            .build();
+    dataSource.setPoolName("replica");
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  @Bean
+  @Primary
+  DataSource dataSource(
+      @Qualifier("primaryDataSource") DataSource primary,
+      @Qualifier("replicaDataSource") DataSource replica,
+      ReplicaProperties properties,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    log.info("Routing read-only transactions to the replica at {}", properties.url());
+    var routing = new LazyConnectionDataSourceProxy(primary);
+    routing.setReadOnlyDataSource(
+        new ReplicaDataSource(
+            replica, primary, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)));
+    return routing;
+  }
+
+  @Bean
+  ReadYourWritesFilter readYourWritesFilter(ReplicaProperties properties) {
+    return new ReadYourWritesFilter(properties.readYourWrites());
+  }
+
+  /** The repositories warm the in-memory indexes up at startup, reading from the replica. */
+  @Bean
+  @ConditionalOnProperty("pms.db.replica.sync-interval")
+  static EntityManagerFactoryDependsOnPostProcessor entityManagerFactoryDependsOnReplicaSync() {
+    return new EntityManagerFactoryDependsOnPostProcessor("replicaSync");
+  }
+
+  /** Created once the primary is migrated, so the first copy finds its tables. */
+  @Bean
+  @ConditionalOnProperty("pms.db.replica.sync-interval")
+  ReplicaSync replicaSync(
+      ReplicaProperties replica,
+      DataSourceProperties primary,
+      Flyway flyway,
+      FlywayMigrationInitializer primaryMigration,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    var dataSource =
+        new DriverManagerDataSource(replica.url(), replica.username(), replica.password());
+    Flyway.configure()
+        .configuration(flyway.getConfiguration())
+        .dataSource(dataSource)
+        .load()
+        .migrate();
+    return new ReplicaSync(
+        dataSource,
+        primary.determineUrl(),
+        primary.determineUsername(),
+        primary.determinePassword(),
+        replica.syncInterval(),
+        meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+  }
+}
@@ -0,0 +1,12 @@
+package com.jts.pmanagement.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the {@code @Scheduled} housekeeping of the in-memory indexes, like the eviction of the
+ * ended appointments from the schedule index or the refresh of the speciality catalogue.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
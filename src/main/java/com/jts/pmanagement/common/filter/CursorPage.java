@@ -0,0 +1,36 @@
+package com.jts.pmanagement.common.filter;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+  @Schema(description = "Records of the current page", name = "content")
+  private List<T> content;
+
+  @Schema(description = "Number of records per page", name = "size", example = "10")
+  private Integer size;
+
+  @Schema(
+      description = "Whether there is a page after this one",
+      name = "hasNext",
+      example = "true")
+  private boolean hasNext;
+
+  @Schema(
+      description = "Token to be sent as 'after' to fetch the next page",
+      name = "nextCursor",
+      example = "MjAyNi0wMS0yMFQxMDozNTowMHwxNA")
+  private String nextCursor;
+
+  public <R> CursorPage<R> map(Function<? super T, ? extends R> converter) {
+    return new CursorPage<>(
+        content.stream().<R>map(converter).toList(), size, hasNext, nextCursor);
+  }
+}
@@ -0,0 +1,23 @@
+package com.jts.pmanagement.common.filter;
+
+import com.jts.pmanagement.common.exception.BadRequestException;
+import java.util.Objects;
+
+/** Checks the page size a listing is requested with, before it becomes a row limit. */
+public final class PageSize {
+
+  /**
+   * Most records a page holds. A larger size is lowered to it, so a single request cannot load a
+   * whole table, and the extra row read to tell whether there is a next page cannot overflow.
+   */
+  public static final int MAX = 100;
+
+  private PageSize() {}
+
+  public static int of(Integer pageSize) {
+    if (Objects.isNull(pageSize) || pageSize < 1) {
+      throw new BadRequestException("The page size must be at least 1");
+    }
+    return Math.min(pageSize, MAX);
+  }
+}
@@ -0,0 +1,48 @@
+package com.jts.pmanagement.common.filter;
+
+import com.jts.pmanagement.common.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Opaque keyset position used by cursor pagination. The token is the url-safe Base64 form of
+ * {@code createdAt|id}, which is the sort key of the listings that support cursors.
+ */
+@Data
+@AllArgsConstructor
+public class PmsCursor {
+
+  private static final String SEPARATOR = "|";
+
+  private LocalDateTime createdAt;
+  private Long id;
+
+  public String encode() {
+    // The database keeps microseconds, so the token must not carry finer precision than that
+    var raw = createdAt.truncatedTo(ChronoUnit.MICROS) + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static PmsCursor decode(String token) {
+    if (token == null || token.isBlank()) {
+      return null;
+    }
+
+    try {
+      var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      var separator = raw.lastIndexOf(SEPARATOR);
+      return new PmsCursor(
+          LocalDateTime.parse(raw.substring(0, separator)),
+          Long.valueOf(raw.substring(separator + 1)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+      throw new BadRequestException("The cursor '%s' informed is not valid".formatted(token));
+    }
+  }
+}
@@ -20,6 +20,17 @@ public class PmsFilter {
             example = "10")
     private Integer pageSize = 10;
 
+    @Schema(description = "Whether the total of records must be counted. When false a slice is"
+            + " returned, telling only whether there is a next page",
+            name = "withTotal",
+            example = "true")
+    private Boolean withTotal = true;
+
+    @Schema(description = "Whether an approximate total, cached for a few seconds, is acceptable",
+            name = "cachedTotal",
+            example = "false")
+    private Boolean cachedTotal = false;
+
     private Sort.Direction sortDirection = Sort.Direction.ASC;
     private String sortBy = "name";
 }
\ No newline at end of file
@@ -0,0 +1,552 @@
+package com.jts.pmanagement.common.generator;
+
+import com.jts.pmanagement.common.util.SearchText;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentStatus;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentType;
+import com.jts.pmanagement.domains.appointment.service.AppointmentScheduleIndex;
+import com.jts.pmanagement.domains.doctor.service.DoctorEmailFilter;
+import com.jts.pmanagement.domains.doctor.service.DoctorSearchIndex;
+import com.jts.pmanagement.domains.doctor.service.SpecialityCatalogue;
+import com.jts.pmanagement.domains.patient.service.PatientEmailFilter;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the database with a synthetic dataset at startup when the {@code generator} profile is
+ * active, so the filters and indexes can be measured at production volumes.
+ *
+ * <p>Rows are written with batched JDBC inserts, bypassing the entities and the in-memory indexes,
+ * which are reloaded once the load finishes. The distributions aim to look like a real clinic:
+ * specialities and doctors have uneven popularity, patients have a realistic age spread, and every
+ * doctor and patient gets non-overlapping appointments on weekdays between 08:00 and 18:00. A
+ * doctor cannot hold more appointments than those working hours allow, so very large volumes over
+ * a short window are capped.
+ *
+ * <p>On a database that outlives the process, like the one of the {@code persistent} profile, a
+ * start that finds the configured doctors and patients already there skips the generation.
+ */
+@Component
+@Profile("generator")
+@EnableConfigurationProperties(GeneratorProperties.class)
+@Slf4j
+@RequiredArgsConstructor
+public class DatasetGenerator implements ApplicationRunner {
+
+  private static final LocalTime OPENING = LocalTime.of(8, 0);
+  private static final int SLOT_MINUTES = 30;
+  private static final int SLOTS_PER_DAY = 20;
+  // Patients drawn for a slot before leaving it free, when those drawn are all busy then
+  private static final int PATIENT_DRAWS = 8;
+
+  private static final String[] FIRST_NAMES = {
+    "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William",
+    "Elizabeth", "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah",
+    "Carlos", "Karen", "Daniel", "Lisa", "Matthew", "Nancy", "Anthony", "Sandra", "Mark", "Ana",
+    "José", "Emily", "Paul", "Michelle", "Andrew", "Carol", "Joshua", "Amanda", "Kenneth", "Chloé",
+    "Kevin", "Melissa", "Brian", "Deborah", "George", "Stephanie", "Timothy", "Rebecca", "Zoë"
+  };
+
+  private static final String[] LAST_NAMES = {
+    "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez",
+    "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor",
+    "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark",
+    "Ramirez", "Lewis", "Robinson", "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres",
+    "Nguyen", "Hill", "Flores", "Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Müller"
+  };
+
+  private static final String[] STREETS = {
+    "Main St", "Oak Ave", "Pine St", "Maple Ave", "Cedar Rd", "Elm St", "Washington Blvd",
+    "Lake View Dr", "Hill St", "Park Ave", "Sunset Blvd", "River Rd"
+  };
+
+  private static final String[] DEPARTMENTS = {
+    "Outpatient", "Inpatient", "Surgery", "Emergency", "Diagnostics", "Intensive Care"
+  };
+
+  // Share of each appointment type, in the order of AppointmentType
+  private static final double[] TYPE_WEIGHTS = {10, 30, 20, 8, 4, 15, 7, 3, 3};
+
+  private final JdbcTemplate jdbcTemplate;
+  private final GeneratorProperties properties;
+  private final SpecialityCatalogue specialityCatalogue;
+  private final DoctorSearchIndex doctorSearchIndex;
+  private final DoctorEmailFilter doctorEmailFilter;
+  private final PatientEmailFilter patientEmailFilter;
+  private final AppointmentScheduleIndex scheduleIndex;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (isGenerated()) {
+      log.info("Dataset already in the database, skipping the generation of {}", properties);
+      return;
+    }
+    generate();
+  }
+
+  /** Doctors and patients are never capped, so reaching both volumes means a previous run. */
+  boolean isGenerated() {
+    return count("doctor") >= properties.doctors() && count("patient") >= properties.patients();
+  }
+
+  public void generate() {
+    log.info("Generating dataset with {}", properties);
+    var random = new SplittableRandom(properties.seed());
+    var now = LocalDateTime.now();
+
+    insertSpecialities();
+    long[] specialityIds = ids("speciality", 0);
+
+    long lastDoctor = maxId("doctor");
+    insertDoctors(random, specialityIds, lastDoctor, now);
+    long[] doctorIds = ids("doctor", lastDoctor);
+
+    insertPatients(random, maxId("patient"), now);
+    long[] patientIds = ids("patient", 0);
+
+    insertAppointments(random, doctorIds, patientIds, now);
+
+    specialityCatalogue.load();
+    doctorSearchIndex.load();
+    doctorEmailFilter.load();
+    patientEmailFilter.load();
+    scheduleIndex.load();
+  }
+
+  private void insertSpecialities() {
+    int existing = count("speciality");
+    try (var batch =
+        new Batch("INSERT INTO speciality (description) VALUES (?)", Types.VARCHAR)) {
+      for (int i = existing + 1; i <= properties.specialities(); i++) {
+        batch.add("Speciality %d".formatted(i));
+      }
+    }
+  }
+
+  private void insertDoctors(
+      SplittableRandom random, long[] specialityIds, long lastId, LocalDateTime now) {
+    // The first specialities get most of the doctors, as primary care does in a real clinic
+    double[] specialityWeights = new double[specialityIds.length];
+    for (int i = 0; i < specialityWeights.length; i++) {
+      specialityWeights[i] = 1.0 / (i + 1);
+    }
+    double[] specialities = cumulative(specialityWeights);
+
+    try (var batch =
+        new Batch(
+            "INSERT INTO doctor (speciality_id, first_name, last_name, title, email, phone,"
+                + " department, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+            Types.INTEGER,
+            Types.VARCHAR,
+            Types.VARCHAR,
+            Types.VARCHAR,
+            Types.VARCHAR,
+            Types.VARCHAR,
+            Types.VARCHAR,
+            Types.TIMESTAMP)) {
+      for (long n = lastId + 1; n <= lastId + properties.doctors(); n++) {
+        var firstName = pick(random, FIRST_NAMES);
+        var lastName = pick(random, LAST_NAMES);
+        batch.add(
+            specialityIds[pick(random, specialities)],
+            firstName,
+            lastName,
+            "Dr.",
+            email(firstName, lastName, n, "doctors"),
+            "+1-555-%04d".formatted(random.nextInt(10_000)),
+            pick(random, DEPARTMENTS),
+            now.minusDays(random.nextInt(3650)));
+      }
+    }
+  }
+
+  private void insertPatients(SplittableRandom random, long lastId, LocalDateTime now) {
+    try (var batch =
+        new Batch(
+            "INSERT INTO patient (first_name, last_name, email, date_of_birth, address, created_at,"
+                + " first_name_normalized, email_normalized) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+            Types.VARCHAR,
+            Types.VARCHAR,
+            Types.VARCHAR,
+            Types.DATE,
+            Types.VARCHAR,
+            Types.TIMESTAMP,
+            Types.VARCHAR,
+            Types.VARCHAR)) {
+      for (long n = lastId + 1; n <= lastId + properties.patients(); n++) {
+        var firstName = pick(random, FIRST_NAMES);
+        var lastName = pick(random, LAST_NAMES);
+        var email = email(firstName, lastName, n, "patients");
+        // Ages centred around 40, from newborns to centenarians
+        long ageDays = (long) Math.clamp((40 + 22 * nextGaussian(random)) * 365.25, 0, 36_500);
+        batch.add(
+            firstName,
+            lastName,
+            email,
+            now.toLocalDate().minusDays(ageDays),
+            "%d %s".formatted(1 + random.nextInt(9_999), pick(random, STREETS)),
+            now.minusDays(random.nextInt(1825)),
+            SearchText.normalize(firstName),
+            SearchText.normalize(email));
+      }
+    }
+  }
+
+  private void insertAppointments(
+      SplittableRandom random, long[] doctorIds, long[] patientIds, LocalDateTime now) {
+    if (properties.appointments() <= 0) {
+      return;
+    }
+    if (doctorIds.length == 0 || patientIds.length == 0) {
+      log.warn("No generated doctors or no patients, appointments were not generated");
+      return;
+    }
+
+    var days = workingDays(now.toLocalDate());
+    long capacity = (long) days.size() * SLOTS_PER_DAY;
+
+    // Log-normal workload, so some doctors are much busier than others
+    double[] workload = new double[doctorIds.length];
+    for (int i = 0; i < workload.length; i++) {
+      workload[i] = Math.exp(0.5 * nextGaussian(random));
+    }
+    double totalWorkload = Arrays.stream(workload).sum();
+    double[] types = cumulative(TYPE_WEIGHTS);
+    var typeValues = AppointmentType.values();
+    // The doctors fill their agendas in turn, so the slots of the patients are tracked apart
+    var patientSlots = new SlotSet();
+
+    long generated = 0;
+    try (var batch =
+        new Batch(
+            "INSERT INTO appointment (patient_id, doctor_id, start_time, end_time, duration, title,"
+                + " description, follow_up_required, cancellation_time, cancellation_reason, type,"
+                + " status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            Types.INTEGER,
+            Types.INTEGER,
+            Types.TIMESTAMP,
+            Types.TIMESTAMP,
+            Types.INTEGER,
+            Types.VARCHAR,
+            Types.VARCHAR,
+            Types.BOOLEAN,
+            Types.TIMESTAMP,
+            Types.VARCHAR,
+            Types.VARCHAR,
+            Types.VARCHAR,
+            Types.TIMESTAMP)) {
+      for (int d = 0; d < doctorIds.length; d++) {
+        long target = Math.round(properties.appointments() * workload[d] / totalWorkload);
+        // Spreads the appointments over the window, leaving random gaps between them
+        long free = Math.max(0, capacity - target * 3 / 2);
+        int maxGap = target == 0 ? 0 : (int) Math.min(Integer.MAX_VALUE - 1, 2 * free / target);
+        long slot = 0;
+
+        for (long k = 0; k < target; k++) {
+          var type = typeValues[pick(random, types)];
+          int slots = isShort(type) ? 1 : 2;
+          slot += random.nextInt(maxGap + 1);
+          if (slot % SLOTS_PER_DAY + slots > SLOTS_PER_DAY) {
+            slot += SLOTS_PER_DAY - slot % SLOTS_PER_DAY;
+          }
+          if (slot + slots > capacity) {
+            break;
+          }
+
+          var start =
+              days.get((int) (slot / SLOTS_PER_DAY))
+                  .atTime(OPENING)
+                  .plusMinutes(slot % SLOTS_PER_DAY * SLOT_MINUTES);
+          int patient = freePatient(random, patientSlots, patientIds.length, capacity, slot, slots);
+          if (patient >= 0) {
+            addAppointment(
+                batch,
+                random,
+                doctorIds[d],
+                patientIds[patient],
+                type,
+                start,
+                slots * SLOT_MINUTES,
+                now);
+            generated++;
+          }
+          slot += slots;
+        }
+      }
+    }
+
+    if (generated < properties.appointments()) {
+      log.warn(
+          "Only {} of {} appointments fit in the working hours of the doctors",
+          generated,
+          properties.appointments());
+    }
+  }
+
+  /**
+   * Draws a patient free for the slots and books them, or returns -1 when every patient drawn was
+   * busy. A booked slot is keyed by {@code patient * capacity + slot}.
+   */
+  private static int freePatient(
+      SplittableRandom random,
+      SlotSet patientSlots,
+      int patients,
+      long capacity,
+      long slot,
+      int slots) {
+    for (int draw = 0; draw < PATIENT_DRAWS; draw++) {
+      int patient = random.nextInt(patients);
+      long first = patient * capacity + slot;
+      boolean free = true;
+      for (int i = 0; i < slots && free; i++) {
+        free = !patientSlots.contains(first + i);
+      }
+      if (free) {
+        for (int i = 0; i < slots; i++) {
+          patientSlots.add(first + i);
+        }
+        return patient;
+      }
+    }
+    return -1;
+  }
+
+  private void addAppointment(
+      Batch batch,
+      SplittableRandom random,
+      long doctorId,
+      long patientId,
+      AppointmentType type,
+      LocalDateTime start,
+      int duration,
+      LocalDateTime now) {
+    var status = status(random, start.isBefore(now));
+    boolean cancelled = status == AppointmentStatus.CANCELLED;
+    var createdAt = (start.isBefore(now) ? start : now).minusDays(1 + random.nextInt(60));
+
+    batch.add(
+        patientId,
+        doctorId,
+        start,
+        start.plusMinutes(duration),
+        duration,
+        title(type),
+        random.nextInt(10) < 7 ? "Generated " + title(type).toLowerCase(Locale.ROOT) : null,
+        random.nextInt(5) == 0,
+        cancelled ? start.minusHours(1 + random.nextInt(72)) : null,
+        cancelled ? "Patient request" : null,
+        type.name(),
+        status.name(),
+        createdAt);
+  }
+
+  private static AppointmentStatus status(SplittableRandom random, boolean past) {
+    int roll = random.nextInt(100);
+    if (roll < 10) {
+      return AppointmentStatus.CANCELLED;
+    }
+    if (past) {
+      return AppointmentStatus.COMPLETED;
+    }
+    if (roll < 15) {
+      return AppointmentStatus.PENDING;
+    }
+    return roll < 40 ? AppointmentStatus.CONFIRMED : AppointmentStatus.SCHEDULED;
+  }
+
+  private static boolean isShort(AppointmentType type) {
+    return type == AppointmentType.FOLLOW_UP
+        || type == AppointmentType.VACCINATION
+        || type == AppointmentType.SICK_VISIT;
+  }
+
+  private static String title(AppointmentType type) {
+    var words = type.name().toLowerCase(Locale.ROOT).replace('_', ' ');
+    return Character.toUpperCase(words.charAt(0)) + words.substring(1);
+  }
+
+  private List<LocalDate> workingDays(LocalDate today) {
+    var days = new ArrayList<LocalDate>();
+    var last = today.plusDays(properties.futureDays());
+    var day = today.minusDays(properties.pastDays());
+    for (; !day.isAfter(last); day = day.plusDays(1)) {
+      if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+        days.add(day);
+      }
+    }
+    return days;
+  }
+
+  private static String email(String firstName, String lastName, long n, String domain) {
+    var email = "%s.%s.%d@%s.example.com".formatted(firstName, lastName, n, domain);
+    return SearchText.normalize(email);
+  }
+
+  private static String pick(SplittableRandom random, String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  /** Index drawn with the probabilities of the cumulative weights. */
+  private static int pick(SplittableRandom random, double[] cumulative) {
+    double value = random.nextDouble() * cumulative[cumulative.length - 1];
+    int index = Arrays.binarySearch(cumulative, value);
+    return Math.min(index < 0 ? -index - 1 : index + 1, cumulative.length - 1);
+  }
+
+  private static double[] cumulative(double[] weights) {
+    double[] cumulative = new double[weights.length];
+    double sum = 0;
+    for (int i = 0; i < weights.length; i++) {
+      sum += weights[i];
+      cumulative[i] = sum;
+    }
+    return cumulative;
+  }
+
+  private static double nextGaussian(SplittableRandom random) {
+    // Box-Muller, since SplittableRandom has no gaussian of its own
+    return Math.sqrt(-2 * Math.log(1 - random.nextDouble()))
+        * Math.cos(2 * Math.PI * random.nextDouble());
+  }
+
+  private int count(String table) {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+  }
+
+  private long maxId(String table) {
+    return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+  }
+
+  /** Ids of the table above {@code afterId}, in a primitive array to keep millions of them. */
+  private long[] ids(String table, long afterId) {
+    var ids =
+        new long
+            [jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE id > ?", Integer.class, afterId)];
+    var size = new int[1];
+    jdbcTemplate.query(
+        "SELECT id FROM " + table + " WHERE id > ? ORDER BY id",
+        row -> {
+          ids[size[0]++] = row.getLong(1);
+        },
+        afterId);
+    return ids;
+  }
+
+  /**
+   * Set of non-negative longs in open addressing over a primitive array, as a set of boxed longs
+   * would take several times the memory for tens of millions of booked slots.
+   */
+  private static final class SlotSet {
+
+    // Values are stored plus one, so zero marks an empty cell
+    private long[] cells = new long[1 << 16];
+    private int size;
+
+    boolean contains(long value) {
+      long stored = value + 1;
+      for (int i = index(stored, cells.length); cells[i] != 0; i = (i + 1) & (cells.length - 1)) {
+        if (cells[i] == stored) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    void add(long value) {
+      if (size * 2 >= cells.length) {
+        grow();
+      }
+      if (insert(cells, value + 1)) {
+        size++;
+      }
+    }
+
+    private void grow() {
+      var grown = new long[cells.length * 2];
+      for (long stored : cells) {
+        if (stored != 0) {
+          insert(grown, stored);
+        }
+      }
+      cells = grown;
+    }
+
+    private static boolean insert(long[] cells, long stored) {
+      int i = index(stored, cells.length);
+      for (; cells[i] != 0; i = (i + 1) & (cells.length - 1)) {
+        if (cells[i] == stored) {
+          return false;
+        }
+      }
+      cells[i] = stored;
+      return true;
+    }
+
+    // Spreads consecutive slots over the table, as they would otherwise fill one run of cells
+    private static int index(long stored, int length) {
+      long mixed = stored * 0x9E3779B97F4A7C15L;
+      return (int) (mixed >>> (64 - Integer.numberOfTrailingZeros(length)));
+    }
+  }
+
+  /**
+   * Rows sent to the database in JDBC batches of {@code batchSize}, flushed on close. The column
+   * types are given up front so null values do not cost a parameter metadata lookup each.
+   */
+  private final class Batch implements AutoCloseable {
+
+    private final String sql;
+    private final int[] types;
+    private final List<Object[]> rows = new ArrayList<>();
+    private final long startedAt = System.nanoTime();
+    private long total;
+
+    private Batch(String sql, int... types) {
+      this.sql = sql;
+      this.types = types;
+    }
+
+    void add(Object... row) {
+      rows.add(row);
+      if (rows.size() == properties.batchSize()) {
+        flush();
+      }
+    }
+
+    private void flush() {
+      if (!rows.isEmpty()) {
+        jdbcTemplate.batchUpdate(sql, rows, types);
+        total += rows.size();
+        rows.clear();
+      }
+    }
+
+    @Override
+    public void close() {
+      flush();
+      long millis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+      log.info(
+          "{} rows inserted in {} ms ({} rows/s) with [{}]",
+          total,
+          millis,
+          total * 1000 / millis,
+          sql.substring(0, sql.indexOf('(')).strip());
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package com.jts.pmanagement.common.generator;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Volumes of the synthetic dataset, set under {@code pms.generator} in {@code
+ * application-generator.yaml}. Specialities are a total that the seeded ones count towards; the
+ * other volumes are added on top of the existing rows.
+ *
+ * @param specialities total number of specialities
+ * @param doctors doctors to add
+ * @param patients patients to add
+ * @param appointments appointments to add, spread over the past and future days
+ * @param pastDays days before today that hold completed and cancelled appointments
+ * @param futureDays days after today that hold upcoming appointments
+ * @param batchSize rows sent per JDBC batch
+ * @param seed seed of the random generator, so a dataset can be reproduced
+ */
+@ConfigurationProperties("pms.generator")
+public record GeneratorProperties(
+    int specialities,
+    int doctors,
+    int patients,
+    long appointments,
+    int pastDays,
+    int futureDays,
+    int batchSize,
+    long seed) {}
@@ -0,0 +1,79 @@
+package com.jts.pmanagement.common.metrics;
+
+import com.jts.pmanagement.common.repository.ConnectionHoldDataSource;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Publishes, per request, the total time database connections were held while serving it as
+ * {@code pms.request.connection.hold} and the number of connections taken as {@code
+ * pms.request.connections}, tagged by {@code method} and {@code uri} like {@code
+ * http.server.requests}.
+ *
+ * <p>A request that holds its connections far longer than its queries run is keeping a pool slot
+ * busy for nothing. A streamed export closes its connection after this filter returns, so only the
+ * {@code pms.db.connection.hold} timer sees it.
+ *
+ * <p>Like {@link OperationMetrics}, the meters go to the global registry, which is also there in
+ * the web slice tests.
+ */
+@Component
+public class ConnectionHoldFilter extends OncePerRequestFilter {
+
+  private static final String UNKNOWN = "UNKNOWN";
+
+  private final MeterRegistry meterRegistry;
+
+  public ConnectionHoldFilter() {
+    this(Metrics.globalRegistry);
+  }
+
+  ConnectionHoldFilter(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    var hold = ConnectionHoldDataSource.startRequest();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      ConnectionHoldDataSource.endRequest();
+      var method = request.getMethod();
+      var uri = uri(request);
+      Timer.builder("pms.request.connection.hold")
+          .description("Time the connections used by a request were held in total")
+          .tag("method", method)
+          .tag("uri", uri)
+          .register(meterRegistry)
+          .record(hold.getNanos(), TimeUnit.NANOSECONDS);
+      DistributionSummary.builder("pms.request.connections")
+          .description("Connections taken while serving a request")
+          .tag("method", method)
+          .tag("uri", uri)
+          .register(meterRegistry)
+          .record(hold.getConnections());
+    }
+  }
+
+  /** The route template, so the tag does not grow with every id requested. */
+  private static String uri(HttpServletRequest request) {
+    return request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)
+            instanceof String pattern
+        ? pattern
+        : UNKNOWN;
+  }
+}
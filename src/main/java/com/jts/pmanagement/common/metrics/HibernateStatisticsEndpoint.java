@@ -0,0 +1,101 @@
+package com.jts.pmanagement.common.metrics;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Summary of the Hibernate statistics at {@code /actuator/hibernate}: statements, entity and
+ * collection loads, cache hits and the slowest queries. The counters are also published as the
+ * {@code hibernate.*} metrics.
+ *
+ * <p>An {@code entityFetches} or {@code collectionFetches} count growing with the number of rows
+ * returned, rather than with the number of requests, is the sign of an N+1 select.
+ */
+@Component
+@Endpoint(id = "hibernate")
+public class HibernateStatisticsEndpoint {
+
+  static final int SLOWEST_QUERIES = 10;
+
+  private final Statistics statistics;
+
+  public HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+    this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @ReadOperation
+  public HibernateStatistics statistics() {
+    return new HibernateStatistics(
+        statistics.isStatisticsEnabled(),
+        statistics.getStartTime(),
+        statistics.getSessionOpenCount(),
+        statistics.getTransactionCount(),
+        statistics.getPrepareStatementCount(),
+        statistics.getQueryExecutionCount(),
+        statistics.getQueryExecutionMaxTime(),
+        statistics.getQueryExecutionMaxTimeQueryString(),
+        statistics.getEntityLoadCount(),
+        statistics.getEntityFetchCount(),
+        statistics.getEntityInsertCount(),
+        statistics.getEntityUpdateCount(),
+        statistics.getEntityDeleteCount(),
+        statistics.getCollectionLoadCount(),
+        statistics.getCollectionFetchCount(),
+        statistics.getSecondLevelCacheHitCount(),
+        statistics.getSecondLevelCacheMissCount(),
+        statistics.getQueryCacheHitCount(),
+        statistics.getQueryCacheMissCount(),
+        slowestQueries());
+  }
+
+  private List<SlowQuery> slowestQueries() {
+    return Arrays.stream(statistics.getQueries())
+        .map(query -> SlowQuery.of(query, statistics.getQueryStatistics(query)))
+        .sorted(Comparator.comparingLong(SlowQuery::maxTimeMs).reversed())
+        .limit(SLOWEST_QUERIES)
+        .toList();
+  }
+
+  public record HibernateStatistics(
+      boolean enabled,
+      long startTime,
+      long sessions,
+      long transactions,
+      long statements,
+      long queries,
+      long queryMaxTimeMs,
+      String slowestQuery,
+      long entityLoads,
+      long entityFetches,
+      long entityInserts,
+      long entityUpdates,
+      long entityDeletes,
+      long collectionLoads,
+      long collectionFetches,
+      long secondLevelCacheHits,
+      long secondLevelCacheMisses,
+      long queryCacheHits,
+      long queryCacheMisses,
+      List<SlowQuery> slowestQueries) {}
+
+  public record SlowQuery(
+      String query, long executions, long rows, long averageTimeMs, long maxTimeMs) {
+
+    static SlowQuery of(String query, QueryStatistics statistics) {
+      return new SlowQuery(
+          query,
+          statistics.getExecutionCount(),
+          statistics.getExecutionRowCount(),
+          statistics.getExecutionAvgTime(),
+          statistics.getExecutionMaxTime());
+    }
+  }
+}
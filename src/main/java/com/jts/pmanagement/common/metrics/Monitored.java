@@ -0,0 +1,16 @@
+package com.jts.pmanagement.common.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Times every public method of the annotated bean, or only the annotated method, as a {@code
+ * pms.operation} timer. See {@link OperationMetrics}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Monitored {}
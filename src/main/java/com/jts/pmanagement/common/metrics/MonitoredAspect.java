@@ -0,0 +1,33 @@
+package com.jts.pmanagement.common.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the {@link OperationMetrics} of the beans and methods annotated with {@link Monitored}.
+ */
+@Aspect
+@Component
+public class MonitoredAspect {
+
+  private final Map<Method, String> operations = new ConcurrentHashMap<>();
+
+  @Around(
+      "execution(public * *(..))"
+          + " && (@within(com.jts.pmanagement.common.metrics.Monitored)"
+          + " || @annotation(com.jts.pmanagement.common.metrics.Monitored))")
+  public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+    var signature = (MethodSignature) joinPoint.getSignature();
+    var operation =
+        operations.computeIfAbsent(
+            signature.getMethod(),
+            method -> signature.getDeclaringType().getSimpleName() + "." + method.getName());
+    return OperationMetrics.time(operation, joinPoint::proceed);
+  }
+}
@@ -0,0 +1,94 @@
+package com.jts.pmanagement.common.metrics;
+
+import com.jts.pmanagement.common.exception.BadRequestException;
+import com.jts.pmanagement.common.exception.ConflictException;
+import com.jts.pmanagement.common.exception.NotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the service and repository operations, published as the {@code pms.operation} timer
+ * with a percentile histogram and tagged by {@code operation}, {@code outcome} ({@code success},
+ * {@code client_error} or {@code error}) and {@code exception}.
+ *
+ * <p>The timers are registered in the global registry, which Spring Boot binds to the Prometheus
+ * one, so they can also be recorded from code that is not a bean. The timer of the successful
+ * calls of each operation is looked up once and kept, leaving a clock read and a histogram update
+ * per call.
+ */
+public final class OperationMetrics {
+
+  public static final String METRIC = "pms.operation";
+
+  private static final String SUCCESS = "success";
+  private static final String NONE = "none";
+
+  private static final Map<String, Timer> successTimers = new ConcurrentHashMap<>();
+
+  private static final MeterRegistry registry = Metrics.globalRegistry;
+
+  private OperationMetrics() {}
+
+  /** Runs the operation, recording its latency and outcome. */
+  public static <T> T time(String operation, Operation<T> body) throws Throwable {
+    long start = System.nanoTime();
+    T result;
+    try {
+      result = body.run();
+    } catch (Throwable e) {
+      timer(operation, outcome(e), e.getClass().getSimpleName())
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      throw e;
+    }
+    successTimers
+        .computeIfAbsent(operation, key -> timer(key, SUCCESS, NONE))
+        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return result;
+  }
+
+  /** {@link #time} for operations that only throw unchecked exceptions. */
+  public static <T> T timeUnchecked(String operation, UncheckedOperation<T> body) {
+    try {
+      return time(operation, body::run);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Timer timer(String operation, String outcome, String exception) {
+    return Timer.builder(METRIC)
+        .description("Latency of the service and repository operations")
+        .tag("operation", operation)
+        .tag("outcome", outcome)
+        .tag("exception", exception)
+        .publishPercentileHistogram()
+        .minimumExpectedValue(Duration.ofMillis(1))
+        .maximumExpectedValue(Duration.ofSeconds(10))
+        .register(registry);
+  }
+
+  private static String outcome(Throwable e) {
+    return e instanceof BadRequestException
+            || e instanceof NotFoundException
+            || e instanceof ConflictException
+        ? "client_error"
+        : "error";
+  }
+
+  @FunctionalInterface
+  public interface Operation<T> {
+    T run() throws Throwable;
+  }
+
+  @FunctionalInterface
+  public interface UncheckedOperation<T> {
+    T run();
+  }
+}
@@ -0,0 +1,28 @@
+package com.jts.pmanagement.common.repository;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers updates of the in-memory indexes until the surrounding transaction commits, so a write
+ * that is rolled back leaves them untouched. Outside a transaction the action runs immediately.
+ */
+public final class AfterCommit {
+
+  private AfterCommit() {}
+
+  public static void run(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+}
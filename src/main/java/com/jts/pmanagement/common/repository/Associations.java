@@ -0,0 +1,25 @@
+package com.jts.pmanagement.common.repository;
+
+import org.hibernate.Hibernate;
+
+/**
+ * Guards for the mappers, which run after the transaction of the call has ended and must only
+ * read what its query fetched.
+ */
+public final class Associations {
+
+  private Associations() {}
+
+  /**
+   * Returns the association when it is loaded, or {@code null}. An unloaded one fails straight
+   * away, even where a session is still open to load it, so a missing fetch shows up in tests
+   * instead of as an extra select or a {@code LazyInitializationException} in production.
+   */
+  public static <T> T loaded(T association, String name) {
+    if (association != null && !Hibernate.isInitialized(association)) {
+      throw new IllegalStateException(
+          "%s is not loaded; fetch it with the query that loads the entity".formatted(name));
+    }
+    return association;
+  }
+}
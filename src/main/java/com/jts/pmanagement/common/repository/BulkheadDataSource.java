@@ -0,0 +1,106 @@
+package com.jts.pmanagement.common.repository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Semaphore bulkhead in front of the connection pool. A connection is only requested from the pool
+ * once one of the permits, sized to the pool, is taken, and the permit is given back when the
+ * connection is closed.
+ *
+ * <p>With request handling on virtual threads, thousands of requests can reach the repositories at
+ * once; they wait here in a fair queue, parking their virtual thread, instead of piling up inside
+ * the pool. The time spent waiting is recorded as {@code pms.db.bulkhead.wait}, and the permits
+ * in use and the waiting threads as {@code pms.db.bulkhead.available} and {@code
+ * pms.db.bulkhead.queued}, all tagged with the {@code pool} they guard.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+  private final Semaphore permits;
+  private final int size;
+  private final long timeoutNanos;
+  private final Timer waitTimer;
+
+  /** @param pool name of the target pool, tagging the meters of each bulkhead apart */
+  public BulkheadDataSource(
+      DataSource target, int permits, Duration timeout, String pool, MeterRegistry meterRegistry) {
+    super(target);
+    this.permits = new Semaphore(permits, true);
+    this.size = permits;
+    this.timeoutNanos = timeout.toNanos();
+    this.waitTimer =
+        Timer.builder("pms.db.bulkhead.wait")
+            .description("Time spent waiting for a database permit")
+            .tag("pool", pool)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    Gauge.builder("pms.db.bulkhead.available", this.permits, Semaphore::availablePermits)
+        .description("Database permits not in use")
+        .tag("pool", pool)
+        .register(meterRegistry);
+    Gauge.builder("pms.db.bulkhead.queued", this.permits, Semaphore::getQueueLength)
+        .description("Threads waiting for a database permit")
+        .tag("pool", pool)
+        .register(meterRegistry);
+  }
+
+  public int getPermits() {
+    return size;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    return guard(() -> super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    return guard(() -> super.getConnection(username, password));
+  }
+
+  private void acquire() throws SQLException {
+    long start = System.nanoTime();
+    boolean acquired;
+    try {
+      acquired = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Interrupted waiting for a database permit", e);
+    } finally {
+      waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    if (!acquired) {
+      throw new SQLTransientConnectionException(
+          "No database permit available after %d ms (%d permits, %d waiting)"
+              .formatted(
+                  TimeUnit.NANOSECONDS.toMillis(timeoutNanos), size, permits.getQueueLength()));
+    }
+  }
+
+  /** Opens the connection with the permit taken, returning it if the pool fails. */
+  private Connection guard(ConnectionSupplier supplier) throws SQLException {
+    try {
+      return ClosingConnection.wrap(supplier.get(), "Bulkhead", permits::release);
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  @FunctionalInterface
+  private interface ConnectionSupplier {
+    Connection get() throws SQLException;
+  }
+}
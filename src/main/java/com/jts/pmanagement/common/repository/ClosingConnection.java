@@ -0,0 +1,48 @@
+package com.jts.pmanagement.common.repository;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+/**
+ * Proxy of a pooled connection that runs an action the first time it is closed, used by the data
+ * sources in front of the pool to see a connection go back.
+ */
+final class ClosingConnection {
+
+  private ClosingConnection() {}
+
+  static Connection wrap(Connection target, String name, Runnable onClose) {
+    var closed = new AtomicBoolean();
+    return (Connection)
+        Proxy.newProxyInstance(
+            ConnectionProxy.class.getClassLoader(),
+            new Class<?>[] {ConnectionProxy.class},
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                  case "equals" -> proxy == args[0];
+                  case "hashCode" -> System.identityHashCode(proxy);
+                  case "toString" -> name + " proxy for " + target;
+                  case "getTargetConnection" -> target;
+                  case "close" -> {
+                    try {
+                      target.close();
+                    } finally {
+                      if (closed.compareAndSet(false, true)) {
+                        onClose.run();
+                      }
+                    }
+                    yield null;
+                  }
+                  default -> {
+                    try {
+                      yield method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                      throw e.getTargetException();
+                    }
+                  }
+                });
+  }
+}
@@ -0,0 +1,95 @@
+package com.jts.pmanagement.common.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Records how long each connection is held, from the moment it is handed out until it is closed,
+ * as {@code pms.db.connection.hold}, tagged with the {@code pool} it came from. A connection held
+ * while nothing runs on it, like during the rendering of a response, keeps a pool slot busy all
+ * the same.
+ *
+ * <p>Between {@link #startRequest()} and {@link #endRequest()} the hold time of the connections
+ * taken by the thread is also summed into a {@link Hold}, so it can be reported per request.
+ */
+public class ConnectionHoldDataSource extends DelegatingDataSource {
+
+  private static final ThreadLocal<Hold> currentRequest = new ThreadLocal<>();
+
+  private final Timer holdTimer;
+
+  /** @param pool name of the target pool, tagging the hold times of each pool apart */
+  public ConnectionHoldDataSource(DataSource target, String pool, MeterRegistry meterRegistry) {
+    super(target);
+    this.holdTimer =
+        Timer.builder("pms.db.connection.hold")
+            .description("Time a connection is held from checkout until it is closed")
+            .tag("pool", pool)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+  }
+
+  /** Starts summing the hold time of the connections taken by the current thread. */
+  public static Hold startRequest() {
+    var hold = new Hold();
+    currentRequest.set(hold);
+    return hold;
+  }
+
+  public static void endRequest() {
+    currentRequest.remove();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return holding(super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return holding(super.getConnection(username, password));
+  }
+
+  private Connection holding(Connection target) {
+    long start = System.nanoTime();
+    // Taken now, so a connection closed by another thread is still charged to its request
+    var request = currentRequest.get();
+    return ClosingConnection.wrap(
+        target,
+        "Hold",
+        () -> {
+          long held = System.nanoTime() - start;
+          holdTimer.record(held, TimeUnit.NANOSECONDS);
+          if (request != null) {
+            request.add(held);
+          }
+        });
+  }
+
+  /** Connections taken while serving one request and the time they were held in total. */
+  public static final class Hold {
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final LongAdder nanos = new LongAdder();
+
+    private void add(long held) {
+      connections.incrementAndGet();
+      nanos.add(held);
+    }
+
+    public int getConnections() {
+      return connections.get();
+    }
+
+    public long getNanos() {
+      return nanos.sum();
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.jts.pmanagement.common.repository;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of {@code COUNT(*)} results keyed by the filter values that shape the count
+ * predicate. It serves the approximate totals requested with {@code cachedTotal=true}; a cached
+ * value may lag behind inserts and deletes for up to the configured time to live.
+ */
+public class CountCache {
+
+  public static final Duration DEFAULT_TTL = Duration.ofSeconds(30);
+  public static final int DEFAULT_MAX_ENTRIES = 1_000;
+
+  private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+  private final long ttlNanos;
+  private final int maxEntries;
+
+  public CountCache() {
+    this(DEFAULT_TTL, DEFAULT_MAX_ENTRIES);
+  }
+
+  public CountCache(Duration ttl, int maxEntries) {
+    this.ttlNanos = ttl.toNanos();
+    this.maxEntries = maxEntries;
+  }
+
+  public long get(Object key, LongSupplier counter) {
+    long now = System.nanoTime();
+    Entry entry = entries.get(key);
+    if (entry != null && now - entry.loadedAt() < ttlNanos) {
+      return entry.count();
+    }
+
+    // Filters are free text, so keep the map bounded rather than tracking recency
+    if (entries.size() >= maxEntries) {
+      entries.clear();
+    }
+
+    long count = counter.getAsLong();
+    entries.put(key, new Entry(count, now));
+    return count;
+  }
+
+  public void clear() {
+    entries.clear();
+  }
+
+  private record Entry(long count, long loadedAt) {}
+}
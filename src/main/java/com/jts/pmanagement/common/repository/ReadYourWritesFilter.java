@@ -0,0 +1,96 @@
+package com.jts.pmanagement.common.repository;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Pins the reads of a client to the primary for a short window after it writes, so it sees its own
+ * writes before the replica catches up.
+ *
+ * <p>A request with any method other than {@code GET}, {@code HEAD} or {@code OPTIONS} counts as a
+ * write: it runs pinned and answers with a {@value #COOKIE} cookie holding the end of the
+ * window, in epoch milliseconds. Later requests carrying the cookie are pinned until then. The
+ * cookie is set before the request is handled, as the response may be committed by the time it
+ * returns, so a failed write pins the client all the same.
+ *
+ * <p>The cookie comes from the client, so a value past the end of a window opened now cannot have
+ * been issued here and is ignored; otherwise a forged cookie would keep the client off the replica.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  static final String COOKIE = "pms-primary-until";
+
+  private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+  private final Duration window;
+  private final Clock clock;
+
+  public ReadYourWritesFilter(Duration window) {
+    this(window, Clock.systemUTC());
+  }
+
+  ReadYourWritesFilter(Duration window, Clock clock) {
+    this.window = window;
+    this.clock = clock;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    long now = clock.millis();
+    boolean write = !READ_METHODS.contains(request.getMethod());
+    if (write) {
+      response.addCookie(cookie(now + window.toMillis()));
+    } else if (!isPinned(pinnedUntil(request), now)) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    ReplicaDataSource.pinToPrimary();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      ReplicaDataSource.unpin();
+    }
+  }
+
+  private boolean isPinned(long until, long now) {
+    return until > now && until <= now + window.toMillis();
+  }
+
+  private Cookie cookie(long until) {
+    var cookie = new Cookie(COOKIE, Long.toString(until));
+    // The value holds the exact end of the window; the max age only lets the client drop it
+    cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+    cookie.setPath("/");
+    cookie.setHttpOnly(true);
+    return cookie;
+  }
+
+  private static long pinnedUntil(HttpServletRequest request) {
+    var cookies = request.getCookies();
+    if (cookies == null) {
+      return 0;
+    }
+
+    for (var cookie : cookies) {
+      if (COOKIE.equals(cookie.getName())) {
+        try {
+          return Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 0;
+  }
+}
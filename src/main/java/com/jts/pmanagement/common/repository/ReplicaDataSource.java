@@ -0,0 +1,71 @@
+package com.jts.pmanagement.common.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Read-only side of the routing data source: hands out replica connections to read-only
+ * transactions, unless the thread is pinned to the primary with {@link #pinToPrimary()} because its
+ * client wrote recently and the replica may not have caught up yet.
+ *
+ * <p>Connections are counted as {@code pms.db.reads}, tagged by the {@code target} they came from.
+ */
+public class ReplicaDataSource extends DelegatingDataSource {
+
+  private static final ThreadLocal<Boolean> pinned = new ThreadLocal<>();
+
+  private final DataSource primary;
+  private final Counter replicaReads;
+  private final Counter primaryReads;
+
+  public ReplicaDataSource(DataSource replica, DataSource primary, MeterRegistry meterRegistry) {
+    super(replica);
+    this.primary = primary;
+    this.replicaReads = reads("replica", meterRegistry);
+    this.primaryReads = reads("primary", meterRegistry);
+  }
+
+  /** Sends the read-only transactions of the current thread to the primary. */
+  public static void pinToPrimary() {
+    pinned.set(Boolean.TRUE);
+  }
+
+  public static void unpin() {
+    pinned.remove();
+  }
+
+  public static boolean isPinned() {
+    return pinned.get() != null;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (isPinned()) {
+      primaryReads.increment();
+      return primary.getConnection();
+    }
+    replicaReads.increment();
+    return super.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    if (isPinned()) {
+      primaryReads.increment();
+      return primary.getConnection(username, password);
+    }
+    replicaReads.increment();
+    return super.getConnection(username, password);
+  }
+
+  private static Counter reads(String target, MeterRegistry meterRegistry) {
+    return Counter.builder("pms.db.reads")
+        .description("Connections taken by read-only transactions")
+        .tag("target", target)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,183 @@
+package com.jts.pmanagement.common.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Keeps a local H2 replica in step with the primary, standing in for the asynchronous replication
+ * of a production database. Every {@code interval} the replica tables are replaced with the rows
+ * of the primary ones in a single transaction, so readers of the replica see either the previous
+ * copy or the new one. In between the replica lags behind, which the read-your-writes pinning of
+ * {@link ReadYourWritesFilter} covers.
+ *
+ * <p>The replica must hold the same schema, migrated separately, and is first synced on creation.
+ * The primary tables are read through H2 linked tables in the {@value #SOURCE_SCHEMA} schema of
+ * the replica, and foreign keys are not checked there, as the primary already did. Each run copies
+ * everything, so this is only meant for local testing on small datasets. The time a run takes is
+ * recorded as {@code pms.db.replica.sync}.
+ */
+@Slf4j
+public class ReplicaSync implements SmartLifecycle {
+
+  static final String SOURCE_SCHEMA = "SOURCE";
+
+  private static final String H2_DRIVER = "org.h2.Driver";
+  private static final String MIGRATION_HISTORY = "flyway_schema_history";
+
+  private final DataSource replica;
+  private final String primaryUrl;
+  private final String username;
+  private final String password;
+  private final Duration interval;
+  private final Timer syncTimer;
+
+  private volatile List<String> tables = List.of();
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * @param replica writable connections to the replica
+   * @param primaryUrl JDBC url the replica reads the primary from
+   * @param interval time between the end of a run and the start of the next
+   */
+  public ReplicaSync(
+      DataSource replica,
+      String primaryUrl,
+      String username,
+      String password,
+      Duration interval,
+      MeterRegistry meterRegistry) {
+    this.replica = replica;
+    this.primaryUrl = primaryUrl;
+    this.username = username;
+    this.password = password;
+    this.interval = interval;
+    this.syncTimer =
+        Timer.builder("pms.db.replica.sync")
+            .description("Time spent copying the primary into the replica")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Links the primary tables and makes the first copy, before the repositories read anything from
+   * the replica; the entity manager factory depends on this bean.
+   */
+  @PostConstruct
+  public void init() {
+    try {
+      link();
+    } catch (SQLException e) {
+      throw new IllegalStateException("Cannot link the replica to " + primaryUrl, e);
+    }
+    sync();
+  }
+
+  @Override
+  public synchronized void start() {
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("replica-sync").daemon().factory());
+    scheduler.scheduleWithFixedDelay(
+        this::syncQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    log.info("Replica synced from {} every {} ({} tables)", primaryUrl, interval, tables.size());
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  @Override
+  public synchronized boolean isRunning() {
+    return scheduler != null;
+  }
+
+  /** Replaces the replica rows with those of the primary. */
+  public synchronized void sync() {
+    syncTimer.record(
+        () -> {
+          try (var connection = replica.getConnection();
+              var statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            try {
+              for (var table : tables) {
+                statement.execute("DELETE FROM " + table);
+                statement.execute(
+                    "INSERT INTO %s SELECT * FROM %s.%s".formatted(table, SOURCE_SCHEMA, table));
+              }
+              connection.commit();
+            } catch (SQLException e) {
+              connection.rollback();
+              throw e;
+            }
+          } catch (SQLException e) {
+            throw new IllegalStateException("Cannot sync the replica from " + primaryUrl, e);
+          }
+        });
+  }
+
+  private void syncQuietly() {
+    try {
+      sync();
+    } catch (RuntimeException e) {
+      log.warn("Replica sync failed, reads are served from the previous copy", e);
+    }
+  }
+
+  // DDL commits in H2, so the links are set up once rather than in the copy transaction
+  private void link() throws SQLException {
+    try (var connection = replica.getConnection();
+        var statement = connection.createStatement()) {
+      statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+      statement.execute("CREATE SCHEMA IF NOT EXISTS " + SOURCE_SCHEMA);
+      var linked = tables(connection);
+      for (var table : linked) {
+        statement.execute(
+            "CREATE LINKED TABLE IF NOT EXISTS %s.%s(%s, %s, %s, %s, %s) READONLY"
+                .formatted(
+                    SOURCE_SCHEMA,
+                    table,
+                    literal(H2_DRIVER),
+                    literal(primaryUrl),
+                    literal(username),
+                    literal(password),
+                    literal(table)));
+      }
+      tables = linked;
+    }
+  }
+
+  private static List<String> tables(Connection connection) throws SQLException {
+    var tables = new ArrayList<String>();
+    try (var resultSet =
+        connection
+            .getMetaData()
+            .getTables(null, "PUBLIC", null, new String[] {"BASE TABLE", "TABLE"})) {
+      while (resultSet.next()) {
+        var table = resultSet.getString("TABLE_NAME");
+        if (!MIGRATION_HISTORY.equalsIgnoreCase(table)) {
+          tables.add(table);
+        }
+      }
+    }
+    return List.copyOf(tables);
+  }
+
+  private static String literal(String value) {
+    return value == null ? "''" : "'" + value.replace("'", "''") + "'";
+  }
+}
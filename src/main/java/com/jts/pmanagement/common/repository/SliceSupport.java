@@ -0,0 +1,21 @@
+package com.jts.pmanagement.common.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+public final class SliceSupport {
+
+  private SliceSupport() {}
+
+  /**
+   * Builds a {@link Slice} from a result fetched with {@code pageSize + 1} rows. The extra row only
+   * signals that a next page exists and is not returned.
+   */
+  public static <T> Slice<T> toSlice(List<T> result, Pageable pageable) {
+    boolean hasNext = result.size() > pageable.getPageSize();
+    List<T> content = hasNext ? result.subList(0, pageable.getPageSize()) : result;
+    return new SliceImpl<>(List.copyOf(content), pageable, hasNext);
+  }
+}
@@ -0,0 +1,68 @@
+package com.jts.pmanagement.common.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings, safe for concurrent use. {@link #mightContain} never
+ * answers {@code false} for a value that was put, and answers {@code true} for a value that was
+ * not put with about the false positive rate it was sized for.
+ */
+public class BloomFilter {
+
+  private final AtomicLongArray words;
+  private final long bitCount;
+  private final int hashCount;
+
+  public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+    int n = Math.max(1, expectedInsertions);
+    long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+
+    this.words = new AtomicLongArray(wordCount);
+    this.bitCount = (long) wordCount * 64;
+    this.hashCount = (int) Math.max(1, Math.round((double) bits / n * Math.log(2)));
+  }
+
+  public void put(String value) {
+    long hash = hash(value);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = index(h1 + i * h2);
+      long mask = 1L << bit;
+      words.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+    }
+  }
+
+  public boolean mightContain(String value) {
+    long hash = hash(value);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = index(h1 + i * h2);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private long index(int combined) {
+    return (combined & Integer.MAX_VALUE) % bitCount;
+  }
+
+  /** 64-bit FNV-1a over the characters, finished with the MurmurHash3 mix for better spread. */
+  private static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
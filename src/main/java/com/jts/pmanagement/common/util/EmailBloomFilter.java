@@ -0,0 +1,84 @@
+package com.jts.pmanagement.common.util;
+
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Bloom filter of the emails already registered in a table, used to skip the uniqueness query for
+ * emails that are certainly new. A positive answer still has to be confirmed against the table.
+ *
+ * <p>Deleted emails cannot be taken out of a Bloom filter and only cause extra confirmations, so
+ * the filter is rebuilt from the table once enough of them accumulate, or when it grows past the
+ * size it was built for. The writes only mark the filter stale; the rebuild runs on the scheduler
+ * every {@code pms.email-filter.rebuild-interval} and swaps the new filter in once complete. An
+ * email added while a rebuild runs may be missed; the unique constraint of the table still rejects
+ * it.
+ */
+@Slf4j
+public abstract class EmailBloomFilter {
+
+  private static final double FALSE_POSITIVE_RATE = 0.01;
+  private static final int MIN_CAPACITY = 10_000;
+
+  private volatile BloomFilter filter = new BloomFilter(MIN_CAPACITY, FALSE_POSITIVE_RATE);
+  private volatile int capacity = MIN_CAPACITY;
+  private final AtomicInteger entries = new AtomicInteger();
+  private final AtomicInteger removed = new AtomicInteger();
+  private final AtomicBoolean stale = new AtomicBoolean();
+
+  /** Every email currently stored in the table. */
+  protected abstract List<String> findAllEmails();
+
+  @PostConstruct
+  public synchronized void load() {
+    var emails = findAllEmails();
+    int newCapacity = Math.max(MIN_CAPACITY, emails.size() * 2);
+    var newFilter = new BloomFilter(newCapacity, FALSE_POSITIVE_RATE);
+    emails.forEach(newFilter::put);
+
+    filter = newFilter;
+    capacity = newCapacity;
+    entries.set(emails.size());
+    removed.set(0);
+    log.info("{} loaded with {} emails", getClass().getSimpleName(), emails.size());
+  }
+
+  /** {@code false} when no row of the table has the email. */
+  public boolean mightContain(String email) {
+    return filter.mightContain(email);
+  }
+
+  public void add(String email) {
+    filter.put(email);
+    if (entries.incrementAndGet() > capacity) {
+      stale.set(true);
+    }
+  }
+
+  /** Records that an email left the table, rebuilding once a tenth of the entries are stale. */
+  public void removed() {
+    if (removed.incrementAndGet() * 10L >= entries.get()) {
+      stale.set(true);
+    }
+  }
+
+  @Scheduled(
+      fixedDelayString = "${pms.email-filter.rebuild-interval:PT10S}",
+      initialDelayString = "${pms.email-filter.rebuild-interval:PT10S}")
+  public void rebuildIfStale() {
+    if (!stale.compareAndSet(true, false)) {
+      return;
+    }
+
+    try {
+      load();
+    } catch (RuntimeException e) {
+      stale.set(true);
+      log.warn("{} rebuild failed, retrying on the next run", getClass().getSimpleName(), e);
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.jts.pmanagement.common.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/** Normal form of the text stored in search columns: lower case and without accents. */
+public final class SearchText {
+
+  public static final char ESCAPE = '\\';
+
+  private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern WILDCARDS = Pattern.compile("[\\\\%_]");
+
+  private SearchText() {}
+
+  public static String normalize(String text) {
+    if (Objects.isNull(text)) {
+      return null;
+    }
+    var decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+    return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+  }
+
+  /** LIKE pattern matching the values that start with the normalized text. */
+  public static String prefixPattern(String text) {
+    return WILDCARDS.matcher(normalize(text)).replaceAll("\\\\$0") + "%";
+  }
+}
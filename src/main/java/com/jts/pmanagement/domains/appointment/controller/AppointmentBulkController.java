@@ -0,0 +1,103 @@
+package com.jts.pmanagement.domains.appointment.controller;
+
+import static com.jts.pmanagement.domains.appointment.controller.constants.AppointmentConstants.APPOINTMENT_EXAMPLE_ERROR_400_BAD_REQUEST;
+import static com.jts.pmanagement.domains.appointment.controller.constants.AppointmentConstants.EXAMPLE_ERROR_500_INTERNAL_SERVER_ERROR;
+
+import com.jts.pmanagement.common.controller.PmsController;
+import com.jts.pmanagement.domains.appointment.controller.mapper.AppointmentMapper;
+import com.jts.pmanagement.domains.appointment.dto.BulkAppointmentRequest;
+import com.jts.pmanagement.domains.appointment.dto.BulkAppointmentResponse;
+import com.jts.pmanagement.domains.appointment.dto.BulkAppointmentStatus;
+import com.jts.pmanagement.domains.appointment.service.AppointmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/v1/appointments")
+@AllArgsConstructor
+@Slf4j
+public class AppointmentBulkController implements PmsController {
+  private final AppointmentService service;
+  private final AppointmentMapper mapper;
+
+  @Operation(
+      summary = "Register many Appointments",
+      description =
+          "This endpoint is responsible to register up to 1000 appointments of any patient at once. Each appointment is created or rejected on its own and its result is reported at the same position of the request",
+      security = @SecurityRequirement(name = AUTHORIZATION))
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_OK,
+            description = "Result of each appointment",
+            content = {
+              @Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @Schema(implementation = BulkAppointmentResponse.class))
+            }),
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_UNAUTHORIZED,
+            description = "Unauthorized",
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema())}),
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_BAD_REQUEST,
+            description = "Bulk appointment request is invalid",
+            content = {
+              @Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  examples = {
+                    @ExampleObject(
+                        name = EXAMPLE_BAD_REQUEST_NAME,
+                        description =
+                            "A bad request response example when trying to register many appointments",
+                        value = APPOINTMENT_EXAMPLE_ERROR_400_BAD_REQUEST)
+                  })
+            }),
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_INTERNAL_SERVER_ERROR,
+            description = "An unexpected error occurred during register the appointments",
+            content = {
+              @Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  examples = {
+                    @ExampleObject(
+                        name = EXAMPLE_INTERNAL_SERVER_ERROR_NAME,
+                        description =
+                            "A internal server error response example when trying to register many appointments",
+                        value = EXAMPLE_ERROR_500_INTERNAL_SERVER_ERROR)
+                  })
+            })
+      })
+  @PostMapping("/bulk")
+  public ResponseEntity<BulkAppointmentResponse> createAll(
+      @RequestBody @Valid @NotNull BulkAppointmentRequest request) {
+
+    log.info("Creating {} appointments in bulk", request.getAppointments().size());
+
+    var appointments =
+        request.getAppointments().stream()
+            .map(item -> mapper.toAppointment(item.getPatientId(), item.getAppointment()))
+            .toList();
+    var results = service.insertAll(appointments);
+
+    int created =
+        (int) results.stream().filter(r -> r.getStatus() == BulkAppointmentStatus.CREATED).count();
+    return ResponseEntity.ok(
+        new BulkAppointmentResponse(created, results.size() - created, results));
+  }
+}
@@ -5,11 +5,14 @@ import static com.jts.pmanagement.domains.appointment.controller.constants.Appoi
 import static com.jts.pmanagement.domains.appointment.controller.constants.AppointmentConstants.EXAMPLE_ERROR_500_INTERNAL_SERVER_ERROR;
 
 import com.jts.pmanagement.common.controller.PmsController;
+import com.jts.pmanagement.common.filter.CursorPage;
+import com.jts.pmanagement.domains.appointment.controller.export.AppointmentExportWriter;
 import com.jts.pmanagement.domains.appointment.controller.mapper.AppointmentMapper;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentFilter;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentRequest;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentResponse;
 import com.jts.pmanagement.domains.appointment.dto.CancelAppointmentRequest;
+import com.jts.pmanagement.domains.appointment.dto.ExportFormat;
 import com.jts.pmanagement.domains.appointment.service.AppointmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,11 +27,11 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/v1/patients/{patientId}/appointments")
@@ -37,6 +40,7 @@ import org.springframework.web.bind.annotation.*;
 public class AppointmentController implements PmsController {
   private final AppointmentService service;
   private final AppointmentMapper mapper;
+  private final AppointmentExportWriter exportWriter;
 
   @Operation(
       summary = "Register an Appointment",
@@ -386,7 +390,7 @@ public class AppointmentController implements PmsController {
       summary = "Retrieve a list of appointments by patient",
       security = @SecurityRequirement(name = AUTHORIZATION),
       description =
-          "This endpoint is responsible to retrieve a list of appointments by patient based on the applied filters",
+          "This endpoint is responsible to retrieve a list of appointments by patient based on the applied filters. With 'withTotal=false' the total is not counted and a slice is returned",
       parameters = {
         @Parameter(
             name = "patientId",
@@ -417,16 +421,147 @@ public class AppointmentController implements PmsController {
             })
       })
   @GetMapping
-  public Page<AppointmentResponse> list(@PathVariable Long patientId, AppointmentFilter filter) {
+  public Slice<AppointmentResponse> list(@PathVariable Long patientId, AppointmentFilter filter) {
 
     log.info("Listing appointments for patientId={}, filter={}", patientId, filter);
 
+    if (Boolean.FALSE.equals(filter.getWithTotal())) {
+      var slice = service.findSliceByPatientId(patientId, filter);
+      log.info("Found {} appointments for patientId={}", slice.getNumberOfElements(), patientId);
+      return slice;
+    }
+
     var page = service.findAllByPatientId(patientId, filter);
 
     log.info("Found {} appointments for patientId={}", page.getTotalElements(), patientId);
 
-    var responseList = page.stream().map(mapper::toAppointmentResponse).toList();
+    return page;
+  }
+
+  @Operation(
+      summary = "Retrieve a list of appointments by patient using a cursor",
+      security = @SecurityRequirement(name = AUTHORIZATION),
+      description =
+          "This endpoint is responsible to retrieve a list of appointments by patient, paged by the"
+              + " 'after' cursor. Send 'after' empty for the first page and then the 'nextCursor'"
+              + " of the previous page",
+      parameters = {
+        @Parameter(
+            name = "patientId",
+            description = "Id of the patient",
+            example = "1",
+            in = ParameterIn.PATH)
+      })
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = HTTP_STATUS_CODE_OK, description = "Return appointments list"),
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_UNAUTHORIZED,
+            description = "Unauthorized",
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema())}),
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_BAD_REQUEST,
+            description = "The cursor informed is not valid",
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema())}),
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_INTERNAL_SERVER_ERROR,
+            description = "An unexpected error occurred during retrieve the appointments list",
+            content = {
+              @Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  examples = {
+                    @ExampleObject(
+                        name = EXAMPLE_INTERNAL_SERVER_ERROR_NAME,
+                        description =
+                            "A internal server error response example when trying to retrieve a appointments list",
+                        value = EXAMPLE_ERROR_500_INTERNAL_SERVER_ERROR)
+                  })
+            })
+      })
+  @GetMapping(params = "after")
+  public CursorPage<AppointmentResponse> listWithCursor(
+      @PathVariable Long patientId, AppointmentFilter filter) {
+
+    log.info("Listing appointments by cursor for patientId={}, filter={}", patientId, filter);
+
+    var page = service.findAllByPatientIdWithCursor(patientId, filter);
+
+    log.info("Found {} appointments for patientId={}", page.getContent().size(), patientId);
+
+    return page.map(mapper::toAppointmentResponse);
+  }
+
+  @Operation(
+      summary = "Export every appointment of a patient",
+      security = @SecurityRequirement(name = AUTHORIZATION),
+      description =
+          "This endpoint is responsible to export all the appointments of a patient matching the"
+              + " filters, as NDJSON (one appointment per line) or CSV. The rows are streamed while"
+              + " they are read, so the export has no page size",
+      parameters = {
+        @Parameter(
+            name = "patientId",
+            description = "Id of the patient",
+            example = "1",
+            in = ParameterIn.PATH),
+        @Parameter(
+            name = "format",
+            description = "Format of the export",
+            example = "CSV",
+            in = ParameterIn.QUERY)
+      })
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_OK,
+            description = "Appointments export",
+            content = {
+              @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE),
+              @Content(mediaType = "text/csv")
+            }),
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_UNAUTHORIZED,
+            description = "Unauthorized",
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema())}),
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_NOT_FOUND,
+            description = "Patient not found",
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema())}),
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_INTERNAL_SERVER_ERROR,
+            description = "An unexpected error occurred during export the appointments",
+            content = {
+              @Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  examples = {
+                    @ExampleObject(
+                        name = EXAMPLE_INTERNAL_SERVER_ERROR_NAME,
+                        description =
+                            "A internal server error response example when trying to export the appointments",
+                        value = EXAMPLE_ERROR_500_INTERNAL_SERVER_ERROR)
+                  })
+            })
+      })
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> export(
+      @PathVariable Long patientId,
+      @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+      AppointmentFilter filter) {
+
+    log.info(
+        "Exporting appointments for patientId={}, format={}, filter={}", patientId, format, filter);
+
+    // Up front, so a missing patient is still answered with a 404 before the streaming starts
+    service.checkPatientExists(patientId);
+
+    // Opened by the body, so a body that never runs holds no session, connection or permit
+    StreamingResponseBody body =
+        out -> {
+          try (var rows = service.streamByPatientId(patientId, filter)) {
+            exportWriter.write(format, rows, out);
+          }
+        };
 
-    return new PageImpl<>(responseList, page.getPageable(), page.getTotalElements());
+    return ResponseEntity.ok().contentType(format.getMediaType()).body(body);
   }
 }
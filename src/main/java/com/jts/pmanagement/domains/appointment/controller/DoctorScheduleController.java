@@ -0,0 +1,109 @@
+package com.jts.pmanagement.domains.appointment.controller;
+
+import static com.jts.pmanagement.domains.appointment.controller.constants.AppointmentConstants.DOCTOR_EXAMPLE_ERROR_404_NOT_FOUND;
+import static com.jts.pmanagement.domains.appointment.controller.constants.AppointmentConstants.EXAMPLE_ERROR_500_INTERNAL_SERVER_ERROR;
+import static com.jts.pmanagement.domains.appointment.controller.constants.AppointmentConstants.SCHEDULE_EXAMPLE_ERROR_400_BAD_REQUEST;
+
+import com.jts.pmanagement.common.controller.PmsController;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentResponse;
+import com.jts.pmanagement.domains.appointment.dto.DoctorScheduleFilter;
+import com.jts.pmanagement.domains.appointment.service.AppointmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/v1/doctors/{doctorId}/schedule")
+@AllArgsConstructor
+@Slf4j
+public class DoctorScheduleController implements PmsController {
+
+  private final AppointmentService service;
+
+  @Operation(
+      summary = "Retrieve the schedule of a doctor",
+      security = @SecurityRequirement(name = AUTHORIZATION),
+      description =
+          "This endpoint is responsible to retrieve the appointments of a doctor starting within the informed days, ordered by start time")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_OK,
+            description = "Return the appointments of the doctor, earliest first",
+            content = {
+              @Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  array =
+                      @ArraySchema(schema = @Schema(implementation = AppointmentResponse.class)))
+            }),
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_UNAUTHORIZED,
+            description = "Unauthorized",
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema())}),
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_BAD_REQUEST,
+            description = "Schedule range is invalid",
+            content = {
+              @Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  examples = {
+                    @ExampleObject(
+                        name = EXAMPLE_BAD_REQUEST_NAME,
+                        description =
+                            "A bad request response example when trying to retrieve a doctor schedule",
+                        value = SCHEDULE_EXAMPLE_ERROR_400_BAD_REQUEST)
+                  })
+            }),
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_NOT_FOUND,
+            description = "Doctor not found",
+            content = {
+              @Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  examples = {
+                    @ExampleObject(
+                        name = EXAMPLE_NOT_FOUND_NAME,
+                        description =
+                            "A not found response example when trying to retrieve the schedule of a doctor does not exist",
+                        value = DOCTOR_EXAMPLE_ERROR_404_NOT_FOUND)
+                  })
+            }),
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_INTERNAL_SERVER_ERROR,
+            description = "An unexpected error occurred during retrieve the doctor schedule",
+            content = {
+              @Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  examples = {
+                    @ExampleObject(
+                        name = EXAMPLE_INTERNAL_SERVER_ERROR_NAME,
+                        description =
+                            "A internal server error response example when trying to retrieve a doctor schedule",
+                        value = EXAMPLE_ERROR_500_INTERNAL_SERVER_ERROR)
+                  })
+            })
+      })
+  @GetMapping
+  public List<AppointmentResponse> findSchedule(
+      @PathVariable Long doctorId, DoctorScheduleFilter filter) {
+    log.info("Request for retrieve the schedule of the doctor [{}]. filter:{}", doctorId, filter);
+
+    var schedule = service.findDoctorSchedule(doctorId, filter);
+    log.info("Found [{}] appointments", schedule.size());
+
+    return schedule;
+  }
+}
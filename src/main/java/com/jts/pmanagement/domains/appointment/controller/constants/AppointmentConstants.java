@@ -20,6 +20,24 @@ public class AppointmentConstants {
             }
             """;
 
+    public static final String DOCTOR_EXAMPLE_ERROR_404_NOT_FOUND = """
+            {
+                "code": 404,
+                "status": "Not Found",
+                "description": "Doctor with Id 10 was not found",
+                "date": "2022-10-28T21:39:54.603263862"
+            }
+            """;
+
+    public static final String SCHEDULE_EXAMPLE_ERROR_400_BAD_REQUEST = """
+            {
+                 "code": 400,
+                 "status": "Bad Request",
+                 "description": "The schedule range must not be longer than 31 days",
+                 "date": "2022-11-25T20:14:04.078313400"
+            }
+            """;
+
     public static final String APPOINTMENT_EXAMPLE_ERROR_400_BAD_REQUEST = """
             {
                  "code": 400,
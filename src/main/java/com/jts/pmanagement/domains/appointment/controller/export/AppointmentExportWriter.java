@@ -0,0 +1,134 @@
+package com.jts.pmanagement.domains.appointment.controller.export;
+
+import com.jts.pmanagement.domains.appointment.dto.AppointmentResponse;
+import com.jts.pmanagement.domains.appointment.dto.DoctorAppointment;
+import com.jts.pmanagement.domains.appointment.dto.ExportFormat;
+import com.jts.pmanagement.domains.appointment.dto.PatientAppointment;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Writes appointments to an output stream one row at a time, flushing every {@link #FLUSH_EVERY}
+ * rows, so an export never holds more than a row in memory and the client starts receiving data
+ * while the rows are still being read.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentExportWriter {
+
+  static final int FLUSH_EVERY = 100;
+
+  static final String CSV_HEADER =
+      "id,patientId,patientFirstName,patientLastName,patientEmail,doctorId,doctorFirstName,"
+          + "doctorLastName,doctorTitle,doctorSpeciality,startTime,endTime,duration,title,"
+          + "description,type,status,cancellationTime,cancellationReason";
+
+  private final JsonMapper jsonMapper;
+
+  public void write(ExportFormat format, Stream<AppointmentResponse> rows, OutputStream out)
+      throws IOException {
+    switch (format) {
+      case NDJSON -> writeNdjson(rows.iterator(), out);
+      case CSV -> writeCsv(rows.iterator(), out);
+    }
+  }
+
+  private void writeNdjson(Iterator<AppointmentResponse> rows, OutputStream out) {
+    ObjectWriter writer =
+        jsonMapper
+            .writerFor(AppointmentResponse.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .withRootValueSeparator((String) null);
+
+    try (JsonGenerator generator = writer.createGenerator(out)) {
+      int count = 0;
+      while (rows.hasNext()) {
+        writer.writeValue(generator, rows.next());
+        generator.writeRaw('\n');
+        if (++count % FLUSH_EVERY == 0) {
+          generator.flush();
+        }
+      }
+    }
+  }
+
+  private void writeCsv(Iterator<AppointmentResponse> rows, OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writer.write(CSV_HEADER);
+    writer.write('\n');
+
+    int count = 0;
+    while (rows.hasNext()) {
+      writeCsvRow(writer, rows.next());
+      if (++count % FLUSH_EVERY == 0) {
+        writer.flush();
+      }
+    }
+    writer.flush();
+  }
+
+  private void writeCsvRow(Writer writer, AppointmentResponse row) throws IOException {
+    PatientAppointment patient =
+        Objects.requireNonNullElseGet(row.getPatient(), PatientAppointment::new);
+    DoctorAppointment doctor =
+        Objects.requireNonNullElseGet(row.getDoctor(), DoctorAppointment::new);
+
+    Object[] values = {
+      row.getId(),
+      patient.getId(),
+      patient.getFirstName(),
+      patient.getLastName(),
+      patient.getEmail(),
+      doctor.getId(),
+      doctor.getFirstName(),
+      doctor.getLastName(),
+      doctor.getTitle(),
+      doctor.getSpeciality(),
+      row.getStartTime(),
+      row.getEndTime(),
+      row.getDuration(),
+      row.getTitle(),
+      row.getDescription(),
+      row.getType(),
+      row.getStatus(),
+      row.getCancellationTime(),
+      row.getCancellationReason()
+    };
+
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      writer.write(escapeCsv(values[i]));
+    }
+    writer.write('\n');
+  }
+
+  static String escapeCsv(Object value) {
+    if (value == null) {
+      return "";
+    }
+
+    String text = value.toString();
+    if (text.indexOf(',') < 0
+        && text.indexOf('"') < 0
+        && text.indexOf('\n') < 0
+        && text.indexOf('\r') < 0) {
+      return text;
+    }
+    return '"' + text.replace("\"", "\"\"") + '"';
+  }
+}
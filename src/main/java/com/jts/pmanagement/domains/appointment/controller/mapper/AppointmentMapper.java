@@ -1,5 +1,7 @@
 package com.jts.pmanagement.domains.appointment.controller.mapper;
 
+import static com.jts.pmanagement.common.repository.Associations.loaded;
+
 import com.jts.pmanagement.domains.appointment.dto.AppointmentRequest;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentResponse;
 import com.jts.pmanagement.domains.appointment.dto.CancelAppointmentRequest;
@@ -12,6 +14,11 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.stereotype.Component;
 
+/**
+ * Maps the appointments returned by the service, whose transaction has already ended. The
+ * patient, doctor and speciality are read only if the query fetched them, see {@link
+ * Appointment#DETAILS}.
+ */
 @Component
 public class AppointmentMapper {
 
@@ -39,8 +46,8 @@ public class AppointmentMapper {
   public AppointmentResponse toAppointmentResponse(Appointment appointment) {
     return AppointmentResponse.builder()
         .id(appointment.getId())
-        .patient(toPatientAppointment(appointment.getPatient()))
-        .doctor(toDoctorAppointment(appointment.getDoctor()))
+        .patient(toPatientAppointment(loaded(appointment.getPatient(), "Appointment.patient")))
+        .doctor(toDoctorAppointment(loaded(appointment.getDoctor(), "Appointment.doctor")))
         .startTime(appointment.getStartTime())
         .endTime(appointment.getEndTime())
         .duration(appointment.getDuration())
@@ -67,11 +74,12 @@ public class AppointmentMapper {
       return null;
     }
 
+    var speciality = loaded(doctor.getSpeciality(), "Doctor.speciality");
     return new DoctorAppointment(
         doctor.getId(),
         doctor.getFirstName(),
         doctor.getLastName(),
         doctor.getTitle(),
-        doctor.getSpeciality() != null ? doctor.getSpeciality().getDescription() : null);
+        speciality != null ? speciality.getDescription() : null);
   }
 }
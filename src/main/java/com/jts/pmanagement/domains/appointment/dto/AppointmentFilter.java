@@ -24,4 +24,12 @@ public class AppointmentFilter extends PmsFilter {
 
   @Schema(description = "Appointment end date be searched", name = "status", example = "2026-01-22")
   private LocalDate endDate;
+
+  @Schema(
+      description =
+          "Cursor returned as 'nextCursor' by the previous page. When present (even empty) the list"
+              + " is paged by cursor instead of by page number",
+      name = "after",
+      example = "MjAyNi0wMS0yMFQxMDozNTowMHwxNA")
+  private String after;
 }
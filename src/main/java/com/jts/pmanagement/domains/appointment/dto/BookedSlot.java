@@ -0,0 +1,17 @@
+package com.jts.pmanagement.domains.appointment.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookedSlot {
+  private Long id;
+  private Long doctorId;
+  private Long patientId;
+  private LocalDateTime startTime;
+  private LocalDateTime endTime;
+}
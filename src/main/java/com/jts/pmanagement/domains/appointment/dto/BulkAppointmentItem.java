@@ -0,0 +1,27 @@
+package com.jts.pmanagement.domains.appointment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkAppointmentItem {
+
+  @Schema(
+      description = "Id of the patient",
+      name = "patientId",
+      requiredMode = Schema.RequiredMode.REQUIRED,
+      example = "1")
+  @NotNull(message = "Patient Id cannot be null")
+  private Long patientId;
+
+  @Schema(description = "Appointment to be booked", name = "appointment")
+  @NotNull(message = "Appointment cannot be null")
+  @Valid
+  private AppointmentRequest appointment;
+}
@@ -0,0 +1,27 @@
+package com.jts.pmanagement.domains.appointment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkAppointmentRequest {
+
+  public static final int MAX_APPOINTMENTS = 1000;
+
+  @Schema(
+      description = "Appointments to be booked, of any patient",
+      name = "appointments",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @NotEmpty(message = "Appointments cannot be empty")
+  @Size(max = MAX_APPOINTMENTS, message = "At most 1000 appointments can be booked at once")
+  private List<@Valid @NotNull BulkAppointmentItem> appointments;
+}
@@ -0,0 +1,21 @@
+package com.jts.pmanagement.domains.appointment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkAppointmentResponse {
+  @Schema(description = "Number of appointments created", name = "created", example = "98")
+  private Integer created;
+
+  @Schema(description = "Number of appointments rejected", name = "rejected", example = "2")
+  private Integer rejected;
+
+  @Schema(description = "Result of each appointment, in the order of the request", name = "results")
+  private List<BulkAppointmentResult> results;
+}
@@ -0,0 +1,39 @@
+package com.jts.pmanagement.domains.appointment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkAppointmentResult {
+  @Schema(description = "Position of the appointment in the request", name = "index", example = "0")
+  private Integer index;
+
+  @Schema(description = "Id of the patient", name = "patientId", example = "1")
+  private Long patientId;
+
+  @Schema(description = "Id of the created appointment", name = "appointmentId", example = "18")
+  private Long appointmentId;
+
+  @Schema(description = "Outcome of the booking", name = "status", example = "CREATED")
+  private BulkAppointmentStatus status;
+
+  @Schema(
+      description = "Why the appointment was rejected",
+      name = "message",
+      example = "Doctor with Id 14 was not found")
+  private String message;
+
+  public static BulkAppointmentResult created(int index, Long patientId, Long appointmentId) {
+    return new BulkAppointmentResult(
+        index, patientId, appointmentId, BulkAppointmentStatus.CREATED, null);
+  }
+
+  public static BulkAppointmentResult rejected(int index, Long patientId, String message) {
+    return new BulkAppointmentResult(
+        index, patientId, null, BulkAppointmentStatus.REJECTED, message);
+  }
+}
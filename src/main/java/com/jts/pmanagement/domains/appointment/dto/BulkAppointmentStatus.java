@@ -0,0 +1,6 @@
+package com.jts.pmanagement.domains.appointment.dto;
+
+public enum BulkAppointmentStatus {
+  CREATED,
+  REJECTED
+}
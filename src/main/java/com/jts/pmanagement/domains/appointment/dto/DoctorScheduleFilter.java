@@ -0,0 +1,22 @@
+package com.jts.pmanagement.domains.appointment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class DoctorScheduleFilter {
+  @Schema(
+      description = "First day of the schedule. Defaults to today",
+      name = "from",
+      example = "2026-01-20")
+  private LocalDate from;
+
+  @Schema(
+      description = "Last day of the schedule, inclusive. Defaults to six days after 'from'",
+      name = "to",
+      example = "2026-01-26")
+  private LocalDate to;
+}
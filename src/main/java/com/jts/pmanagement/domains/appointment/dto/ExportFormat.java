@@ -0,0 +1,18 @@
+package com.jts.pmanagement.domains.appointment.dto;
+
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+  NDJSON(MediaType.APPLICATION_NDJSON),
+  CSV(new MediaType("text", "csv"));
+
+  private final MediaType mediaType;
+
+  ExportFormat(MediaType mediaType) {
+    this.mediaType = mediaType;
+  }
+
+  public MediaType getMediaType() {
+    return mediaType;
+  }
+}
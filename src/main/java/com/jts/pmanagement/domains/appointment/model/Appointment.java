@@ -9,23 +9,56 @@ import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
+/**
+ * The associations are lazy: each repository method picks the fetch plan of its use case, either
+ * {@link #DETAILS} for the reads that return the patient and doctor, {@link #WITH_PATIENT} for
+ * the updates that check the owner, or {@link #STATUS} for the transitions that only change the
+ * row.
+ */
 @Entity
+@NamedEntityGraph(
+    name = Appointment.DETAILS,
+    attributeNodes = {
+      @NamedAttributeNode("patient"),
+      @NamedAttributeNode(value = "doctor", subgraph = "doctor")
+    },
+    subgraphs = @NamedSubgraph(name = "doctor", attributeNodes = @NamedAttributeNode("speciality")))
+@NamedEntityGraph(name = Appointment.WITH_PATIENT, attributeNodes = @NamedAttributeNode("patient"))
+@NamedEntityGraph(name = Appointment.STATUS)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
+@ToString(exclude = {"patient", "doctor"})
+@EqualsAndHashCode(exclude = {"patient", "doctor"})
 public class Appointment {
+
+  /** The appointment with its patient, doctor and the doctor's speciality. */
+  public static final String DETAILS = "Appointment.details";
+
+  /** The appointment with its patient, validating both with a single select. */
+  public static final String WITH_PATIENT = "Appointment.withPatient";
+
+  /** The appointment row alone, for status transitions and validations. */
+  public static final String STATUS = "Appointment.status";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+  @SequenceGenerator(
+      name = "appointment_seq",
+      sequenceName = "appointment_seq",
+      allocationSize = 50)
   private Long id;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "patient_id")
   private Patient patient;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "doctor_id")
   private Doctor doctor;
 
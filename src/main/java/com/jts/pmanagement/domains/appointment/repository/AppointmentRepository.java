@@ -1,14 +1,103 @@
 package com.jts.pmanagement.domains.appointment.repository;
 
+import com.jts.pmanagement.domains.appointment.dto.BookedSlot;
 import com.jts.pmanagement.domains.appointment.model.Appointment;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 @Repository
 public interface AppointmentRepository
     extends JpaRepository<Appointment, Long>, AppointmentRepositoryCustom {
 
+    /** The appointment with its patient and doctor, for the calls that return it. */
+    @EntityGraph(Appointment.DETAILS)
+    Optional<Appointment> findWithDetailsByIdAndPatientId(Long id, Long patientId);
+
+    /** The appointment with its patient, for the updates that validate the owner. */
+    @EntityGraph(Appointment.WITH_PATIENT)
+    Optional<Appointment> findWithPatientByIdAndPatientId(Long id, Long patientId);
+
+    /** The appointment row alone, for the calls that only check or change its status. */
+    @EntityGraph(Appointment.STATUS)
     Optional<Appointment> findByIdAndPatientId(Long id, Long patientId);
+
+    /** Deletes every appointment of the patient with one statement, bypassing the cascade. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Appointment a where a.patient.id = :patientId")
+    int bulkDeleteByPatientId(@Param("patientId") Long patientId);
+
+    @Query("""
+            select new com.jts.pmanagement.domains.appointment.dto.BookedSlot(
+                a.id, a.doctor.id, a.patient.id, a.startTime, a.endTime)
+            from Appointment a
+            where a.endTime > :time
+              and a.status <> com.jts.pmanagement.domains.appointment.dto.AppointmentStatus.CANCELLED
+            """)
+    List<BookedSlot> findBookedSlotsEndingAfter(@Param("time") LocalDateTime time);
+
+    @Query("""
+            select new com.jts.pmanagement.domains.appointment.dto.BookedSlot(
+                a.id, a.doctor.id, a.patient.id, a.startTime, a.endTime)
+            from Appointment a
+            where a.doctor.id in :doctorIds
+              and a.startTime < :to
+              and a.endTime > :from
+              and a.status <> com.jts.pmanagement.domains.appointment.dto.AppointmentStatus.CANCELLED
+            """)
+    List<BookedSlot> findBookedSlotsByDoctorIds(
+        @Param("doctorIds") Collection<Long> doctorIds,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to);
+
+    @Query("""
+            select new com.jts.pmanagement.domains.appointment.dto.BookedSlot(
+                a.id, a.doctor.id, a.patient.id, a.startTime, a.endTime)
+            from Appointment a
+            where a.patient.id in :patientIds
+              and a.startTime < :to
+              and a.endTime > :from
+              and a.status <> com.jts.pmanagement.domains.appointment.dto.AppointmentStatus.CANCELLED
+            """)
+    List<BookedSlot> findBookedSlotsByPatientIds(
+        @Param("patientIds") Collection<Long> patientIds,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to);
+
+    @Query("""
+            select count(a) > 0
+            from Appointment a
+            where a.doctor.id = :doctorId
+              and a.startTime < :endTime
+              and a.endTime > :startTime
+              and a.status <> com.jts.pmanagement.domains.appointment.dto.AppointmentStatus.CANCELLED
+              and (:excludedId is null or a.id <> :excludedId)
+            """)
+    boolean existsDoctorOverlap(
+        @Param("doctorId") Long doctorId,
+        @Param("startTime") LocalDateTime startTime,
+        @Param("endTime") LocalDateTime endTime,
+        @Param("excludedId") Long excludedId);
+
+    @Query("""
+            select count(a) > 0
+            from Appointment a
+            where a.patient.id = :patientId
+              and a.startTime < :endTime
+              and a.endTime > :startTime
+              and a.status <> com.jts.pmanagement.domains.appointment.dto.AppointmentStatus.CANCELLED
+              and (:excludedId is null or a.id <> :excludedId)
+            """)
+    boolean existsPatientOverlap(
+        @Param("patientId") Long patientId,
+        @Param("startTime") LocalDateTime startTime,
+        @Param("endTime") LocalDateTime endTime,
+        @Param("excludedId") Long excludedId);
 }
@@ -1,9 +1,25 @@
 package com.jts.pmanagement.domains.appointment.repository;
 
+import com.jts.pmanagement.common.filter.CursorPage;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentFilter;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentResponse;
 import com.jts.pmanagement.domains.appointment.model.Appointment;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 public interface AppointmentRepositoryCustom {
-  Page<Appointment> findAllWithFilters(Long appointmentId, AppointmentFilter filter);
+  CursorPage<Appointment> findAllWithCursor(Long patientId, AppointmentFilter filter);
+
+  Page<AppointmentResponse> findResponsesWithFilters(Long patientId, AppointmentFilter filter);
+
+  Slice<AppointmentResponse> findResponseSliceWithFilters(Long patientId, AppointmentFilter filter);
+
+  /** Appointments of the doctor starting in {@code [from, to)}, ordered by start time. */
+  List<AppointmentResponse> findDoctorSchedule(Long doctorId, LocalDateTime from, LocalDateTime to);
+
+  /** Streams every matching appointment from a forward-only cursor. The stream must be closed. */
+  Stream<AppointmentResponse> streamResponses(Long patientId, AppointmentFilter filter);
 }
@@ -1,23 +1,57 @@
 package com.jts.pmanagement.domains.appointment.repository;
 
+import com.jts.pmanagement.common.filter.CursorPage;
+import com.jts.pmanagement.common.filter.PageSize;
+import com.jts.pmanagement.common.filter.PmsCursor;
+import com.jts.pmanagement.common.metrics.Monitored;
+import com.jts.pmanagement.common.metrics.OperationMetrics;
+import com.jts.pmanagement.common.repository.CountCache;
+import com.jts.pmanagement.common.repository.SliceSupport;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentFilter;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentResponse;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentStatus;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentType;
+import com.jts.pmanagement.domains.appointment.dto.DoctorAppointment;
+import com.jts.pmanagement.domains.appointment.dto.PatientAppointment;
 import com.jts.pmanagement.domains.appointment.model.Appointment;
+import com.jts.pmanagement.domains.doctor.model.Doctor;
+import com.jts.pmanagement.domains.doctor.model.Speciality;
+import com.jts.pmanagement.domains.patient.model.Patient;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.domain.*;
 
+@Monitored
 public class AppointmentRepositoryImpl implements AppointmentRepositoryCustom {
 
   @PersistenceContext private final EntityManager entityManager;
   private final CriteriaBuilder criteriaBuilder;
+  private final CountCache countCache = new CountCache();
+
+  private static final int EXPORT_FETCH_SIZE = 500;
 
   public AppointmentRepositoryImpl(EntityManager entityManager) {
     this.entityManager = entityManager;
@@ -25,33 +59,242 @@ public class AppointmentRepositoryImpl implements AppointmentRepositoryCustom {
   }
 
   @Override
-  public Page<Appointment> findAllWithFilters(Long patientId, AppointmentFilter filter) {
-    CriteriaQuery<Appointment> query = criteriaBuilder.createQuery(Appointment.class);
+  public Page<AppointmentResponse> findResponsesWithFilters(
+      Long patientId, AppointmentFilter filter) {
+    Pageable pageable = getPageable(filter);
+
+    List<AppointmentResponse> result =
+        getResponses(patientId, filter, pageable, pageable.getPageSize());
+
+    long total =
+        Boolean.TRUE.equals(filter.getCachedTotal())
+            ? countCache.get(
+                getCountKey(patientId, filter), () -> getRecordsCount(patientId, filter))
+            : getRecordsCount(patientId, filter);
+
+    return new PageImpl<>(result, pageable, total);
+  }
+
+  @Override
+  public Slice<AppointmentResponse> findResponseSliceWithFilters(
+      Long patientId, AppointmentFilter filter) {
+    Pageable pageable = getPageable(filter, PageSize.of(filter.getPageSize()));
+
+    List<AppointmentResponse> result =
+        getResponses(patientId, filter, pageable, pageable.getPageSize() + 1);
+
+    return SliceSupport.toSlice(result, pageable);
+  }
+
+  private List<AppointmentResponse> getResponses(
+      Long patientId, AppointmentFilter filter, Pageable pageable, int maxResults) {
+    return entityManager
+        .createQuery(getResponseQuery(patientId, filter))
+        .setFirstResult((int) pageable.getOffset())
+        .setMaxResults(maxResults)
+        .getResultList()
+        .stream()
+        .map(this::toResponse)
+        .toList();
+  }
+
+  @Override
+  public Stream<AppointmentResponse> streamResponses(Long patientId, AppointmentFilter filter) {
+    // A stateless session keeps no first-level cache, so memory does not grow with the rows read
+    StatelessSession session =
+        entityManager
+            .getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .openStatelessSession();
+
+    try {
+      Transaction transaction = session.beginTransaction();
+      ScrollableResults<Tuple> rows =
+          session
+              .createSelectionQuery(getResponseQuery(patientId, filter))
+              .setFetchSize(EXPORT_FETCH_SIZE)
+              .scroll(ScrollMode.FORWARD_ONLY);
+
+      Spliterator<AppointmentResponse> spliterator =
+          new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            @Override
+            public boolean tryAdvance(Consumer<? super AppointmentResponse> action) {
+              if (!rows.next()) {
+                return false;
+              }
+              action.accept(toResponse(rows.get()));
+              return true;
+            }
+          };
+
+      return StreamSupport.stream(spliterator, false)
+          .onClose(
+              () -> {
+                try {
+                  rows.close();
+                  transaction.commit();
+                } finally {
+                  session.close();
+                }
+              });
+    } catch (RuntimeException e) {
+      session.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Selects only the columns of the response, with the patient, doctor and speciality joined in
+   * the same statement. The rows are plain values, so nothing is loaded into or tracked by the
+   * persistence context.
+   */
+  private CriteriaQuery<Tuple> getResponseQuery(Long patientId, AppointmentFilter filter) {
+    CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
     Root<Appointment> root = query.from(Appointment.class);
+    selectResponse(query, root);
 
-    // Get predicate for the main query
     query.where(getPredicate(patientId, filter, root));
+    query.orderBy(criteriaBuilder.desc(root.get("createdAt")));
 
-    Pageable pageable = getPageable(filter);
+    return query;
+  }
 
-    // Add ordering if needed
-    query.orderBy(criteriaBuilder.desc(root.get("createdAt")));
+  @Override
+  public List<AppointmentResponse> findDoctorSchedule(
+      Long doctorId, LocalDateTime from, LocalDateTime to) {
+    CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+    Root<Appointment> root = query.from(Appointment.class);
+    selectResponse(query, root);
 
-    // Get the result list
+    // doctor_id equality plus a start_time range, both served by idx_appointment_6 in order
+    query.where(
+        criteriaBuilder.equal(root.get("doctor").get("id"), doctorId),
+        criteriaBuilder.greaterThanOrEqualTo(root.get("startTime"), from),
+        criteriaBuilder.lessThan(root.get("startTime"), to));
+    query.orderBy(criteriaBuilder.asc(root.get("startTime")), criteriaBuilder.asc(root.get("id")));
+
+    return entityManager.createQuery(query).getResultList().stream()
+        .map(this::toResponse)
+        .toList();
+  }
+
+  private void selectResponse(CriteriaQuery<Tuple> query, Root<Appointment> root) {
+    Join<Appointment, Patient> patient = root.join("patient", JoinType.LEFT);
+    Join<Appointment, Doctor> doctor = root.join("doctor", JoinType.LEFT);
+    Join<Doctor, Speciality> speciality = doctor.join("speciality", JoinType.LEFT);
+
+    query.multiselect(
+        root.get("id"),
+        root.get("startTime"),
+        root.get("endTime"),
+        root.get("duration"),
+        root.get("title"),
+        root.get("description"),
+        root.get("type"),
+        root.get("status"),
+        root.get("cancellationTime"),
+        root.get("cancellationReason"),
+        patient.get("id"),
+        patient.get("firstName"),
+        patient.get("lastName"),
+        patient.get("email"),
+        doctor.get("id"),
+        doctor.get("firstName"),
+        doctor.get("lastName"),
+        doctor.get("title"),
+        speciality.get("description"));
+  }
+
+  private AppointmentResponse toResponse(Tuple tuple) {
+    PatientAppointment patient =
+        tuple.get(10) == null
+            ? null
+            : new PatientAppointment(
+                tuple.get(10, Long.class),
+                tuple.get(11, String.class),
+                tuple.get(12, String.class),
+                tuple.get(13, String.class));
+
+    DoctorAppointment doctor =
+        tuple.get(14) == null
+            ? null
+            : new DoctorAppointment(
+                tuple.get(14, Long.class),
+                tuple.get(15, String.class),
+                tuple.get(16, String.class),
+                tuple.get(17, String.class),
+                tuple.get(18, String.class));
+
+    return AppointmentResponse.builder()
+        .id(tuple.get(0, Long.class))
+        .startTime(tuple.get(1, LocalDateTime.class))
+        .endTime(tuple.get(2, LocalDateTime.class))
+        .duration(tuple.get(3, Integer.class))
+        .title(tuple.get(4, String.class))
+        .description(tuple.get(5, String.class))
+        .type(tuple.get(6, AppointmentType.class))
+        .status(tuple.get(7, AppointmentStatus.class))
+        .cancellationTime(tuple.get(8, LocalDateTime.class))
+        .cancellationReason(tuple.get(9, String.class))
+        .patient(patient)
+        .doctor(doctor)
+        .build();
+  }
+
+  @Override
+  public CursorPage<Appointment> findAllWithCursor(Long patientId, AppointmentFilter filter) {
+    int pageSize = PageSize.of(filter.getPageSize());
+
+    CriteriaQuery<Appointment> query = criteriaBuilder.createQuery(Appointment.class);
+    Root<Appointment> root = query.from(Appointment.class);
+
+    Predicate predicate = getPredicate(patientId, filter, root);
+
+    // Seek straight to the position after the cursor instead of skipping rows with an offset
+    PmsCursor cursor = PmsCursor.decode(filter.getAfter());
+    if (cursor != null) {
+      predicate = criteriaBuilder.and(predicate, getSeekPredicate(cursor, root));
+    }
+
+    query.where(predicate);
+
+    // The id breaks ties between appointments created at the same instant
+    query.orderBy(
+        criteriaBuilder.desc(root.get("createdAt")), criteriaBuilder.desc(root.get("id")));
+
+    // One extra row tells whether there is a next page without counting
     List<Appointment> result =
         entityManager
             .createQuery(query)
-            .setFirstResult((int) pageable.getOffset())
-            .setMaxResults(pageable.getPageSize())
+            .setHint(
+                SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(Appointment.DETAILS))
+            .setMaxResults(pageSize + 1)
             .getResultList();
 
-    // Get total count using the filter criteria
-    long total = getRecordsCount(patientId, filter);
+    boolean hasNext = result.size() > pageSize;
+    List<Appointment> content = hasNext ? result.subList(0, pageSize) : result;
 
-    return new PageImpl<>(result, pageable, total);
+    String nextCursor = null;
+    if (hasNext) {
+      Appointment last = content.getLast();
+      nextCursor = new PmsCursor(last.getCreatedAt(), last.getId()).encode();
+    }
+
+    return new CursorPage<>(List.copyOf(content), pageSize, hasNext, nextCursor);
+  }
+
+  private Predicate getSeekPredicate(PmsCursor cursor, Root<Appointment> root) {
+    // (createdAt, id) < (cursor.createdAt, cursor.id); the leading bound keeps it an index range
+    return criteriaBuilder.and(
+        criteriaBuilder.lessThanOrEqualTo(root.get("createdAt"), cursor.getCreatedAt()),
+        criteriaBuilder.or(
+            criteriaBuilder.lessThan(root.get("createdAt"), cursor.getCreatedAt()),
+            criteriaBuilder.and(
+                criteriaBuilder.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                criteriaBuilder.lessThan(root.get("id"), cursor.getId()))));
   }
 
-  private Predicate getPredicate(
+  Predicate getPredicate(
       Long patientId, AppointmentFilter criteria, Root<Appointment> root) {
     List<Predicate> predicates = new ArrayList<>();
 
@@ -79,8 +322,21 @@ public class AppointmentRepositoryImpl implements AppointmentRepositoryCustom {
   }
 
   private Pageable getPageable(AppointmentFilter page) {
+    return getPageable(page, page.getPageSize());
+  }
+
+  private Pageable getPageable(AppointmentFilter page, int pageSize) {
     Sort sort = Sort.by(page.getSortDirection(), page.getSortBy());
-    return PageRequest.of(page.getPageNumber(), page.getPageSize(), sort);
+    return PageRequest.of(page.getPageNumber(), pageSize, sort);
+  }
+
+  private Object getCountKey(Long patientId, AppointmentFilter criteria) {
+    return Arrays.asList(
+        patientId,
+        criteria.getStartDate(),
+        criteria.getEndDate(),
+        criteria.getDoctorId(),
+        criteria.getStatus());
   }
 
   private long getRecordsCount(Long patientId, AppointmentFilter criteria) {
@@ -95,6 +351,8 @@ public class AppointmentRepositoryImpl implements AppointmentRepositoryCustom {
       countQuery.where(countPredicate);
     }
 
-    return entityManager.createQuery(countQuery).getSingleResult();
+    return OperationMetrics.timeUnchecked(
+        "AppointmentRepositoryImpl.count",
+        () -> entityManager.createQuery(countQuery).getSingleResult());
   }
 }
@@ -0,0 +1,255 @@
+package com.jts.pmanagement.domains.appointment.service;
+
+import com.jts.pmanagement.common.exception.ConflictException;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentStatus;
+import com.jts.pmanagement.domains.appointment.dto.BookedSlot;
+import com.jts.pmanagement.domains.appointment.model.Appointment;
+import com.jts.pmanagement.domains.appointment.repository.AppointmentRepository;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory agenda of every doctor and patient, used to reject double bookings without going to
+ * the database. Only appointments that are not CANCELLED occupy their interval.
+ *
+ * <p>The index only sees the writes made through this instance, so a booking it accepts is still
+ * confirmed against the {@code appointment} table before it is saved.
+ *
+ * <p>Only appointments that have not ended are kept: the load skips the past ones and those that
+ * end afterwards are evicted every {@code pms.schedule-index.eviction-interval}, so the heap grows
+ * with the upcoming agenda rather than with the history. An agenda left empty is dropped.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AppointmentScheduleIndex {
+
+  private final AppointmentRepository appointmentRepository;
+
+  private final Map<Long, IntervalIndex> doctors = new ConcurrentHashMap<>();
+  private final Map<Long, IntervalIndex> patients = new ConcurrentHashMap<>();
+  private final Map<Long, BookedSlot> slots = new ConcurrentHashMap<>();
+
+  @PostConstruct
+  public void load() {
+    doctors.clear();
+    patients.clear();
+    slots.clear();
+
+    var booked = appointmentRepository.findBookedSlotsEndingAfter(LocalDateTime.now());
+    booked.forEach(this::add);
+    log.info("Schedule index loaded with {} upcoming appointments", booked.size());
+  }
+
+  @Scheduled(
+      fixedDelayString = "${pms.schedule-index.eviction-interval:PT1H}",
+      initialDelayString = "${pms.schedule-index.eviction-interval:PT1H}")
+  public void evictEnded() {
+    int evicted = evictEndedBefore(LocalDateTime.now());
+    log.debug("Evicted {} ended appointments from the schedule index", evicted);
+  }
+
+  /** Drops the appointments that ended at or before the given time. */
+  int evictEndedBefore(LocalDateTime time) {
+    int evicted = 0;
+    for (BookedSlot slot : slots.values()) {
+      if (!slot.getEndTime().isAfter(time)) {
+        unregister(slot.getId());
+        evicted++;
+      }
+    }
+    return evicted;
+  }
+
+  /**
+   * Throws {@link ConflictException} when the doctor or the patient of the appointment already
+   * has another appointment overlapping its interval.
+   */
+  public void checkAvailability(Appointment appointment) {
+    Long id = appointment.getId();
+    Long doctorId = appointment.getDoctor().getId();
+    Long patientId = appointment.getPatient().getId();
+    LocalDateTime start = appointment.getStartTime();
+    LocalDateTime end = appointment.getEndTime();
+
+    if (hasOverlap(doctors, doctorId, start, end, id)) {
+      throw doctorConflict(doctorId, start, end);
+    }
+
+    if (hasOverlap(patients, patientId, start, end, id)) {
+      throw patientConflict(patientId, start, end);
+    }
+
+    // Fallback for bookings made by other instances, served by the doctor and patient indexes
+    if (appointmentRepository.existsDoctorOverlap(doctorId, start, end, id)) {
+      throw doctorConflict(doctorId, start, end);
+    }
+
+    if (appointmentRepository.existsPatientOverlap(patientId, start, end, id)) {
+      throw patientConflict(patientId, start, end);
+    }
+  }
+
+  /**
+   * Checks a batch of new appointments against the booked ones and against each other, with two
+   * queries whatever the size of the batch. The returned list holds, for each appointment, its
+   * conflict or {@code null} when its interval is free.
+   */
+  public List<ConflictException> checkAvailability(List<Appointment> appointments) {
+    if (appointments.isEmpty()) {
+      return List.of();
+    }
+
+    Set<Long> doctorIds = new HashSet<>();
+    Set<Long> patientIds = new HashSet<>();
+    LocalDateTime from = LocalDateTime.MAX;
+    LocalDateTime to = LocalDateTime.MIN;
+    for (Appointment appointment : appointments) {
+      doctorIds.add(appointment.getDoctor().getId());
+      patientIds.add(appointment.getPatient().getId());
+      from = appointment.getStartTime().isBefore(from) ? appointment.getStartTime() : from;
+      to = appointment.getEndTime().isAfter(to) ? appointment.getEndTime() : to;
+    }
+
+    Map<Long, IntervalIndex> batchDoctors = new HashMap<>();
+    Map<Long, IntervalIndex> batchPatients = new HashMap<>();
+    appointmentRepository
+        .findBookedSlotsByDoctorIds(doctorIds, from, to)
+        .forEach(slot -> agendaOf(batchDoctors, slot.getDoctorId()).add(slot));
+    appointmentRepository
+        .findBookedSlotsByPatientIds(patientIds, from, to)
+        .forEach(slot -> agendaOf(batchPatients, slot.getPatientId()).add(slot));
+
+    List<ConflictException> conflicts = new ArrayList<>(appointments.size());
+    for (Appointment appointment : appointments) {
+      Long doctorId = appointment.getDoctor().getId();
+      Long patientId = appointment.getPatient().getId();
+      LocalDateTime start = appointment.getStartTime();
+      LocalDateTime end = appointment.getEndTime();
+
+      if (hasOverlap(batchDoctors, doctorId, start, end, null)) {
+        conflicts.add(doctorConflict(doctorId, start, end));
+      } else if (hasOverlap(batchPatients, patientId, start, end, null)) {
+        conflicts.add(patientConflict(patientId, start, end));
+      } else {
+        // Later appointments of the same batch must not overlap this one either
+        var slot = new BookedSlot(null, doctorId, patientId, start, end);
+        agendaOf(batchDoctors, doctorId).add(slot);
+        agendaOf(batchPatients, patientId).add(slot);
+        conflicts.add(null);
+      }
+    }
+
+    return conflicts;
+  }
+
+  /** Records the current state of the appointment, replacing the interval it had before. */
+  public void register(Appointment appointment) {
+    unregister(appointment.getId());
+
+    if (AppointmentStatus.CANCELLED.equals(appointment.getStatus())) {
+      return;
+    }
+
+    add(
+        new BookedSlot(
+            appointment.getId(),
+            appointment.getDoctor().getId(),
+            appointment.getPatient().getId(),
+            appointment.getStartTime(),
+            appointment.getEndTime()));
+  }
+
+  public void unregister(Long appointmentId) {
+    if (appointmentId == null) {
+      return;
+    }
+
+    BookedSlot slot = slots.remove(appointmentId);
+    if (slot != null) {
+      remove(doctors, slot.getDoctorId(), slot);
+      remove(patients, slot.getPatientId(), slot);
+    }
+  }
+
+  /** Drops every appointment of a patient, used when the patient and its agenda are deleted. */
+  public void unregisterPatient(Long patientId) {
+    IntervalIndex agenda = patients.remove(patientId);
+    if (agenda != null) {
+      agenda.getSlots().forEach(slot -> unregister(slot.getId()));
+    }
+  }
+
+  private void add(BookedSlot slot) {
+    slots.put(slot.getId(), slot);
+    add(doctors, slot.getDoctorId(), slot);
+    add(patients, slot.getPatientId(), slot);
+  }
+
+  // Inside compute, so an agenda is never dropped for being empty while a slot is added to it
+  private static void add(Map<Long, IntervalIndex> agendas, Long ownerId, BookedSlot slot) {
+    agendas.compute(
+        ownerId,
+        (id, agenda) -> {
+          var updated = agenda == null ? new IntervalIndex() : agenda;
+          updated.add(slot);
+          return updated;
+        });
+  }
+
+  private static void remove(Map<Long, IntervalIndex> agendas, Long ownerId, BookedSlot slot) {
+    agendas.computeIfPresent(
+        ownerId,
+        (id, agenda) -> {
+          agenda.remove(slot);
+          return agenda.isEmpty() ? null : agenda;
+        });
+  }
+
+  boolean hasDoctorAgenda(Long doctorId) {
+    return doctors.containsKey(doctorId);
+  }
+
+  boolean hasPatientAgenda(Long patientId) {
+    return patients.containsKey(patientId);
+  }
+
+  private boolean hasOverlap(
+      Map<Long, IntervalIndex> agendas,
+      Long ownerId,
+      LocalDateTime start,
+      LocalDateTime end,
+      Long excludedId) {
+    IntervalIndex agenda = agendas.get(ownerId);
+    return agenda != null && agenda.findOverlap(start, end, excludedId).isPresent();
+  }
+
+  private IntervalIndex agendaOf(Map<Long, IntervalIndex> agendas, Long ownerId) {
+    return agendas.computeIfAbsent(ownerId, id -> new IntervalIndex());
+  }
+
+  private ConflictException doctorConflict(
+      Long doctorId, LocalDateTime start, LocalDateTime end) {
+    return new ConflictException(
+        "Doctor with Id %s already has an appointment overlapping the period from %s to %s"
+            .formatted(doctorId, start, end));
+  }
+
+  private ConflictException patientConflict(
+      Long patientId, LocalDateTime start, LocalDateTime end) {
+    return new ConflictException(
+        "Patient with Id %s already has an appointment overlapping the period from %s to %s"
+            .formatted(patientId, start, end));
+  }
+}
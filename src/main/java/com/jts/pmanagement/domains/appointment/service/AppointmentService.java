@@ -1,86 +1,248 @@
 package com.jts.pmanagement.domains.appointment.service;
 
+import com.jts.pmanagement.common.exception.BadRequestException;
+import com.jts.pmanagement.common.exception.ConflictException;
+import com.jts.pmanagement.common.exception.NotFoundException;
+import com.jts.pmanagement.common.filter.CursorPage;
+import com.jts.pmanagement.common.metrics.Monitored;
+import com.jts.pmanagement.common.repository.AfterCommit;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentFilter;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentRequest;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentResponse;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentStatus;
+import com.jts.pmanagement.domains.appointment.dto.BulkAppointmentResult;
 import com.jts.pmanagement.domains.appointment.dto.CancelAppointmentRequest;
+import com.jts.pmanagement.domains.appointment.dto.DoctorScheduleFilter;
 import com.jts.pmanagement.domains.appointment.model.Appointment;
 import com.jts.pmanagement.domains.appointment.repository.AppointmentRepository;
+import com.jts.pmanagement.domains.doctor.dto.DoctorDetails;
 import com.jts.pmanagement.domains.doctor.service.DoctorService;
 import com.jts.pmanagement.domains.patient.service.PatientService;
-import com.jts.pmanagement.common.exception.ConflictException;
-import com.jts.pmanagement.common.exception.NotFoundException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Queries run in read-only transactions and each write in a single transaction, with its
+ * validations. The schedule index is updated once the write has committed.
+ *
+ * <p>A booking locks the rows of its doctor and patient before checking their agendas, so two
+ * bookings of the same doctor or patient cannot both find the slot free; the second one waits for
+ * the first to commit and then sees its appointment. Doctors are locked before patients, each in
+ * id order, so bookings never wait on each other in a cycle.
+ */
 @Service
+@Monitored
 @Slf4j
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class AppointmentService {
 
+  static final int MAX_SCHEDULE_DAYS = 31;
+  private static final int DEFAULT_SCHEDULE_DAYS = 6;
+
   private final DoctorService doctorService;
   private final PatientService patientService;
   private final AppointmentRepository appointmentRepository;
+  private final AppointmentScheduleIndex scheduleIndex;
 
+  /** Loads the appointment with its patient and doctor, as the responses show them. */
   public Appointment findByIdEnriched(Long patientId, Long id) {
-    return findById(id, patientId);
+    return appointmentRepository
+        .findWithDetailsByIdAndPatientId(id, patientId)
+        .orElseThrow(() -> notFound(id));
   }
 
+  /** Loads the appointment row alone, leaving its patient and doctor unfetched. */
   public Appointment findById(Long id, Long patientId) {
     return appointmentRepository
         .findByIdAndPatientId(id, patientId)
-        .orElseThrow(
-            () -> new NotFoundException("Appointment with Id %s was not found".formatted(id)));
+        .orElseThrow(() -> notFound(id));
+  }
+
+  public Page<AppointmentResponse> findAllByPatientId(Long patientId, AppointmentFilter filter) {
+    return appointmentRepository.findResponsesWithFilters(patientId, filter);
+  }
+
+  public Slice<AppointmentResponse> findSliceByPatientId(
+      Long patientId, AppointmentFilter filter) {
+    return appointmentRepository.findResponseSliceWithFilters(patientId, filter);
+  }
+
+  /** Throws {@link NotFoundException} when the patient does not exist. */
+  public void checkPatientExists(Long patientId) {
+    patientService.findById(patientId);
+  }
+
+  /**
+   * Returns all appointments of the patient matching the filter, read lazily from the database.
+   * The stream holds a session and a connection until it is closed, so it is opened where it is
+   * consumed and closed there; the patient is checked beforehand with {@link
+   * #checkPatientExists(Long)}.
+   */
+  public Stream<AppointmentResponse> streamByPatientId(Long patientId, AppointmentFilter filter) {
+    return appointmentRepository.streamResponses(patientId, filter);
   }
 
-  public Page<Appointment> findAllByPatientId(Long patientId, AppointmentFilter filter) {
-    return appointmentRepository.findAllWithFilters(patientId, filter);
+  /**
+   * Checks that the doctor exists and returns its appointments starting between the first and
+   * last informed days, ordered by start time.
+   */
+  public List<AppointmentResponse> findDoctorSchedule(Long doctorId, DoctorScheduleFilter filter) {
+    var from = Objects.requireNonNullElseGet(filter.getFrom(), LocalDate::now);
+    var to =
+        Objects.requireNonNullElseGet(filter.getTo(), () -> from.plusDays(DEFAULT_SCHEDULE_DAYS));
+    if (to.isBefore(from)) {
+      throw new BadRequestException("The 'to' day must not be before the 'from' day");
+    }
+    if (ChronoUnit.DAYS.between(from, to) >= MAX_SCHEDULE_DAYS) {
+      throw new BadRequestException(
+          "The schedule range must not be longer than %s days".formatted(MAX_SCHEDULE_DAYS));
+    }
+
+    doctorService.findById(doctorId);
+    return appointmentRepository.findDoctorSchedule(
+        doctorId, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+  }
+
+  public CursorPage<Appointment> findAllByPatientIdWithCursor(
+      Long patientId, AppointmentFilter filter) {
+    return appointmentRepository.findAllWithCursor(patientId, filter);
   }
 
+  @Transactional
   public Appointment insert(Appointment appointment) {
     // Validate doctor and patient
     var doctor = doctorService.findById(appointment.getDoctor().getId());
     var patient = patientService.findById(appointment.getPatient().getId());
 
-    appointment.setDoctor(doctor);
+    appointment.setDoctor(doctorService.getReference(doctor.id()));
     appointment.setPatient(patient);
-    appointment.setCreatedAt(LocalDateTime.now());
-    appointment.setEndTime(appointment.getStartTime().plusHours(1));
-    appointment.setDuration(60);
-    appointment.setStatus(AppointmentStatus.SCHEDULED);
+    schedule(appointment);
+
+    lock(Set.of(doctor.id()), Set.of(patient.getId()));
+    scheduleIndex.checkAvailability(appointment);
     appointmentRepository.save(appointment);
+    AfterCommit.run(() -> scheduleIndex.register(appointment));
 
-    return appointment;
+    return withDoctor(appointment, doctor);
+  }
+
+  /**
+   * Books many appointments of any patient at once. Doctors and patients are validated with one
+   * query each and the accepted appointments are inserted in JDBC batches. An appointment that
+   * cannot be booked is reported in its result instead of failing the others.
+   */
+  @Transactional
+  public List<BulkAppointmentResult> insertAll(List<Appointment> appointments) {
+    var doctorIds =
+        doctorService.lockExistingIds(
+            appointments.stream().map(a -> a.getDoctor().getId()).collect(Collectors.toSet()));
+    var patientIds =
+        patientService.lockExistingIds(
+            appointments.stream().map(a -> a.getPatient().getId()).collect(Collectors.toSet()));
+
+    var results = new BulkAppointmentResult[appointments.size()];
+    var candidates = new ArrayList<Integer>(appointments.size());
+
+    for (int i = 0; i < appointments.size(); i++) {
+      var appointment = appointments.get(i);
+      var doctorId = appointment.getDoctor().getId();
+      var patientId = appointment.getPatient().getId();
+
+      if (!doctorIds.contains(doctorId)) {
+        results[i] =
+            BulkAppointmentResult.rejected(
+                i, patientId, "Doctor with Id %s was not found".formatted(doctorId));
+      } else if (!patientIds.contains(patientId)) {
+        results[i] =
+            BulkAppointmentResult.rejected(
+                i, patientId, "Patient with Id %s was not found".formatted(patientId));
+      } else {
+        appointment.setDoctor(doctorService.getReference(doctorId));
+        appointment.setPatient(patientService.getReference(patientId));
+        schedule(appointment);
+        candidates.add(i);
+      }
+    }
+
+    var conflicts =
+        scheduleIndex.checkAvailability(candidates.stream().map(appointments::get).toList());
+
+    var accepted = new ArrayList<Appointment>(candidates.size());
+    for (int c = 0; c < candidates.size(); c++) {
+      int i = candidates.get(c);
+      var appointment = appointments.get(i);
+      if (conflicts.get(c) != null) {
+        results[i] =
+            BulkAppointmentResult.rejected(
+                i, appointment.getPatient().getId(), conflicts.get(c).getMessage());
+      } else {
+        accepted.add(appointment);
+      }
+    }
+
+    appointmentRepository.saveAll(accepted);
+    AfterCommit.run(() -> accepted.forEach(scheduleIndex::register));
+
+    for (int i : candidates) {
+      if (results[i] == null) {
+        var appointment = appointments.get(i);
+        results[i] =
+            BulkAppointmentResult.created(
+                i, appointment.getPatient().getId(), appointment.getId());
+      }
+    }
+
+    log.info(
+        "Bulk booking finished. {} of {} appointments created",
+        accepted.size(),
+        appointments.size());
+    return List.of(results);
   }
 
+  @Transactional
   public Appointment update(Long id, Long patientId, AppointmentRequest request) {
-    // Validate doctor and patient
+    // Validate doctor, then patient and ownership with the appointment itself
     var doctor = doctorService.findById(request.getDoctorId());
-    patientService.findById(patientId);
-
-    var appointment = findById(id, patientId);
+    var appointment = findOwned(id, patientId);
 
     validateScheduledStatus(appointment, "updated");
 
-    appointment.setDoctor(doctor);
+    appointment.setDoctor(doctorService.getReference(doctor.id()));
     appointment.setTitle(request.getTitle());
     appointment.setDescription(request.getDescription());
     appointment.setStartTime(request.getStartTime());
     appointment.setEndTime(appointment.getStartTime().plusHours(1));
     appointment.setDuration(60);
+
+    lock(Set.of(doctor.id()), Set.of(patientId));
+    scheduleIndex.checkAvailability(appointment);
     appointmentRepository.save(appointment);
+    AfterCommit.run(() -> scheduleIndex.register(appointment));
 
-    return appointment;
+    return withDoctor(appointment, doctor);
   }
 
+  @Transactional
   public Appointment cancel(
       Long id, Long patientId, CancelAppointmentRequest cancelAppointmentRequest) {
     log.info("Cancelling appointment {} for patient {}...", id, patientId);
 
-    var appointment = findById(id, patientId);
+    // The cancelled appointment is returned with its patient and doctor
+    var appointment = findByIdEnriched(patientId, id);
 
     appointment.setCancellationReason(cancelAppointmentRequest.getReason());
     appointment.setCancellationTime(LocalDateTime.now());
@@ -88,9 +250,11 @@ public class AppointmentService {
     appointment.setStatus(AppointmentStatus.CANCELLED);
 
     appointmentRepository.save(appointment);
+    AfterCommit.run(() -> scheduleIndex.unregister(appointment.getId()));
     return appointment;
   }
 
+  @Transactional
   public void delete(Long patientId, Long id) {
     log.info("Deleting appointment {} for patient {}...", id, patientId);
 
@@ -100,6 +264,47 @@ public class AppointmentService {
 
     log.info("Appointment {} deleted successfully.", id);
     appointmentRepository.delete(appointment);
+    AfterCommit.run(() -> scheduleIndex.unregister(appointment.getId()));
+  }
+
+  /**
+   * Loads the appointment with its patient in one select, which proves both that the patient
+   * exists and that it owns the appointment. The patient is only looked up on its own to report
+   * which of the two is missing.
+   */
+  private Appointment findOwned(Long id, Long patientId) {
+    return appointmentRepository
+        .findWithPatientByIdAndPatientId(id, patientId)
+        .orElseThrow(
+            () -> {
+              patientService.findById(patientId);
+              return notFound(id);
+            });
+  }
+
+  /**
+   * Swaps the reference the appointment was saved with, which only carries the foreign key, for a
+   * detached copy of the cached doctor, so the response shows it without loading the row.
+   */
+  private static Appointment withDoctor(Appointment appointment, DoctorDetails doctor) {
+    appointment.setDoctor(doctor.toDoctor());
+    return appointment;
+  }
+
+  private void lock(Set<Long> doctorIds, Set<Long> patientIds) {
+    doctorService.lockExistingIds(doctorIds);
+    patientService.lockExistingIds(patientIds);
+  }
+
+  private void schedule(Appointment appointment) {
+    appointment.setCreatedAt(LocalDateTime.now());
+    appointment.setEndTime(appointment.getStartTime().plusHours(1));
+    appointment.setDuration(60);
+    appointment.setStatus(AppointmentStatus.SCHEDULED);
+  }
+
+  private static NotFoundException notFound(Long id) {
+    return new NotFoundException("Appointment with Id %s was not found".formatted(id));
   }
 
   private void validateScheduledStatus(Appointment appointment, String action) {
@@ -0,0 +1,58 @@
+package com.jts.pmanagement.domains.appointment.service;
+
+import com.jts.pmanagement.domains.appointment.dto.BookedSlot;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Booked intervals of a single doctor or patient, ordered by start time.
+ *
+ * <p>Besides the ordering the index keeps the longest interval it has seen. An interval can only
+ * overlap {@code [start, end)} if it starts after {@code start - longest} and before {@code end},
+ * so an overlap lookup visits that range only instead of the whole agenda.
+ */
+class IntervalIndex {
+
+  private static final Comparator<BookedSlot> BY_START =
+      Comparator.comparing(BookedSlot::getStartTime)
+          .thenComparing(BookedSlot::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+  private final NavigableSet<BookedSlot> slots = new TreeSet<>(BY_START);
+  private Duration longest = Duration.ZERO;
+
+  synchronized void add(BookedSlot slot) {
+    slots.add(slot);
+    Duration length = Duration.between(slot.getStartTime(), slot.getEndTime());
+    if (length.compareTo(longest) > 0) {
+      longest = length;
+    }
+  }
+
+  synchronized void remove(BookedSlot slot) {
+    slots.remove(slot);
+  }
+
+  synchronized Optional<BookedSlot> findOverlap(
+      LocalDateTime start, LocalDateTime end, Long excludedId) {
+    BookedSlot from = new BookedSlot(null, null, null, start.minus(longest), null);
+    BookedSlot to = new BookedSlot(null, null, null, end, null);
+
+    return slots.subSet(from, false, to, false).stream()
+        .filter(slot -> slot.getEndTime().isAfter(start))
+        .filter(slot -> excludedId == null || !excludedId.equals(slot.getId()))
+        .findFirst();
+  }
+
+  synchronized List<BookedSlot> getSlots() {
+    return List.copyOf(slots);
+  }
+
+  synchronized boolean isEmpty() {
+    return slots.isEmpty();
+  }
+}
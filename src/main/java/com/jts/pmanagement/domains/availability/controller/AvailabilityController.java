@@ -0,0 +1,106 @@
+package com.jts.pmanagement.domains.availability.controller;
+
+import static com.jts.pmanagement.domains.availability.controller.constants.AvailabilityConstants.AVAILABILITY_EXAMPLE_ERROR_400_BAD_REQUEST;
+import static com.jts.pmanagement.domains.availability.controller.constants.AvailabilityConstants.EXAMPLE_ERROR_500_INTERNAL_SERVER_ERROR;
+import static com.jts.pmanagement.domains.availability.controller.constants.AvailabilityConstants.SPECIALITY_EXAMPLE_ERROR_404_NOT_FOUND;
+
+import com.jts.pmanagement.common.controller.PmsController;
+import com.jts.pmanagement.domains.availability.dto.AvailabilityFilter;
+import com.jts.pmanagement.domains.availability.dto.AvailableSlot;
+import com.jts.pmanagement.domains.availability.service.AvailabilityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/v1/availability")
+@AllArgsConstructor
+@Slf4j
+public class AvailabilityController implements PmsController {
+
+  private final AvailabilityService service;
+
+  @Operation(
+      summary = "Search free slots of a speciality",
+      security = @SecurityRequirement(name = AUTHORIZATION),
+      description =
+          "This endpoint is responsible to retrieve the earliest free 60-minute slots across every doctor of a speciality, within the working hours of the informed days")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_OK,
+            description = "Return the free slots, earliest first",
+            content = {
+              @Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  array = @ArraySchema(schema = @Schema(implementation = AvailableSlot.class)))
+            }),
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_UNAUTHORIZED,
+            description = "Unauthorized",
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema())}),
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_BAD_REQUEST,
+            description = "Availability search is invalid",
+            content = {
+              @Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  examples = {
+                    @ExampleObject(
+                        name = EXAMPLE_BAD_REQUEST_NAME,
+                        description =
+                            "A bad request response example when trying to search free slots",
+                        value = AVAILABILITY_EXAMPLE_ERROR_400_BAD_REQUEST)
+                  })
+            }),
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_NOT_FOUND,
+            description = "Speciality not found",
+            content = {
+              @Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  examples = {
+                    @ExampleObject(
+                        name = EXAMPLE_NOT_FOUND_NAME,
+                        description =
+                            "A not found response example when trying to search free slots of a speciality does not exist",
+                        value = SPECIALITY_EXAMPLE_ERROR_404_NOT_FOUND)
+                  })
+            }),
+        @ApiResponse(
+            responseCode = HTTP_STATUS_CODE_INTERNAL_SERVER_ERROR,
+            description = "An unexpected error occurred during search the free slots",
+            content = {
+              @Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  examples = {
+                    @ExampleObject(
+                        name = EXAMPLE_INTERNAL_SERVER_ERROR_NAME,
+                        description =
+                            "A internal server error response example when trying to search free slots",
+                        value = EXAMPLE_ERROR_500_INTERNAL_SERVER_ERROR)
+                  })
+            })
+      })
+  @GetMapping
+  public List<AvailableSlot> search(AvailabilityFilter filter) {
+    log.info("Request for search free slots. filter:{}", filter);
+
+    var slots = service.findAvailableSlots(filter);
+    log.info("Found [{}] free slots", slots.size());
+
+    return slots;
+  }
+}
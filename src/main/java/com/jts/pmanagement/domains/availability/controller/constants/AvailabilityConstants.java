@@ -0,0 +1,31 @@
+package com.jts.pmanagement.domains.availability.controller.constants;
+
+public class AvailabilityConstants {
+    public static final String SPECIALITY_EXAMPLE_ERROR_404_NOT_FOUND = """
+            {
+                "code": 404,
+                "status": "Not Found",
+                "description": "Speciality with Id 10 was not found",
+                "date": "2022-10-28T21:39:54.603263862"
+            }
+            """;
+
+
+    public static final String EXAMPLE_ERROR_500_INTERNAL_SERVER_ERROR = """
+            {
+                "code": 500,
+                "status": "Internal Server Error",
+                "description": "An error occurred while processing your request",
+                "date": "2022-10-28T21:39:54.603263862"
+            }
+            """;
+
+    public static final String AVAILABILITY_EXAMPLE_ERROR_400_BAD_REQUEST = """
+            {
+                 "code": 400,
+                 "status": "Bad Request",
+                 "description": "The search range must not be longer than 62 days",
+                 "date": "2022-11-25T20:14:04.078313400"
+            }
+            """;
+}
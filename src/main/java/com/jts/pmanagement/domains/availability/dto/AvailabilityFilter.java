@@ -0,0 +1,32 @@
+package com.jts.pmanagement.domains.availability.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class AvailabilityFilter {
+  @Schema(
+      description = "Id of the speciality whose doctors are searched",
+      name = "speciality",
+      requiredMode = Schema.RequiredMode.REQUIRED,
+      example = "3")
+  private Long speciality;
+
+  @Schema(
+      description = "First day of the search. Defaults to today",
+      name = "from",
+      example = "2026-01-20")
+  private LocalDate from;
+
+  @Schema(
+      description = "Last day of the search, inclusive. Defaults to two weeks after 'from'",
+      name = "to",
+      example = "2026-02-02")
+  private LocalDate to;
+
+  @Schema(description = "Maximum number of slots returned", name = "limit", example = "10")
+  private Integer limit = 10;
+}
@@ -0,0 +1,21 @@
+package com.jts.pmanagement.domains.availability.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AvailableSlot {
+  @Schema(description = "Id of the doctor available in the slot", example = "1")
+  private Long doctorId;
+
+  @Schema(description = "Start of the slot", example = "2026-01-20T08:00:00")
+  private LocalDateTime startTime;
+
+  @Schema(description = "End of the slot", example = "2026-01-20T09:00:00")
+  private LocalDateTime endTime;
+}
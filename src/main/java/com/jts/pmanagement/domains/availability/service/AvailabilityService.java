@@ -0,0 +1,153 @@
+package com.jts.pmanagement.domains.availability.service;
+
+import com.jts.pmanagement.common.exception.BadRequestException;
+import com.jts.pmanagement.common.exception.NotFoundException;
+import com.jts.pmanagement.common.metrics.Monitored;
+import com.jts.pmanagement.domains.appointment.dto.BookedSlot;
+import com.jts.pmanagement.domains.appointment.repository.AppointmentRepository;
+import com.jts.pmanagement.domains.availability.dto.AvailabilityFilter;
+import com.jts.pmanagement.domains.availability.dto.AvailableSlot;
+import com.jts.pmanagement.domains.doctor.repository.DoctorRepository;
+import com.jts.pmanagement.domains.doctor.service.SpecialityCatalogue;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Finds the earliest free slots across the doctors of a speciality.
+ *
+ * <p>The busy intervals of every doctor are read with a single query and folded into one {@link
+ * WorkingDay} bitmap per doctor and day, so the search costs one pass over the appointments plus a
+ * few bitwise operations per doctor and day.
+ */
+@Service
+@Monitored
+@Slf4j
+@RequiredArgsConstructor
+public class AvailabilityService {
+
+  static final int MAX_RANGE_DAYS = 62;
+  static final int MAX_LIMIT = 100;
+  private static final int DEFAULT_RANGE_DAYS = 13;
+
+  private final SpecialityCatalogue specialityCatalogue;
+  private final DoctorRepository doctorRepository;
+  private final AppointmentRepository appointmentRepository;
+
+  public List<AvailableSlot> findAvailableSlots(AvailabilityFilter filter) {
+    var specialityId = filter.getSpeciality();
+    if (Objects.isNull(specialityId)) {
+      throw new BadRequestException("The speciality must be informed");
+    }
+
+    var from = Objects.requireNonNullElseGet(filter.getFrom(), LocalDate::now);
+    var to = Objects.requireNonNullElseGet(filter.getTo(), () -> from.plusDays(DEFAULT_RANGE_DAYS));
+    var limit = Objects.requireNonNullElse(filter.getLimit(), 10);
+    validate(from, to, limit);
+
+    if (!specialityCatalogue.exists(specialityId)) {
+      throw new NotFoundException("Speciality with Id %s was not found".formatted(specialityId));
+    }
+
+    List<Long> doctorIds = doctorRepository.findIdsBySpecialityId(specialityId);
+    if (doctorIds.isEmpty()) {
+      return List.of();
+    }
+
+    var booked =
+        appointmentRepository.findBookedSlotsByDoctorIds(
+            doctorIds, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    log.info(
+        "Searching free slots of {} doctors from {} to {} among {} booked appointments",
+        doctorIds.size(),
+        from,
+        to,
+        booked.size());
+
+    return collectSlots(doctorIds, busyBitmaps(booked), from, to, limit);
+  }
+
+  private void validate(LocalDate from, LocalDate to, int limit) {
+    if (to.isBefore(from)) {
+      throw new BadRequestException("The 'to' date must not be before the 'from' date");
+    }
+
+    if (from.plusDays(MAX_RANGE_DAYS).isBefore(to)) {
+      throw new BadRequestException(
+          "The search range must not be longer than %s days".formatted(MAX_RANGE_DAYS));
+    }
+
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new BadRequestException(
+          "The limit must be between 1 and %s".formatted(MAX_LIMIT));
+    }
+  }
+
+  /** Busy bitmap of every doctor and day touched by at least one appointment. */
+  private Map<Long, Map<LocalDate, Long>> busyBitmaps(List<BookedSlot> booked) {
+    Map<Long, Map<LocalDate, Long>> busy = new HashMap<>();
+
+    for (BookedSlot slot : booked) {
+      var days = busy.computeIfAbsent(slot.getDoctorId(), id -> new HashMap<>());
+      var last = slot.getEndTime().toLocalDate();
+      for (var day = slot.getStartTime().toLocalDate(); !day.isAfter(last); day = day.plusDays(1)) {
+        long mask = WorkingDay.busyMask(day, slot.getStartTime(), slot.getEndTime());
+        if (mask != 0) {
+          days.merge(day, mask, (a, b) -> a | b);
+        }
+      }
+    }
+
+    return busy;
+  }
+
+  private List<AvailableSlot> collectSlots(
+      List<Long> doctorIds,
+      Map<Long, Map<LocalDate, Long>> busy,
+      LocalDate from,
+      LocalDate to,
+      int limit) {
+    var now = LocalDateTime.now();
+    var slots = new ArrayList<AvailableSlot>(limit);
+    var starts = new long[doctorIds.size()];
+
+    for (var day = from; !day.isAfter(to) && slots.size() < limit; day = day.plusDays(1)) {
+      long open = WorkingDay.notBefore(day, now);
+      long any = 0;
+
+      for (int i = 0; i < starts.length; i++) {
+        long busyMask = busy.getOrDefault(doctorIds.get(i), Map.of()).getOrDefault(day, 0L);
+        starts[i] = WorkingDay.freeStarts(busyMask) & open;
+        any |= starts[i];
+      }
+
+      // Walk the quarters in order, never offering overlapping slots of the same doctor
+      while (any != 0 && slots.size() < limit) {
+        int quarter = Long.numberOfTrailingZeros(any);
+        long bit = 1L << quarter;
+        any &= ~bit;
+
+        for (int i = 0; i < starts.length && slots.size() < limit; i++) {
+          if ((starts[i] & bit) != 0) {
+            var start = WorkingDay.startOf(day, quarter);
+            slots.add(
+                new AvailableSlot(
+                    doctorIds.get(i),
+                    start,
+                    start.plusMinutes(WorkingDay.SLOT_QUARTERS * WorkingDay.QUARTER_MINUTES)));
+            starts[i] &= ~(WorkingDay.SLOT_MASK << quarter);
+          }
+        }
+      }
+    }
+
+    return slots;
+  }
+}
@@ -0,0 +1,72 @@
+package com.jts.pmanagement.domains.availability.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Bitmap representation of a working day. The day from {@link #OPENING} to {@link #CLOSING} is
+ * split in quarters of an hour and bit {@code i} of a {@code long} stands for the quarter starting
+ * {@code 15 * i} minutes after the opening, which lets a whole agenda be merged with a few bitwise
+ * operations.
+ */
+final class WorkingDay {
+
+  static final LocalTime OPENING = LocalTime.of(8, 0);
+  static final LocalTime CLOSING = LocalTime.of(18, 0);
+  static final int QUARTER_MINUTES = 15;
+  static final int QUARTERS =
+      (int) Duration.between(OPENING, CLOSING).toMinutes() / QUARTER_MINUTES;
+
+  private static final long QUARTER_SECONDS = QUARTER_MINUTES * 60L;
+  static final int SLOT_QUARTERS = 4;
+
+  private static final long DAY_MASK = (1L << QUARTERS) - 1;
+  static final long SLOT_MASK = (1L << SLOT_QUARTERS) - 1;
+
+  private WorkingDay() {}
+
+  /** Bits of the quarters of {@code day} touched by the interval, rounded outwards. */
+  static long busyMask(LocalDate day, LocalDateTime start, LocalDateTime end) {
+    LocalDateTime opening = day.atTime(OPENING);
+    long from = Math.max(0, Math.floorDiv(secondsSince(opening, start), QUARTER_SECONDS));
+    long to = Math.min(QUARTERS, Math.ceilDiv(secondsSince(opening, end), QUARTER_SECONDS));
+    if (from >= to) {
+      return 0;
+    }
+    return bits((int) from, (int) to);
+  }
+
+  /** Bits of the quarters where a slot can start without touching a busy quarter. */
+  static long freeStarts(long busy) {
+    long free = ~busy & DAY_MASK;
+    long starts = free;
+    for (int i = 1; i < SLOT_QUARTERS; i++) {
+      starts &= free >>> i;
+    }
+    return starts;
+  }
+
+  /** Bits of the quarters of {@code day} that do not start before {@code now}. */
+  static long notBefore(LocalDate day, LocalDateTime now) {
+    LocalDateTime opening = day.atTime(OPENING);
+    if (!now.isAfter(opening)) {
+      return DAY_MASK;
+    }
+    long first = Math.ceilDiv(secondsSince(opening, now), QUARTER_SECONDS);
+    return first >= QUARTERS ? 0 : bits((int) first, QUARTERS);
+  }
+
+  static LocalDateTime startOf(LocalDate day, int quarter) {
+    return day.atTime(OPENING).plusMinutes((long) quarter * QUARTER_MINUTES);
+  }
+
+  private static long secondsSince(LocalDateTime opening, LocalDateTime time) {
+    return Duration.between(opening, time).toSeconds();
+  }
+
+  private static long bits(int from, int to) {
+    return (DAY_MASK >>> (QUARTERS - (to - from))) << from;
+  }
+}
@@ -27,6 +27,7 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -294,7 +295,7 @@ public class DoctorController implements PmsController {
       summary = "Retrieve a list of doctors",
       security = @SecurityRequirement(name = AUTHORIZATION),
       description =
-          "This endpoint is responsible to retrieve a list of doctors based on the applied filters")
+          "This endpoint is responsible to retrieve a list of doctors based on the applied filters. With 'withTotal=false' the total is not counted and a slice is returned")
   @ApiResponses(
       value = {
         @ApiResponse(responseCode = HTTP_STATUS_CODE_OK, description = "Return doctors list"),
@@ -318,9 +319,16 @@ public class DoctorController implements PmsController {
             })
       })
   @GetMapping
-  public Page<DoctorResponse> listAll(DoctorFilter filter) {
+  public Slice<DoctorResponse> listAll(DoctorFilter filter) {
     log.info("Request for list all doctors");
 
+    if (Boolean.FALSE.equals(filter.getWithTotal())) {
+      Slice<Doctor> slice = service.findSlice(filter);
+      log.info(
+          "Found [{}] results, has next page [{}]", slice.getNumberOfElements(), slice.hasNext());
+      return slice.map(doctorMapper::toDoctorResponse);
+    }
+
     Page<Doctor> doctors = service.findAll(filter);
     log.info("Found [{}] results", doctors.getTotalElements());
 
@@ -1,5 +1,8 @@
 package com.jts.pmanagement.domains.doctor.controller.mapper;
 
+import static com.jts.pmanagement.common.repository.Associations.loaded;
+
+import com.jts.pmanagement.domains.doctor.dto.DoctorDetails;
 import com.jts.pmanagement.domains.doctor.dto.DoctorRequest;
 import com.jts.pmanagement.domains.doctor.dto.DoctorResponse;
 import com.jts.pmanagement.domains.doctor.model.Doctor;
@@ -25,15 +28,29 @@ public class DoctorMapper {
         .build();
   }
 
+  /** The speciality is read only if the query fetched it, see {@link Doctor#WITH_SPECIALITY}. */
   public DoctorResponse toDoctorResponse(@NotNull Doctor doctor) {
+    var speciality = loaded(doctor.getSpeciality(), "Doctor.speciality");
     return new DoctorResponse(
         doctor.getId(),
         doctor.getFirstName(),
         doctor.getLastName(),
         doctor.getTitle(),
-        doctor.getSpeciality() != null ? doctor.getSpeciality().getDescription() : null,
+        speciality != null ? speciality.getDescription() : null,
         doctor.getEmail(),
         doctor.getPhone(),
         doctor.getDepartment());
   }
+
+  public DoctorResponse toDoctorResponse(@NotNull DoctorDetails doctor) {
+    return new DoctorResponse(
+        doctor.id(),
+        doctor.firstName(),
+        doctor.lastName(),
+        doctor.title(),
+        doctor.speciality(),
+        doctor.email(),
+        doctor.phone(),
+        doctor.department());
+  }
 }
@@ -0,0 +1,56 @@
+package com.jts.pmanagement.domains.doctor.dto;
+
+import com.jts.pmanagement.domains.doctor.model.Doctor;
+import com.jts.pmanagement.domains.doctor.model.Speciality;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of a doctor and its speciality, as the doctors cache holds it. Callers share the
+ * cached instance, so it must not be an entity they could change or attach to a session.
+ */
+public record DoctorDetails(
+    Long id,
+    String firstName,
+    String lastName,
+    String title,
+    Long specialityId,
+    String speciality,
+    String email,
+    String phone,
+    String department,
+    LocalDateTime createdAt) {
+
+  /** Copies a doctor loaded with its speciality. */
+  public static DoctorDetails of(Doctor doctor) {
+    var speciality = doctor.getSpeciality();
+    return new DoctorDetails(
+        doctor.getId(),
+        doctor.getFirstName(),
+        doctor.getLastName(),
+        doctor.getTitle(),
+        speciality != null ? speciality.getId() : null,
+        speciality != null ? speciality.getDescription() : null,
+        doctor.getEmail(),
+        doctor.getPhone(),
+        doctor.getDepartment(),
+        doctor.getCreatedAt());
+  }
+
+  /** Returns a new detached doctor with these values, for responses built from entities. */
+  public Doctor toDoctor() {
+    return Doctor.builder()
+        .id(id)
+        .firstName(firstName)
+        .lastName(lastName)
+        .title(title)
+        .speciality(
+            specialityId != null
+                ? Speciality.builder().id(specialityId).description(speciality).build()
+                : null)
+        .email(email)
+        .phone(phone)
+        .department(department)
+        .createdAt(createdAt)
+        .build();
+  }
+}
@@ -2,6 +2,7 @@ package com.jts.pmanagement.domains.doctor.dto;
 
 import com.jts.pmanagement.common.filter.PmsFilter;
 import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Set;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -27,4 +28,10 @@ public class DoctorFilter extends PmsFilter {
             name = "speciality",
             example = "Internal Medicine")
     private String speciality;
+
+    @Schema(hidden = true)
+    private Set<Long> specialityIds;
+
+    @Schema(hidden = true)
+    private Set<Long> doctorIds;
 }
@@ -7,14 +7,25 @@ import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
+@NamedEntityGraph(
+    name = Doctor.WITH_SPECIALITY,
+    attributeNodes = @NamedAttributeNode("speciality"))
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
+@ToString(exclude = "speciality")
+@EqualsAndHashCode(exclude = "speciality")
 public class Doctor {
+
+    /** The doctor with its speciality, as every response shows it. */
+    public static final String WITH_SPECIALITY = "Doctor.withSpeciality";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -28,7 +39,7 @@ public class Doctor {
     @NotNull
     private String title;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "speciality_id")
     private Speciality speciality;
 
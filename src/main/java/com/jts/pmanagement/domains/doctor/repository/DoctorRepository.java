@@ -1,12 +1,38 @@
 package com.jts.pmanagement.domains.doctor.repository;
 
 import com.jts.pmanagement.domains.doctor.model.Doctor;
+import jakarta.persistence.LockModeType;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long>, DoctorRepositoryCustom {
+
+  /** Loads the speciality too, since the cached copy of the doctor holds it. */
+  @Override
+  @EntityGraph(Doctor.WITH_SPECIALITY)
+  Optional<Doctor> findById(Long id);
+
   boolean existsByEmail(@NotNull @Email String email);
+
+  @Query("select d.id from Doctor d where d.speciality.id = :specialityId order by d.id")
+  List<Long> findIdsBySpecialityId(@Param("specialityId") Long specialityId);
+
+  /** Locks the rows of the existing doctors among the ids, in id order, until the commit. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select d.id from Doctor d where d.id in :ids order by d.id")
+  Set<Long> lockExistingIds(@Param("ids") Collection<Long> ids);
+
+  @Query("select d.email from Doctor d")
+  List<String> findAllEmails();
 }
@@ -3,7 +3,10 @@ package com.jts.pmanagement.domains.doctor.repository;
 import com.jts.pmanagement.domains.doctor.dto.DoctorFilter;
 import com.jts.pmanagement.domains.doctor.model.Doctor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 public interface DoctorRepositoryCustom {
   Page<Doctor> findAllWithFilters(DoctorFilter filter);
+
+  Slice<Doctor> findSliceWithFilters(DoctorFilter filter);
 }
@@ -1,5 +1,10 @@
 package com.jts.pmanagement.domains.doctor.repository;
 
+import com.jts.pmanagement.common.filter.PageSize;
+import com.jts.pmanagement.common.metrics.Monitored;
+import com.jts.pmanagement.common.metrics.OperationMetrics;
+import com.jts.pmanagement.common.repository.CountCache;
+import com.jts.pmanagement.common.repository.SliceSupport;
 import com.jts.pmanagement.domains.doctor.dto.DoctorFilter;
 import com.jts.pmanagement.domains.doctor.model.Doctor;
 import com.jts.pmanagement.domains.doctor.model.Speciality;
@@ -7,19 +12,24 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.criteria.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 
+@Monitored
 public class DoctorRepositoryImpl implements DoctorRepositoryCustom {
 
   @PersistenceContext private final EntityManager entityManager;
   private final CriteriaBuilder criteriaBuilder;
+  private final CountCache countCache = new CountCache();
 
   public DoctorRepositoryImpl(EntityManager entityManager) {
     this.entityManager = entityManager;
@@ -28,6 +38,31 @@ public class DoctorRepositoryImpl implements DoctorRepositoryCustom {
 
   @Override
   public Page<Doctor> findAllWithFilters(DoctorFilter filter) {
+    Pageable pageable = getPageable(filter);
+
+    // Get the result list
+    List<Doctor> result = getDoctors(filter, pageable, pageable.getPageSize());
+
+    // Get total count using the filter criteria
+    long total =
+        Boolean.TRUE.equals(filter.getCachedTotal())
+            ? countCache.get(getCountKey(filter), () -> getDoctorsCount(filter))
+            : getDoctorsCount(filter);
+
+    return new PageImpl<>(result, pageable, total);
+  }
+
+  @Override
+  public Slice<Doctor> findSliceWithFilters(DoctorFilter filter) {
+    Pageable pageable = getPageable(filter, PageSize.of(filter.getPageSize()));
+
+    // One extra row tells whether there is a next page without counting
+    List<Doctor> result = getDoctors(filter, pageable, pageable.getPageSize() + 1);
+
+    return SliceSupport.toSlice(result, pageable);
+  }
+
+  private List<Doctor> getDoctors(DoctorFilter filter, Pageable pageable, int maxResults) {
     CriteriaQuery<Doctor> query = criteriaBuilder.createQuery(Doctor.class);
     Root<Doctor> root = query.from(Doctor.class);
 
@@ -37,28 +72,52 @@ public class DoctorRepositoryImpl implements DoctorRepositoryCustom {
       query.where(predicate);
     }
 
-    Pageable pageable = getPageable(filter);
-
     // Add ordering if needed
     query.orderBy(criteriaBuilder.desc(root.get("createdAt")));
 
-    // Get the result list
-    List<Doctor> result =
-        entityManager
-            .createQuery(query)
-            .setFirstResult((int) pageable.getOffset())
-            .setMaxResults(pageable.getPageSize())
-            .getResultList();
-
-    // Get total count using the filter criteria
-    long total = getDoctorsCount(filter);
-
-    return new PageImpl<>(result, pageable, total);
+    return entityManager
+        .createQuery(query)
+        .setHint(
+            SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(Doctor.WITH_SPECIALITY))
+        .setFirstResult((int) pageable.getOffset())
+        .setMaxResults(maxResults)
+        .getResultList();
   }
 
-  private Predicate getPredicate(DoctorFilter criteria, Root<Doctor> doctorRoot) {
+  Predicate getPredicate(DoctorFilter criteria, Root<Doctor> doctorRoot) {
     List<Predicate> predicates = new ArrayList<>();
 
+    if (Objects.nonNull(criteria.getDoctorIds())) {
+      // Resolved from the doctor search index, which already matched the text filters
+      predicates.add(
+          criteria.getDoctorIds().isEmpty()
+              ? criteriaBuilder.disjunction()
+              : doctorRoot.get("id").in(criteria.getDoctorIds()));
+    } else {
+      addTextPredicates(criteria, doctorRoot, predicates);
+    }
+
+    if (Objects.nonNull(criteria.getSpecialityIds())) {
+      // Resolved from the speciality catalogue, so no join is needed
+      predicates.add(
+          criteria.getSpecialityIds().isEmpty()
+              ? criteriaBuilder.disjunction()
+              : doctorRoot.get("speciality").get("id").in(criteria.getSpecialityIds()));
+    } else if (Objects.nonNull(criteria.getSpeciality())) {
+      // Create a join to the Speciality entity
+      Join<Doctor, Speciality> specialityJoin = doctorRoot.join("speciality", JoinType.INNER);
+
+      predicates.add(
+          criteriaBuilder.like(
+              criteriaBuilder.lower(specialityJoin.get("description")),
+              "%" + criteria.getSpeciality().toLowerCase(Locale.ROOT) + "%"));
+    }
+
+    return predicates.isEmpty() ? null : criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+  }
+
+  private void addTextPredicates(
+      DoctorFilter criteria, Root<Doctor> doctorRoot, List<Predicate> predicates) {
     if (Objects.nonNull(criteria.getFirstName())) {
       predicates.add(
           criteriaBuilder.like(
@@ -79,23 +138,25 @@ public class DoctorRepositoryImpl implements DoctorRepositoryCustom {
               criteriaBuilder.lower(doctorRoot.get("email")),
               "%" + criteria.getEmail().toLowerCase(Locale.ROOT) + "%"));
     }
-
-    if (Objects.nonNull(criteria.getSpeciality())) {
-      // Create a join to the Speciality entity
-      Join<Doctor, Speciality> specialityJoin = doctorRoot.join("speciality", JoinType.INNER);
-
-      predicates.add(
-          criteriaBuilder.like(
-              criteriaBuilder.lower(specialityJoin.get("description")),
-              "%" + criteria.getSpeciality().toLowerCase(Locale.ROOT) + "%"));
-    }
-
-    return predicates.isEmpty() ? null : criteriaBuilder.and(predicates.toArray(new Predicate[0]));
   }
 
   private Pageable getPageable(DoctorFilter page) {
+    return getPageable(page, page.getPageSize());
+  }
+
+  private Pageable getPageable(DoctorFilter page, int pageSize) {
     Sort sort = Sort.by(page.getSortDirection(), page.getSortBy());
-    return PageRequest.of(page.getPageNumber(), page.getPageSize(), sort);
+    return PageRequest.of(page.getPageNumber(), pageSize, sort);
+  }
+
+  private Object getCountKey(DoctorFilter criteria) {
+    return Arrays.asList(
+        criteria.getFirstName(),
+        criteria.getLastName(),
+        criteria.getEmail(),
+        criteria.getSpeciality(),
+        criteria.getSpecialityIds(),
+        criteria.getDoctorIds());
   }
 
   private long getDoctorsCount(DoctorFilter criteria) {
@@ -110,6 +171,8 @@ public class DoctorRepositoryImpl implements DoctorRepositoryCustom {
       countQuery.where(countPredicate);
     }
 
-    return entityManager.createQuery(countQuery).getSingleResult();
+    return OperationMetrics.timeUnchecked(
+        "DoctorRepositoryImpl.count",
+        () -> entityManager.createQuery(countQuery).getSingleResult());
   }
 }
@@ -0,0 +1,20 @@
+package com.jts.pmanagement.domains.doctor.service;
+
+import com.jts.pmanagement.common.util.EmailBloomFilter;
+import com.jts.pmanagement.domains.doctor.repository.DoctorRepository;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/** Emails of the registered doctors, checked before the uniqueness query on insert. */
+@Component
+@RequiredArgsConstructor
+public class DoctorEmailFilter extends EmailBloomFilter {
+
+  private final DoctorRepository doctorRepository;
+
+  @Override
+  protected List<String> findAllEmails() {
+    return doctorRepository.findAllEmails();
+  }
+}
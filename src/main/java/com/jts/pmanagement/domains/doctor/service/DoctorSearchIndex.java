@@ -0,0 +1,91 @@
+package com.jts.pmanagement.domains.doctor.service;
+
+import com.jts.pmanagement.domains.doctor.model.Doctor;
+import com.jts.pmanagement.domains.doctor.repository.DoctorRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.Objects;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory trigram index over the first name, last name and email of every doctor, used to
+ * answer the substring filters of the doctor search without scanning the {@code doctor} table.
+ *
+ * <p>The index only sees the writes made through {@link DoctorService} on this instance, and is
+ * reloaded when other writers change the table, like the dataset generator. A load fills new
+ * indexes and swaps them in once complete, so searches running meanwhile see the previous ones.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DoctorSearchIndex {
+
+  private final DoctorRepository doctorRepository;
+
+  private volatile Fields fields = new Fields();
+
+  /** Writes wait for a running load, so none is lost with the indexes it replaces. */
+  @PostConstruct
+  public synchronized void load() {
+    var loaded = new Fields();
+    var doctors = doctorRepository.findAll();
+    doctors.forEach(loaded::put);
+    fields = loaded;
+    log.info("Doctor search index loaded with {} doctors", doctors.size());
+  }
+
+  /** Adds the doctor to the index, replacing the values indexed before for the same id. */
+  public synchronized void put(Doctor doctor) {
+    fields.put(doctor);
+  }
+
+  public synchronized void remove(Long id) {
+    fields.remove(id);
+  }
+
+  /**
+   * Ids of the doctors matching every informed text, each one being a case-insensitive substring
+   * of the field. Returns {@code null} when no text is informed.
+   */
+  public Set<Long> search(String firstName, String lastName, String email) {
+    var current = fields;
+    Set<Long> result = null;
+    result = retain(result, current.firstNames, firstName);
+    result = retain(result, current.lastNames, lastName);
+    result = retain(result, current.emails, email);
+    return result;
+  }
+
+  private static Set<Long> retain(Set<Long> result, TrigramIndex index, String text) {
+    if (Objects.isNull(text) || (Objects.nonNull(result) && result.isEmpty())) {
+      return result;
+    }
+
+    var ids = index.search(text);
+    if (Objects.nonNull(result)) {
+      ids.retainAll(result);
+    }
+    return ids;
+  }
+
+  private static final class Fields {
+
+    private final TrigramIndex firstNames = new TrigramIndex();
+    private final TrigramIndex lastNames = new TrigramIndex();
+    private final TrigramIndex emails = new TrigramIndex();
+
+    void put(Doctor doctor) {
+      firstNames.put(doctor.getId(), doctor.getFirstName());
+      lastNames.put(doctor.getId(), doctor.getLastName());
+      emails.put(doctor.getId(), doctor.getEmail());
+    }
+
+    void remove(Long id) {
+      firstNames.remove(id);
+      lastNames.remove(id);
+      emails.remove(id);
+    }
+  }
+}
@@ -1,47 +1,126 @@
 package com.jts.pmanagement.domains.doctor.service;
 
-import com.jts.pmanagement.domains.doctor.dto.DoctorFilter;
+import com.jts.pmanagement.common.config.CacheConfig;
 import com.jts.pmanagement.common.exception.BadRequestException;
 import com.jts.pmanagement.common.exception.NotFoundException;
+import com.jts.pmanagement.common.metrics.Monitored;
+import com.jts.pmanagement.common.repository.AfterCommit;
+import com.jts.pmanagement.domains.doctor.dto.DoctorDetails;
+import com.jts.pmanagement.domains.doctor.dto.DoctorFilter;
 import com.jts.pmanagement.domains.doctor.model.Doctor;
 import com.jts.pmanagement.domains.doctor.repository.DoctorRepository;
-import com.jts.pmanagement.domains.doctor.repository.SpecialityRepository;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Queries run in read-only transactions and each write in a single transaction. The search index
+ * and the email filter are updated once the write has committed.
+ */
 @Service
+@Monitored
 @Slf4j
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class DoctorService {
 
+  /**
+   * Most doctor ids a text filter is turned into. Past it the {@code id IN} list would cost more
+   * to bind, plan and key the cached counts with than the {@code LIKE} filters it replaces.
+   */
+  static final int MAX_RESOLVED_DOCTOR_IDS = 500;
+
   private final DoctorRepository doctorRepository;
-  private final SpecialityRepository specialityRepository;
+  private final SpecialityCatalogue specialityCatalogue;
+  private final DoctorSearchIndex searchIndex;
+  private final DoctorEmailFilter emailFilter;
+  private final CacheManager cacheManager;
 
-  public Doctor findById(Long id) {
-    return doctorRepository
-        .findById(id)
-        .orElseThrow(() -> new NotFoundException("Doctor with Id %s was not found".formatted(id)));
+  /**
+   * Doctors are read on every booking and hardly ever change, so lookups through this bean are
+   * cached until the doctor is updated or deleted. The cache holds an immutable copy, shared by
+   * all callers; associations to the doctor are set with {@link #getReference(Long)}.
+   *
+   * <p>A miss is read in a read-only transaction, served by the replica. The entry is evicted once
+   * a change commits, and the client that wrote it reads from the primary while the replica may
+   * still lag, so it does not cache the doctor as it was.
+   */
+  @Cacheable(CacheConfig.DOCTORS)
+  public DoctorDetails findById(Long id) {
+    return DoctorDetails.of(load(id));
+  }
+
+  /**
+   * Returns which of the given ids belong to an existing doctor, with a single query, and locks
+   * them until the surrounding write commits, so bookings of the same doctor run one at a time.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public Set<Long> lockExistingIds(Collection<Long> ids) {
+    return doctorRepository.lockExistingIds(ids);
+  }
+
+  /** Returns a reference to a doctor known to exist, without loading it. */
+  public Doctor getReference(Long id) {
+    return doctorRepository.getReferenceById(id);
   }
 
   public Page<Doctor> findAll(DoctorFilter filter) {
-    return doctorRepository.findAllWithFilters(filter);
+    return doctorRepository.findAllWithFilters(resolve(filter));
+  }
+
+  public Slice<Doctor> findSlice(DoctorFilter filter) {
+    return doctorRepository.findSliceWithFilters(resolve(filter));
+  }
+
+  /**
+   * Turns the text filters into ids from the in-memory indexes, so the query filters on
+   * speciality_id and id instead of scanning with {@code LIKE}. Text matching too many doctors
+   * is left to the {@code LIKE} filters. The ids are set on a copy, leaving the filter of the
+   * caller as it was bound.
+   */
+  private DoctorFilter resolve(DoctorFilter filter) {
+    var resolved = new DoctorFilter();
+    BeanUtils.copyProperties(filter, resolved);
+    var doctorIds =
+        searchIndex.search(filter.getFirstName(), filter.getLastName(), filter.getEmail());
+    resolved.setDoctorIds(
+        Objects.nonNull(doctorIds) && doctorIds.size() > MAX_RESOLVED_DOCTOR_IDS
+            ? null
+            : doctorIds);
+    resolved.setSpecialityIds(
+        Objects.isNull(filter.getSpeciality())
+            ? null
+            : specialityCatalogue.findIdsByDescription(filter.getSpeciality()));
+    return resolved;
   }
 
+  @Transactional
   public void insert(Doctor doctor) {
-    log.info(
-        "Before save, checking if there is another doctor saved in the database with the same email [{}]",
-        doctor.getEmail());
-    if (doctorRepository.existsByEmail(doctor.getEmail())) {
-      throw new BadRequestException(
-          "There is another doctor using the same email '%s' informed"
-              .formatted(doctor.getEmail()));
+    var email = doctor.getEmail();
+    // Emails unknown to the filter are certainly new, so the query is only run for the others
+    if (emailFilter.mightContain(email)) {
+      log.info(
+          "Before save, checking if there is another doctor saved in the database with the same email [{}]",
+          email);
+      if (doctorRepository.existsByEmail(email)) {
+        throw duplicateEmail(email);
+      }
     }
 
     var foundSpeciality =
-        specialityRepository
+        specialityCatalogue
             .findById(doctor.getSpeciality().getId())
             .orElseThrow(
                 () ->
@@ -50,12 +129,30 @@ public class DoctorService {
     doctor.setSpeciality(foundSpeciality);
 
     doctor.setCreatedAt(LocalDateTime.now());
-    doctorRepository.save(doctor);
+    save(doctor);
+    AfterCommit.run(
+        () -> {
+          emailFilter.add(email);
+          searchIndex.put(doctor);
+        });
   }
 
+  /**
+   * A new email is checked before the doctor is changed, so most duplicates never reach the
+   * database. One the check misses, like the email of a doctor written meanwhile, is still reported
+   * by {@link #save(Doctor)}, which flushes the update.
+   */
+  @Transactional
   public void update(Long id, Doctor doctor) {
     log.info("Before update, checking if the doctor exists...");
-    var savedDoctor = findById(id);
+    var savedDoctor = load(id);
+    var emailChanged = !Objects.equals(savedDoctor.getEmail(), doctor.getEmail());
+    if (emailChanged
+        && emailFilter.mightContain(doctor.getEmail())
+        && doctorRepository.existsByEmail(doctor.getEmail())) {
+      throw duplicateEmail(doctor.getEmail());
+    }
+
     savedDoctor.setEmail(doctor.getEmail());
     savedDoctor.setFirstName(doctor.getFirstName());
     savedDoctor.setLastName(doctor.getLastName());
@@ -64,14 +161,60 @@ public class DoctorService {
     savedDoctor.setSpeciality(doctor.getSpeciality());
     savedDoctor.setTitle(doctor.getTitle());
 
-    doctorRepository.save(savedDoctor);
+    save(savedDoctor);
+    AfterCommit.run(
+        () -> {
+          evict(id);
+          searchIndex.put(savedDoctor);
+          if (emailChanged) {
+            emailFilter.add(savedDoctor.getEmail());
+            emailFilter.removed();
+          }
+        });
   }
 
+  @Transactional
   public void delete(Long id) {
     log.info("Before delete, checking if the doctor exists...");
-    final var doctor = findById(id);
+    final var doctor = load(id);
 
     log.info("Doctor found, deleting...");
     doctorRepository.delete(doctor);
+    AfterCommit.run(
+        () -> {
+          evict(id);
+          searchIndex.remove(id);
+          emailFilter.removed();
+        });
+  }
+
+  private void evict(Long id) {
+    cacheManager.getCache(CacheConfig.DOCTORS).evict(id);
+  }
+
+  private Doctor load(Long id) {
+    return doctorRepository
+        .findById(id)
+        .orElseThrow(() -> new NotFoundException("Doctor with Id %s was not found".formatted(id)));
+  }
+
+  /**
+   * Saves the doctor, reporting a violation of the unique email constraint as a bad request. The
+   * change is flushed here, as an update would otherwise only fail on commit, outside this check.
+   */
+  private void save(Doctor doctor) {
+    try {
+      doctorRepository.saveAndFlush(doctor);
+    } catch (DataIntegrityViolationException e) {
+      if (doctorRepository.existsByEmail(doctor.getEmail())) {
+        throw duplicateEmail(doctor.getEmail());
+      }
+      throw e;
+    }
+  }
+
+  private BadRequestException duplicateEmail(String email) {
+    return new BadRequestException(
+        "There is another doctor using the same email '%s' informed".formatted(email));
   }
 }
@@ -0,0 +1,85 @@
+package com.jts.pmanagement.domains.doctor.service;
+
+import com.jts.pmanagement.domains.doctor.model.Speciality;
+import com.jts.pmanagement.domains.doctor.repository.SpecialityRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * The whole {@code speciality} table kept in memory. The table is tiny and hardly ever changes, so
+ * lookups and text searches are answered without going to the database.
+ *
+ * <p>Each load builds a new immutable snapshot and swaps it in one write, so readers always see a
+ * complete catalogue. An unknown id triggers a reload when the speciality exists in the table. The
+ * application does not write specialities, so renames and deletions made in the database are
+ * picked up by reloading every {@code pms.speciality-catalogue.refresh-interval}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SpecialityCatalogue {
+
+  private final SpecialityRepository specialityRepository;
+
+  private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of());
+
+  @PostConstruct
+  public void load() {
+    var byId = new LinkedHashMap<Long, Speciality>();
+    var descriptions = new LinkedHashMap<Long, String>();
+    for (var speciality : specialityRepository.findAll()) {
+      byId.put(speciality.getId(), speciality);
+      descriptions.put(
+          speciality.getId(),
+          Objects.requireNonNullElse(speciality.getDescription(), "").toLowerCase(Locale.ROOT));
+    }
+
+    snapshot = new Snapshot(Map.copyOf(byId), Map.copyOf(descriptions));
+    log.info("Speciality catalogue loaded with {} specialities", byId.size());
+  }
+
+  @Scheduled(
+      fixedDelayString = "${pms.speciality-catalogue.refresh-interval:PT5M}",
+      initialDelayString = "${pms.speciality-catalogue.refresh-interval:PT5M}")
+  public void refresh() {
+    try {
+      load();
+    } catch (RuntimeException e) {
+      log.warn("Speciality catalogue refresh failed, keeping the previous specialities", e);
+    }
+  }
+
+  public Optional<Speciality> findById(Long id) {
+    var speciality = snapshot.byId().get(id);
+    if (speciality == null && specialityRepository.existsById(id)) {
+      load();
+      speciality = snapshot.byId().get(id);
+    }
+    return Optional.ofNullable(speciality);
+  }
+
+  public boolean exists(Long id) {
+    return findById(id).isPresent();
+  }
+
+  /** Ids of the specialities whose description contains the text, ignoring case. */
+  public Set<Long> findIdsByDescription(String text) {
+    var needle = text.toLowerCase(Locale.ROOT);
+    return snapshot.descriptions().entrySet().stream()
+        .filter(entry -> entry.getValue().contains(needle))
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toUnmodifiableSet());
+  }
+
+  private record Snapshot(Map<Long, Speciality> byId, Map<Long, String> descriptions) {}
+}
@@ -0,0 +1,130 @@
+package com.jts.pmanagement.domains.doctor.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Substring index over one text value per id. Each value is split into its three-character
+ * sequences and every sequence maps to the ids whose value contains it.
+ *
+ * <p>A search intersects the ids of the sequences of the searched text, starting with the
+ * rarest one, and confirms each candidate against its value. Its cost grows with the number of
+ * candidates instead of the number of indexed values. Texts shorter than three characters have no
+ * sequence and are matched against every value.
+ *
+ * <p>Searches share a read lock and writes take the write lock, so a search never sees a value
+ * half indexed.
+ */
+class TrigramIndex {
+
+  private static final int GRAM = 3;
+
+  private final Map<Long, String> values = new HashMap<>();
+  private final Map<String, Set<Long>> postings = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  void put(Long id, String value) {
+    lock.writeLock().lock();
+    try {
+      unindex(id);
+      if (Objects.isNull(value)) {
+        return;
+      }
+
+      var text = value.toLowerCase(Locale.ROOT);
+      values.put(id, text);
+      for (var gram : grams(text)) {
+        postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void remove(Long id) {
+    lock.writeLock().lock();
+    try {
+      unindex(id);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Ids whose value contains the text, ignoring case. */
+  Set<Long> search(String value) {
+    var text = value.toLowerCase(Locale.ROOT);
+    lock.readLock().lock();
+    try {
+      return search0(text);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void unindex(Long id) {
+    var text = values.remove(id);
+    if (Objects.isNull(text)) {
+      return;
+    }
+
+    for (var gram : grams(text)) {
+      var ids = postings.get(gram);
+      ids.remove(id);
+      if (ids.isEmpty()) {
+        postings.remove(gram);
+      }
+    }
+  }
+
+  private Set<Long> search0(String text) {
+    var result = new HashSet<Long>();
+
+    if (text.length() < GRAM) {
+      values.forEach(
+          (id, indexed) -> {
+            if (indexed.contains(text)) {
+              result.add(id);
+            }
+          });
+      return result;
+    }
+
+    var lists = new ArrayList<Set<Long>>();
+    for (var gram : grams(text)) {
+      var ids = postings.get(gram);
+      if (Objects.isNull(ids)) {
+        return result;
+      }
+      lists.add(ids);
+    }
+    lists.sort(Comparator.comparingInt(Set::size));
+
+    var rarest = lists.getFirst();
+    var others = lists.subList(1, lists.size());
+    for (var id : rarest) {
+      var indexed = values.get(id);
+      if (others.stream().allMatch(ids -> ids.contains(id))
+          && Objects.nonNull(indexed)
+          && indexed.contains(text)) {
+        result.add(id);
+      }
+    }
+    return result;
+  }
+
+  private static Set<String> grams(String text) {
+    var grams = new HashSet<String>();
+    for (int i = 0; i + GRAM <= text.length(); i++) {
+      grams.add(text.substring(i, i + GRAM));
+    }
+    return grams;
+  }
+}
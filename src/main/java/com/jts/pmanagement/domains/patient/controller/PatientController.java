@@ -26,6 +26,7 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -294,7 +295,7 @@ public class PatientController implements PmsController {
       summary = "Retrieve a list of patients",
       security = @SecurityRequirement(name = AUTHORIZATION),
       description =
-          "This endpoint is responsible to retrieve a list of patients based on the applied filters")
+          "This endpoint is responsible to retrieve a list of patients based on the applied filters. With 'withTotal=false' the total is not counted and a slice is returned")
   @ApiResponses(
       value = {
         @ApiResponse(responseCode = HTTP_STATUS_CODE_OK, description = "Return patients list"),
@@ -318,9 +319,16 @@ public class PatientController implements PmsController {
             })
       })
   @GetMapping
-  public Page<PatientResponse> listAll(PatientFilter filter) {
+  public Slice<PatientResponse> listAll(PatientFilter filter) {
     log.info("Request for list all patients");
 
+    if (Boolean.FALSE.equals(filter.getWithTotal())) {
+      Slice<Patient> slice = service.findSlice(filter);
+      log.info(
+          "Found [{}] results, has next page [{}]", slice.getNumberOfElements(), slice.hasNext());
+      return slice.map(patientMapper::toPatientResponse);
+    }
+
     Page<Patient> patients = service.findAll(filter);
     log.info("Found [{}] results", patients.getTotalElements());
 
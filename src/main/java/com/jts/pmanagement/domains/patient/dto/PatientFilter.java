@@ -22,4 +22,11 @@ public class PatientFilter extends PmsFilter {
       name = "email",
       example = "john.foreman@gmail.com")
   private String email;
+
+  @Schema(
+      description =
+          "How firstName and email are matched. PREFIX matches the start of the values ignoring case and accents, and is served by an index",
+      name = "searchMode",
+      example = "PREFIX")
+  private PatientSearchMode searchMode = PatientSearchMode.CONTAINS;
 }
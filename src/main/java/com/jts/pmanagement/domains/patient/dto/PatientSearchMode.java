@@ -0,0 +1,6 @@
+package com.jts.pmanagement.domains.patient.dto;
+
+public enum PatientSearchMode {
+  CONTAINS,
+  PREFIX
+}
@@ -1,5 +1,6 @@
 package com.jts.pmanagement.domains.patient.model;
 
+import com.jts.pmanagement.common.util.SearchText;
 import com.jts.pmanagement.domains.appointment.model.Appointment;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
@@ -7,11 +8,13 @@ import jakarta.validation.constraints.NotNull;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
 
 @Entity
@@ -41,6 +44,21 @@ public class Patient {
 
   @NotNull private LocalDateTime createdAt;
 
+  /** Normalized copy of the first name, backing the prefix search. */
+  @Setter(AccessLevel.NONE)
+  private String firstNameNormalized;
+
+  /** Normalized copy of the email, backing the prefix search. */
+  @Setter(AccessLevel.NONE)
+  private String emailNormalized;
+
   @OneToMany(mappedBy = "patient", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
   private List<Appointment> appointments;
+
+  @PrePersist
+  @PreUpdate
+  void normalize() {
+    firstNameNormalized = SearchText.normalize(firstName);
+    emailNormalized = SearchText.normalize(email);
+  }
 }
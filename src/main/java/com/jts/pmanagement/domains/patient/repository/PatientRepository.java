@@ -1,12 +1,33 @@
 package com.jts.pmanagement.domains.patient.repository;
 
 import com.jts.pmanagement.domains.patient.model.Patient;
+import jakarta.persistence.LockModeType;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long>, PatientRepositoryCustom {
   boolean existsByEmail(@NotNull @Email String email);
+
+  /** Locks the rows of the existing patients among the ids, in id order, until the commit. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select p.id from Patient p where p.id in :ids order by p.id")
+  Set<Long> lockExistingIds(@Param("ids") Collection<Long> ids);
+
+  /** Deletes the patient with one statement; its appointments must be deleted beforehand. */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from Patient p where p.id = :id")
+  int bulkDeleteById(@Param("id") Long id);
+
+  @Query("select p.email from Patient p")
+  List<String> findAllEmails();
 }
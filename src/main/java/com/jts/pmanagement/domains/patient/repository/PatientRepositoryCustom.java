@@ -3,7 +3,10 @@ package com.jts.pmanagement.domains.patient.repository;
 import com.jts.pmanagement.domains.patient.dto.PatientFilter;
 import com.jts.pmanagement.domains.patient.model.Patient;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 public interface PatientRepositoryCustom {
   Page<Patient> findAllWithFilters(PatientFilter filter);
+
+  Slice<Patient> findSliceWithFilters(PatientFilter filter);
 }
@@ -1,6 +1,13 @@
 package com.jts.pmanagement.domains.patient.repository;
 
+import com.jts.pmanagement.common.filter.PageSize;
+import com.jts.pmanagement.common.metrics.Monitored;
+import com.jts.pmanagement.common.metrics.OperationMetrics;
+import com.jts.pmanagement.common.repository.CountCache;
+import com.jts.pmanagement.common.repository.SliceSupport;
+import com.jts.pmanagement.common.util.SearchText;
 import com.jts.pmanagement.domains.patient.dto.PatientFilter;
+import com.jts.pmanagement.domains.patient.dto.PatientSearchMode;
 import com.jts.pmanagement.domains.patient.model.Patient;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -9,6 +16,7 @@ import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
@@ -16,12 +24,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 
+@Monitored
 public class PatientRepositoryImpl implements PatientRepositoryCustom {
 
   @PersistenceContext private final EntityManager entityManager;
   private final CriteriaBuilder criteriaBuilder;
+  private final CountCache countCache = new CountCache();
 
   public PatientRepositoryImpl(EntityManager entityManager) {
     this.entityManager = entityManager;
@@ -30,6 +41,31 @@ public class PatientRepositoryImpl implements PatientRepositoryCustom {
 
   @Override
   public Page<Patient> findAllWithFilters(PatientFilter filter) {
+    Pageable pageable = getPageable(filter);
+
+    // Get the result list
+    List<Patient> result = getPatients(filter, pageable, pageable.getPageSize());
+
+    // Get total count using the filter criteria
+    long total =
+        Boolean.TRUE.equals(filter.getCachedTotal())
+            ? countCache.get(getCountKey(filter), () -> getPatientsCount(filter))
+            : getPatientsCount(filter);
+
+    return new PageImpl<>(result, pageable, total);
+  }
+
+  @Override
+  public Slice<Patient> findSliceWithFilters(PatientFilter filter) {
+    Pageable pageable = getPageable(filter, PageSize.of(filter.getPageSize()));
+
+    // One extra row tells whether there is a next page without counting
+    List<Patient> result = getPatients(filter, pageable, pageable.getPageSize() + 1);
+
+    return SliceSupport.toSlice(result, pageable);
+  }
+
+  private List<Patient> getPatients(PatientFilter filter, Pageable pageable, int maxResults) {
     CriteriaQuery<Patient> query = criteriaBuilder.createQuery(Patient.class);
     Root<Patient> root = query.from(Patient.class);
 
@@ -39,28 +75,42 @@ public class PatientRepositoryImpl implements PatientRepositoryCustom {
       query.where(predicate);
     }
 
-    Pageable pageable = getPageable(filter);
-
     // Add ordering if needed
     query.orderBy(criteriaBuilder.desc(root.get("createdAt")));
 
-    // Get the result list
-    List<Patient> result =
-        entityManager
-            .createQuery(query)
-            .setFirstResult((int) pageable.getOffset())
-            .setMaxResults(pageable.getPageSize())
-            .getResultList();
-
-    // Get total count using the filter criteria
-    long total = getPatientsCount(filter);
-
-    return new PageImpl<>(result, pageable, total);
+    return entityManager
+        .createQuery(query)
+        .setFirstResult((int) pageable.getOffset())
+        .setMaxResults(maxResults)
+        .getResultList();
   }
 
-  private Predicate getPredicate(PatientFilter criteria, Root<Patient> patientRoot) {
+  Predicate getPredicate(PatientFilter criteria, Root<Patient> patientRoot) {
     List<Predicate> predicates = new ArrayList<>();
 
+    if (criteria.getSearchMode() == PatientSearchMode.PREFIX) {
+      // Range scans over idx_patient_4 and idx_patient_5
+      if (Objects.nonNull(criteria.getFirstName())) {
+        predicates.add(
+            criteriaBuilder.like(
+                patientRoot.get("firstNameNormalized"),
+                SearchText.prefixPattern(criteria.getFirstName()),
+                SearchText.ESCAPE));
+      }
+
+      if (Objects.nonNull(criteria.getEmail())) {
+        predicates.add(
+            criteriaBuilder.like(
+                patientRoot.get("emailNormalized"),
+                SearchText.prefixPattern(criteria.getEmail()),
+                SearchText.ESCAPE));
+      }
+
+      return predicates.isEmpty()
+          ? null
+          : criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+    }
+
     if (Objects.nonNull(criteria.getFirstName())) {
       predicates.add(
           criteriaBuilder.like(
@@ -79,8 +129,16 @@ public class PatientRepositoryImpl implements PatientRepositoryCustom {
   }
 
   private Pageable getPageable(PatientFilter page) {
+    return getPageable(page, page.getPageSize());
+  }
+
+  private Pageable getPageable(PatientFilter page, int pageSize) {
     Sort sort = Sort.by(page.getSortDirection(), page.getSortBy());
-    return PageRequest.of(page.getPageNumber(), page.getPageSize(), sort);
+    return PageRequest.of(page.getPageNumber(), pageSize, sort);
+  }
+
+  private Object getCountKey(PatientFilter criteria) {
+    return Arrays.asList(criteria.getFirstName(), criteria.getEmail(), criteria.getSearchMode());
   }
 
   private long getPatientsCount(PatientFilter criteria) {
@@ -95,6 +153,8 @@ public class PatientRepositoryImpl implements PatientRepositoryCustom {
       countQuery.where(countPredicate);
     }
 
-    return entityManager.createQuery(countQuery).getSingleResult();
+    return OperationMetrics.timeUnchecked(
+        "PatientRepositoryImpl.count",
+        () -> entityManager.createQuery(countQuery).getSingleResult());
   }
 }
@@ -0,0 +1,20 @@
+package com.jts.pmanagement.domains.patient.service;
+
+import com.jts.pmanagement.common.util.EmailBloomFilter;
+import com.jts.pmanagement.domains.patient.repository.PatientRepository;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/** Emails of the registered patients, checked before the uniqueness query on insert. */
+@Component
+@RequiredArgsConstructor
+public class PatientEmailFilter extends EmailBloomFilter {
+
+  private final PatientRepository repository;
+
+  @Override
+  protected List<String> findAllEmails() {
+    return repository.findAllEmails();
+  }
+}
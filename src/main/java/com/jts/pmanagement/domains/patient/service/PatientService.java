@@ -1,22 +1,42 @@
 package com.jts.pmanagement.domains.patient.service;
 
+import com.jts.pmanagement.common.exception.BadRequestException;
+import com.jts.pmanagement.common.exception.NotFoundException;
+import com.jts.pmanagement.common.metrics.Monitored;
+import com.jts.pmanagement.common.repository.AfterCommit;
+import com.jts.pmanagement.domains.appointment.repository.AppointmentRepository;
+import com.jts.pmanagement.domains.appointment.service.AppointmentScheduleIndex;
 import com.jts.pmanagement.domains.patient.dto.PatientFilter;
 import com.jts.pmanagement.domains.patient.model.Patient;
 import com.jts.pmanagement.domains.patient.repository.PatientRepository;
-import com.jts.pmanagement.common.exception.BadRequestException;
-import com.jts.pmanagement.common.exception.NotFoundException;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Queries run in read-only transactions and each write in a single transaction. The email filter
+ * and the schedule index are updated once the write has committed.
+ */
 @Service
+@Monitored
 @Slf4j
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class PatientService {
 
   private final PatientRepository repository;
+  private final AppointmentRepository appointmentRepository;
+  private final AppointmentScheduleIndex scheduleIndex;
+  private final PatientEmailFilter emailFilter;
 
   public Patient findById(Long id) {
     return repository
@@ -24,40 +44,118 @@ public class PatientService {
         .orElseThrow(() -> new NotFoundException("Patient with Id %s was not found".formatted(id)));
   }
 
+  /**
+   * Returns which of the given ids belong to an existing patient, with a single query, and locks
+   * them until the surrounding write commits, so bookings of the same patient run one at a time.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public Set<Long> lockExistingIds(Collection<Long> ids) {
+    return repository.lockExistingIds(ids);
+  }
+
+  /** Returns a reference to a patient known to exist, without loading it. */
+  public Patient getReference(Long id) {
+    return repository.getReferenceById(id);
+  }
+
   public Page<Patient> findAll(PatientFilter filter) {
     return repository.findAllWithFilters(filter);
   }
 
+  public Slice<Patient> findSlice(PatientFilter filter) {
+    return repository.findSliceWithFilters(filter);
+  }
+
+  @Transactional
   public void insert(Patient patient) {
-    log.info(
-        "Before save, checking if there is another patient saved in the database with the same email [{}]",
-        patient.getEmail());
-    if (repository.existsByEmail(patient.getEmail())) {
-      throw new BadRequestException(
-          "There is another patient using the same email '%s' informed"
-              .formatted(patient.getEmail()));
+    var email = patient.getEmail();
+    // Emails unknown to the filter are certainly new, so the query is only run for the others
+    if (emailFilter.mightContain(email)) {
+      log.info(
+          "Before save, checking if there is another patient saved in the database with the same email [{}]",
+          email);
+      if (repository.existsByEmail(email)) {
+        throw duplicateEmail(email);
+      }
     }
 
     patient.setCreatedAt(LocalDateTime.now());
-    repository.save(patient);
+    save(patient);
+    AfterCommit.run(() -> emailFilter.add(email));
   }
 
+  /**
+   * A new email is checked before the patient is changed, so most duplicates never reach the
+   * database. One the check misses, like the email of a patient written meanwhile, is still
+   * reported by {@link #save(Patient)}, which flushes the update.
+   */
+  @Transactional
   public void update(Long id, Patient patient) {
     log.info("Before update, checking if the patient exists...");
     var savedPatient = findById(id);
+    var emailChanged = !Objects.equals(savedPatient.getEmail(), patient.getEmail());
+    if (emailChanged
+        && emailFilter.mightContain(patient.getEmail())
+        && repository.existsByEmail(patient.getEmail())) {
+      throw duplicateEmail(patient.getEmail());
+    }
+
     savedPatient.setEmail(patient.getEmail());
     savedPatient.setFirstName(patient.getFirstName());
     savedPatient.setLastName(patient.getLastName());
     savedPatient.setAddress(patient.getAddress());
     savedPatient.setDateOfBirth(patient.getDateOfBirth());
-    repository.save(savedPatient);
+    save(savedPatient);
+
+    if (emailChanged) {
+      AfterCommit.run(
+          () -> {
+            emailFilter.add(savedPatient.getEmail());
+            emailFilter.removed();
+          });
+    }
   }
 
+  /**
+   * Deletes the patient and its appointments with two bulk statements, without loading the
+   * appointments through the cascade of {@link Patient#getAppointments()}.
+   */
+  @Transactional
   public void delete(Long id) {
     log.info("Before delete, checking if the patient exists...");
-    final var patient = findById(id);
+    if (!repository.existsById(id)) {
+      throw new NotFoundException("Patient with Id %s was not found".formatted(id));
+    }
 
     log.info("Patient found, deleting...");
-    repository.delete(patient);
+    int appointments = appointmentRepository.bulkDeleteByPatientId(id);
+    repository.bulkDeleteById(id);
+    log.info("Patient deleted with [{}] appointments", appointments);
+
+    AfterCommit.run(
+        () -> {
+          scheduleIndex.unregisterPatient(id);
+          emailFilter.removed();
+        });
+  }
+
+  /**
+   * Saves the patient, reporting a violation of the unique email constraint as a bad request. The
+   * change is flushed here, as an update would otherwise only fail on commit, outside this check.
+   */
+  private void save(Patient patient) {
+    try {
+      repository.saveAndFlush(patient);
+    } catch (DataIntegrityViolationException e) {
+      if (repository.existsByEmail(patient.getEmail())) {
+        throw duplicateEmail(patient.getEmail());
+      }
+      throw e;
+    }
+  }
+
+  private BadRequestException duplicateEmail(String email) {
+    return new BadRequestException(
+        "There is another patient using the same email '%s' informed".formatted(email));
   }
 }
@@ -1,5 +1,5 @@
--- Create 'speciality' table if it doesn't exist
-CREATE TABLE IF NOT EXISTS speciality
+-- 'speciality' table
+CREATE TABLE speciality
 (
     id          INT          NOT NULL AUTO_INCREMENT,
     description VARCHAR(100) NOT NULL UNIQUE,
@@ -7,8 +7,8 @@ CREATE TABLE IF NOT EXISTS speciality
     PRIMARY KEY (id)
 );
 
--- Create 'doctor' table if it doesn't exist
-CREATE TABLE IF NOT EXISTS doctor
+-- 'doctor' table
+CREATE TABLE doctor
 (
     id            INT          NOT NULL AUTO_INCREMENT,
     speciality_id INT          NOT NULL,
@@ -20,6 +20,7 @@ CREATE TABLE IF NOT EXISTS doctor
     department    VARCHAR(100) NOT NULL,
     created_at    TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
     PRIMARY KEY (id),
+    CONSTRAINT uk_doctor_1 UNIQUE (email),
     CONSTRAINT fk_doctor_1
         FOREIGN KEY (speciality_id)
             REFERENCES speciality (id)
@@ -29,11 +30,10 @@ CREATE TABLE IF NOT EXISTS doctor
 
 CREATE INDEX idx_doctor_1 ON doctor (speciality_id);
 CREATE INDEX idx_doctor_2 ON doctor (last_name);
-CREATE INDEX idx_doctor_3 ON doctor (email);
 CREATE INDEX idx_doctor_4 ON doctor (department);
 
--- Create 'patient' table if it doesn't exist
-CREATE TABLE IF NOT EXISTS patient
+-- 'patient' table
+CREATE TABLE patient
 (
     id            INT          NOT NULL AUTO_INCREMENT,
     first_name    VARCHAR(50)  NOT NULL,
@@ -42,17 +42,25 @@ CREATE TABLE IF NOT EXISTS patient
     date_of_birth DATE         NOT NULL,
     address       VARCHAR(150) DEFAULT NULL,
     created_at    TIMESTAMP    NOT NULL,
-    PRIMARY KEY (id)
+    -- Lower-cased, accent-free copies kept by the application for prefix searches
+    first_name_normalized VARCHAR(50)  DEFAULT NULL,
+    email_normalized      VARCHAR(100) DEFAULT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_patient_1 UNIQUE (email)
 );
 
 CREATE INDEX idx_patient_1 ON patient (first_name);
-CREATE INDEX idx_patient_2 ON patient (email);
 CREATE INDEX idx_patient_3 ON patient (last_name);
+CREATE INDEX idx_patient_4 ON patient (first_name_normalized);
+CREATE INDEX idx_patient_5 ON patient (email_normalized);
 
--- Create 'appointment' table if it doesn't exist
-CREATE TABLE IF NOT EXISTS appointment
+-- Appointment ids are handed out in blocks of 50 so inserts can be batched
+CREATE SEQUENCE appointment_seq START WITH 1 INCREMENT BY 50;
+
+-- 'appointment' table
+CREATE TABLE appointment
 (
-    id                  INT          NOT NULL AUTO_INCREMENT,
+    id                  INT          NOT NULL DEFAULT NEXT VALUE FOR appointment_seq,
     patient_id          INT          NOT NULL,
     doctor_id           INT          NOT NULL,
     start_time          TIMESTAMP    NOT NULL,
@@ -80,8 +88,3 @@ CREATE TABLE IF NOT EXISTS appointment
             ON DELETE NO ACTION
             ON UPDATE NO ACTION
 );
-
-CREATE INDEX idx_appointment_1 ON appointment (patient_id);
-CREATE INDEX idx_appointment_2 ON appointment (start_time);
-CREATE INDEX idx_appointment_3 ON appointment (status);
-CREATE INDEX idx_appointment_4 ON appointment (doctor_id);
\ No newline at end of file
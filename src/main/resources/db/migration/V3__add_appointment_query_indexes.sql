@@ -0,0 +1,13 @@
+-- Composite indexes for the appointment queries run on every request
+
+-- Patient listings ordered by creation, and the keyset pages that seek on (created_at, id)
+CREATE INDEX idx_appointment_5 ON appointment (patient_id, created_at DESC, id DESC);
+
+-- Doctor schedules and the doctor overlap check of each booking
+CREATE INDEX idx_appointment_6 ON appointment (doctor_id, start_time);
+
+-- Patient overlap check of each booking and the start date filter of the patient listings
+CREATE INDEX idx_appointment_7 ON appointment (patient_id, start_time);
+
+-- Reports by status over a period, such as the SCHEDULED appointments whose end has passed
+CREATE INDEX idx_appointment_8 ON appointment (status, end_time);
@@ -0,0 +1,46 @@
+package com.jts.pmanagement.common.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.jts.pmanagement.common.exception.BadRequestException;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Pms Cursor Unit Tests")
+class PmsCursorTest {
+
+  @Test
+  @DisplayName("Should decode the same position that was encoded")
+  void encode_decode_roundTrip() {
+    var createdAt = LocalDateTime.of(2026, 1, 20, 10, 35, 0, 123456000);
+
+    var decoded = PmsCursor.decode(new PmsCursor(createdAt, 14L).encode());
+
+    assertEquals(createdAt, decoded.getCreatedAt());
+    assertEquals(14L, decoded.getId());
+  }
+
+  @Test
+  @DisplayName("Should drop precision finer than microseconds")
+  void encode_shouldTruncateToMicros() {
+    var createdAt = LocalDateTime.of(2026, 1, 20, 10, 35, 0, 123456789);
+
+    var decoded = PmsCursor.decode(new PmsCursor(createdAt, 14L).encode());
+
+    assertEquals(123456000, decoded.getCreatedAt().getNano());
+  }
+
+  @Test
+  @DisplayName("Should return null for an empty cursor")
+  void decode_empty() {
+    assertNull(PmsCursor.decode(""));
+    assertNull(PmsCursor.decode(null));
+  }
+
+  @Test
+  @DisplayName("Should throw BadRequestException for a malformed cursor")
+  void decode_invalid() {
+    assertThrows(BadRequestException.class, () -> PmsCursor.decode("not-a-cursor"));
+  }
+}
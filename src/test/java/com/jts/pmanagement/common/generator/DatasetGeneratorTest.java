@@ -0,0 +1,141 @@
+package com.jts.pmanagement.common.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.jts.pmanagement.domains.appointment.service.AppointmentScheduleIndex;
+import com.jts.pmanagement.domains.doctor.service.DoctorEmailFilter;
+import com.jts.pmanagement.domains.doctor.service.DoctorSearchIndex;
+import com.jts.pmanagement.domains.doctor.service.SpecialityCatalogue;
+import com.jts.pmanagement.domains.patient.service.PatientEmailFilter;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DataJpaTest
+@DisplayName("Dataset Generator Unit Tests")
+class DatasetGeneratorTest {
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private final SpecialityCatalogue specialityCatalogue = mock(SpecialityCatalogue.class);
+  private final DoctorSearchIndex doctorSearchIndex = mock(DoctorSearchIndex.class);
+  private final DoctorEmailFilter doctorEmailFilter = mock(DoctorEmailFilter.class);
+  private final PatientEmailFilter patientEmailFilter = mock(PatientEmailFilter.class);
+  private final AppointmentScheduleIndex scheduleIndex = mock(AppointmentScheduleIndex.class);
+
+  private int doctorsBefore;
+  private int patientsBefore;
+  private int appointmentsBefore;
+
+  @BeforeEach
+  void setUp() {
+    doctorsBefore = count("doctor");
+    patientsBefore = count("patient");
+    appointmentsBefore = count("appointment");
+  }
+
+  @Test
+  @DisplayName("generate - should add the configured volumes and reload the in-memory indexes")
+  void shouldGenerateConfiguredVolumes() {
+    generator(new GeneratorProperties(25, 20, 300, 2_000, 60, 30, 128, 7)).generate();
+
+    assertThat(count("speciality")).isEqualTo(25);
+    assertThat(count("doctor")).isEqualTo(doctorsBefore + 20);
+    assertThat(count("patient")).isEqualTo(patientsBefore + 300);
+    assertThat(count("appointment") - appointmentsBefore).isBetween(1_900, 2_100);
+
+    verify(specialityCatalogue).load();
+    verify(doctorSearchIndex).load();
+    verify(doctorEmailFilter).load();
+    verify(patientEmailFilter).load();
+    verify(scheduleIndex).load();
+  }
+
+  @Test
+  @DisplayName("run - should skip the generation when the dataset is already there")
+  void shouldSkipExistingDataset() {
+    var generator = generator(new GeneratorProperties(19, 5, 50, 200, 30, 10, 100, 3));
+    generator.run(null);
+    int doctors = count("doctor");
+    int patients = count("patient");
+    int appointments = count("appointment");
+    assertThat(patients).isGreaterThanOrEqualTo(50);
+
+    generator.run(null);
+
+    assertThat(count("doctor")).isEqualTo(doctors);
+    assertThat(count("patient")).isEqualTo(patients);
+    assertThat(count("appointment")).isEqualTo(appointments);
+  }
+
+  @Test
+  @DisplayName("generate - should never book a doctor or a patient twice nor outside the hours")
+  void shouldGenerateNonOverlappingAppointments() {
+    generator(new GeneratorProperties(19, 5, 50, 1_000, 30, 10, 100, 11)).generate();
+
+    Integer overlaps =
+        jdbcTemplate.queryForObject(
+            """
+            SELECT COUNT(*) FROM appointment a JOIN appointment b
+              ON a.doctor_id = b.doctor_id AND a.id < b.id
+             AND a.start_time < b.end_time AND b.start_time < a.end_time
+            """,
+            Integer.class);
+    assertThat(overlaps).isZero();
+
+    Integer patientOverlaps =
+        jdbcTemplate.queryForObject(
+            """
+            SELECT COUNT(*) FROM appointment a JOIN appointment b
+              ON a.patient_id = b.patient_id AND a.id < b.id
+             AND a.start_time < b.end_time AND b.start_time < a.end_time
+            """,
+            Integer.class);
+    assertThat(patientOverlaps).isZero();
+
+    var starts =
+        jdbcTemplate.queryForList("SELECT start_time FROM appointment", LocalDateTime.class);
+    assertThat(starts)
+        .allSatisfy(
+            start -> {
+              assertThat(start.getDayOfWeek()).isNotIn(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+              assertThat(start.toLocalTime()).isBetween(LocalTime.of(8, 0), LocalTime.of(17, 30));
+            });
+  }
+
+  @Test
+  @DisplayName("generate - should fill the normalized search columns of the patients")
+  void shouldNormalizePatients() {
+    generator(new GeneratorProperties(19, 0, 100, 0, 30, 10, 100, 3)).generate();
+
+    Integer missing =
+        jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM patient"
+                + " WHERE first_name_normalized IS NULL OR email_normalized <> LOWER(email)",
+            Integer.class);
+    assertThat(missing).isZero();
+  }
+
+  private DatasetGenerator generator(GeneratorProperties properties) {
+    return new DatasetGenerator(
+        jdbcTemplate,
+        properties,
+        specialityCatalogue,
+        doctorSearchIndex,
+        doctorEmailFilter,
+        patientEmailFilter,
+        scheduleIndex);
+  }
+
+  private int count(String table) {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+  }
+}
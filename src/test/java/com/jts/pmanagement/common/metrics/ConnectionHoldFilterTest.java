@@ -0,0 +1,80 @@
+package com.jts.pmanagement.common.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.jts.pmanagement.common.repository.ConnectionHoldDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+@DisplayName("Connection Hold Filter Unit Tests")
+class ConnectionHoldFilterTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ConnectionHoldFilter filter = new ConnectionHoldFilter(registry);
+
+  @Test
+  @DisplayName("Should record the connections held by the request under its route")
+  void doFilter_shouldRecordPerRoute() throws Exception {
+    var target = mock(DataSource.class);
+    when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    var dataSource = new ConnectionHoldDataSource(target, "dataSource", registry);
+
+    var request = new MockHttpServletRequest("GET", "/v1/doctors/7");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/v1/doctors/{id}");
+    var chain =
+        new MockFilterChain(
+            new HttpServlet() {
+              @Override
+              protected void service(HttpServletRequest req, HttpServletResponse res) {
+                try {
+                  dataSource.getConnection().close();
+                  dataSource.getConnection().close();
+                } catch (SQLException e) {
+                  throw new IllegalStateException(e);
+                }
+              }
+            });
+
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    var connections =
+        registry
+            .get("pms.request.connections")
+            .tag("method", "GET")
+            .tag("uri", "/v1/doctors/{id}")
+            .summary();
+    assertEquals(1, connections.count());
+    assertEquals(2, connections.totalAmount());
+    assertEquals(
+        1,
+        registry
+            .get("pms.request.connection.hold")
+            .tag("uri", "/v1/doctors/{id}")
+            .timer()
+            .count());
+  }
+
+  @Test
+  @DisplayName("Should tag requests without a route as UNKNOWN")
+  void doFilter_shouldTagUnknownRoute() throws Exception {
+    filter.doFilter(
+        new MockHttpServletRequest("GET", "/nowhere"),
+        new MockHttpServletResponse(),
+        new MockFilterChain());
+
+    assertEquals(
+        0, registry.get("pms.request.connections").tag("uri", "UNKNOWN").summary().totalAmount());
+  }
+}
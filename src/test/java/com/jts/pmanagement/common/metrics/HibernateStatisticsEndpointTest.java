@@ -0,0 +1,43 @@
+package com.jts.pmanagement.common.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.jts.pmanagement.domains.doctor.repository.SpecialityRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(HibernateStatisticsEndpoint.class)
+@DisplayName("Hibernate Statistics Endpoint Unit Tests")
+class HibernateStatisticsEndpointTest {
+
+  @Autowired private HibernateStatisticsEndpoint endpoint;
+
+  @Autowired private SpecialityRepository specialityRepository;
+
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  @DisplayName("Should report the statements and the slowest queries")
+  void statistics_shouldSummarizeQueries() {
+    entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics().clear();
+
+    int specialities = specialityRepository.findAll().size();
+    var statistics = endpoint.statistics();
+
+    assertTrue(statistics.enabled());
+    assertEquals(1, statistics.statements());
+    assertEquals(1, statistics.queries());
+    assertEquals(specialities, statistics.entityLoads());
+    assertEquals(1, statistics.slowestQueries().size());
+    var query = statistics.slowestQueries().getFirst();
+    assertTrue(query.query().toLowerCase().contains("speciality"));
+    assertEquals(1, query.executions());
+    assertEquals(specialities, query.rows());
+  }
+}
@@ -0,0 +1,99 @@
+package com.jts.pmanagement.common.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.jts.pmanagement.common.exception.NotFoundException;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+@DisplayName("Monitored Aspect Unit Tests")
+class MonitoredAspectTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private SampleService service;
+
+  @BeforeEach
+  void setUp() {
+    Metrics.addRegistry(registry);
+    var factory = new AspectJProxyFactory(new SampleService());
+    factory.setProxyTargetClass(true);
+    factory.addAspect(new MonitoredAspect());
+    service = factory.getProxy();
+  }
+
+  @AfterEach
+  void tearDown() {
+    Metrics.removeRegistry(registry);
+  }
+
+  @Test
+  @DisplayName("Should time successful calls by operation")
+  void time_shouldRecordSuccess() {
+    service.find(1L);
+    service.find(2L);
+
+    var timer =
+        registry
+            .get(OperationMetrics.METRIC)
+            .tags("operation", "SampleService.find", "outcome", "success", "exception", "none")
+            .timer();
+    assertEquals(2, timer.count());
+  }
+
+  @Test
+  @DisplayName("Should tag failures with their outcome and exception")
+  void time_shouldRecordFailures() {
+    assertThrows(NotFoundException.class, () -> service.find(-1L));
+    assertThrows(IllegalStateException.class, () -> service.find(0L));
+
+    assertEquals(
+        1,
+        registry
+            .get(OperationMetrics.METRIC)
+            .tags("operation", "SampleService.find", "outcome", "client_error")
+            .tag("exception", "NotFoundException")
+            .timer()
+            .count());
+    assertEquals(
+        1,
+        registry
+            .get(OperationMetrics.METRIC)
+            .tags("outcome", "error", "exception", "IllegalStateException")
+            .timer()
+            .count());
+  }
+
+  @Test
+  @DisplayName("Should time code that is not a bean")
+  void timeUnchecked_shouldRecordOperation() {
+    long count = OperationMetrics.timeUnchecked("SampleRepository.count", () -> 42L);
+
+    assertEquals(42L, count);
+    assertEquals(
+        1,
+        registry
+            .get(OperationMetrics.METRIC)
+            .tag("operation", "SampleRepository.count")
+            .timer()
+            .count());
+  }
+
+  @Monitored
+  static class SampleService {
+
+    public String find(Long id) {
+      if (id < 0) {
+        throw new NotFoundException("Sample with Id %s was not found".formatted(id));
+      }
+      if (id == 0) {
+        throw new IllegalStateException("broken");
+      }
+      return "sample " + id;
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.jts.pmanagement.common.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+@DisplayName("Bulkhead Data Source Unit Tests")
+class BulkheadDataSourceTest {
+
+  private final DataSource target = mock(DataSource.class);
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+  }
+
+  @Test
+  @DisplayName("Should give the permit back when the connection is closed, only once")
+  void getConnection_shouldReleaseOnClose() throws SQLException {
+    var dataSource =
+        new BulkheadDataSource(target, 1, Duration.ofMillis(50), "dataSource", registry);
+
+    var connection = dataSource.getConnection();
+    assertEquals(0, available());
+
+    connection.close();
+    connection.close();
+    assertEquals(1, available());
+    verify(((ConnectionProxy) connection).getTargetConnection(), times(2)).close();
+  }
+
+  @Test
+  @DisplayName("Should fail once the timeout elapses without a permit")
+  void getConnection_shouldTimeOut() throws SQLException {
+    var dataSource =
+        new BulkheadDataSource(target, 1, Duration.ofMillis(50), "dataSource", registry);
+    dataSource.getConnection();
+
+    assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+    verify(target, times(1)).getConnection();
+    assertEquals(2, registry.get("pms.db.bulkhead.wait").timer().count());
+  }
+
+  @Test
+  @DisplayName("Should queue callers until a connection is closed")
+  void getConnection_shouldQueueUntilRelease() throws Exception {
+    var dataSource =
+        new BulkheadDataSource(target, 1, Duration.ofSeconds(5), "dataSource", registry);
+    var first = dataSource.getConnection();
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var second =
+          CompletableFuture.supplyAsync(
+              () -> {
+                try {
+                  return dataSource.getConnection();
+                } catch (SQLException e) {
+                  throw new IllegalStateException(e);
+                }
+              },
+              executor);
+
+      while (registry.get("pms.db.bulkhead.queued").gauge().value() == 0) {
+        Thread.onSpinWait();
+      }
+      assertFalse(second.isDone());
+
+      first.close();
+      assertNotNull(second.get(5, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  @DisplayName("Should give the permit back when the pool fails")
+  void getConnection_shouldReleaseOnFailure() throws SQLException {
+    var dataSource =
+        new BulkheadDataSource(target, 1, Duration.ofMillis(50), "dataSource", registry);
+    when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+    assertThrows(SQLException.class, dataSource::getConnection);
+    assertEquals(1, available());
+  }
+
+  private double available() {
+    return registry.get("pms.db.bulkhead.available").gauge().value();
+  }
+}
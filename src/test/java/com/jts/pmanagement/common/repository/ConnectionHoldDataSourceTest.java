@@ -0,0 +1,74 @@
+package com.jts.pmanagement.common.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+@DisplayName("Connection Hold Data Source Unit Tests")
+class ConnectionHoldDataSourceTest {
+
+  private final DataSource target = mock(DataSource.class);
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ConnectionHoldDataSource dataSource =
+      new ConnectionHoldDataSource(target, "dataSource", registry);
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+  }
+
+  @AfterEach
+  void tearDown() {
+    ConnectionHoldDataSource.endRequest();
+  }
+
+  @Test
+  @DisplayName("Should record the hold time once, when the connection is first closed")
+  void getConnection_shouldRecordHoldOnClose() throws SQLException {
+    var connection = dataSource.getConnection();
+    assertEquals(0, holdTimerCount());
+
+    connection.close();
+    connection.close();
+    assertEquals(1, holdTimerCount());
+    verify(((ConnectionProxy) connection).getTargetConnection(), times(2)).close();
+  }
+
+  @Test
+  @DisplayName("Should sum the connections of the request, even when closed by another thread")
+  void getConnection_shouldSumIntoRequest() throws Exception {
+    var hold = ConnectionHoldDataSource.startRequest();
+    dataSource.getConnection().close();
+    var streamed = dataSource.getConnection();
+    ConnectionHoldDataSource.endRequest();
+
+    var other = Thread.ofVirtual().start(() -> close(streamed));
+    other.join();
+    dataSource.getConnection().close();
+
+    assertEquals(2, hold.getConnections());
+    assertTrue(hold.getNanos() > 0);
+    assertEquals(3, holdTimerCount());
+  }
+
+  private long holdTimerCount() {
+    return registry.get("pms.db.connection.hold").timer().count();
+  }
+
+  private static void close(Connection connection) {
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
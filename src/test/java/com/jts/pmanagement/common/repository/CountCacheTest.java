@@ -0,0 +1,48 @@
+package com.jts.pmanagement.common.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Count Cache Unit Tests")
+class CountCacheTest {
+
+  @Test
+  @DisplayName("Should count only once while the entry is fresh")
+  void get_shouldReuseFreshEntry() {
+    CountCache cache = new CountCache();
+    AtomicLong calls = new AtomicLong();
+
+    long first = cache.get("key", () -> calls.incrementAndGet() * 10);
+    long second = cache.get("key", () -> calls.incrementAndGet() * 10);
+
+    assertEquals(10, first);
+    assertEquals(10, second);
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  @DisplayName("Should count again once the entry has expired")
+  void get_shouldReloadExpiredEntry() {
+    CountCache cache = new CountCache(Duration.ZERO, 10);
+    AtomicLong calls = new AtomicLong();
+
+    cache.get("key", calls::incrementAndGet);
+    long second = cache.get("key", calls::incrementAndGet);
+
+    assertEquals(2, second);
+  }
+
+  @Test
+  @DisplayName("Should keep separate counts per key")
+  void get_shouldSeparateKeys() {
+    CountCache cache = new CountCache();
+
+    assertEquals(1, cache.get("a", () -> 1));
+    assertEquals(2, cache.get("b", () -> 2));
+    assertEquals(1, cache.get("a", () -> 3));
+  }
+}
@@ -0,0 +1,115 @@
+package com.jts.pmanagement.common.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@DisplayName("Read Your Writes Filter Unit Tests")
+class ReadYourWritesFilterTest {
+
+  private static final long NOW = 1_000_000L;
+
+  private final ReadYourWritesFilter filter =
+      new ReadYourWritesFilter(
+          Duration.ofSeconds(5), Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+
+  private final AtomicBoolean pinned = new AtomicBoolean();
+
+  private final HttpServlet servlet =
+      new HttpServlet() {
+        @Override
+        protected void service(HttpServletRequest req, HttpServletResponse res) {
+          pinned.set(ReplicaDataSource.isPinned());
+        }
+      };
+
+  @Test
+  @DisplayName("Should pin a write and answer with the end of the window")
+  void doFilter_shouldPinWrite() throws Exception {
+    var response = new MockHttpServletResponse();
+
+    filter.doFilter(
+        new MockHttpServletRequest("POST", "/v1/patients"), response, new MockFilterChain(servlet));
+
+    assertTrue(pinned.get());
+    assertFalse(ReplicaDataSource.isPinned());
+    var cookie = response.getCookie(ReadYourWritesFilter.COOKIE);
+    assertNotNull(cookie);
+    assertEquals(Long.toString(NOW + 5_000), cookie.getValue());
+    assertEquals(5, cookie.getMaxAge());
+  }
+
+  @Test
+  @DisplayName("Should pin a read within the window")
+  void doFilter_shouldPinReadWithinWindow() throws Exception {
+    var request = new MockHttpServletRequest("GET", "/v1/patients/1");
+    request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(NOW + 1)));
+    var response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, new MockFilterChain(servlet));
+
+    assertTrue(pinned.get());
+    assertNull(response.getCookie(ReadYourWritesFilter.COOKIE));
+  }
+
+  @Test
+  @DisplayName("Should not pin a read once the window is over")
+  void doFilter_shouldNotPinReadAfterWindow() throws Exception {
+    var request = new MockHttpServletRequest("GET", "/v1/patients/1");
+    request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(NOW)));
+
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(servlet));
+
+    assertFalse(pinned.get());
+  }
+
+  @Test
+  @DisplayName("Should pin a read up to the end of a window opened now")
+  void doFilter_shouldPinReadUpToWindowLength() throws Exception {
+    var request = new MockHttpServletRequest("GET", "/v1/patients/1");
+    request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(NOW + 5_000)));
+
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(servlet));
+
+    assertTrue(pinned.get());
+  }
+
+  @Test
+  @DisplayName("Should not pin a read with a cookie past any window it could have been given")
+  void doFilter_shouldNotPinReadWithFarFutureCookie() throws Exception {
+    var request = new MockHttpServletRequest("GET", "/v1/patients/1");
+    request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(Long.MAX_VALUE)));
+
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(servlet));
+
+    assertFalse(pinned.get());
+  }
+
+  @Test
+  @DisplayName("Should not pin a read without or with an unreadable cookie")
+  void doFilter_shouldNotPinReadWithoutCookie() throws Exception {
+    filter.doFilter(
+        new MockHttpServletRequest("GET", "/v1/patients"),
+        new MockHttpServletResponse(),
+        new MockFilterChain(servlet));
+    assertFalse(pinned.get());
+
+    var request = new MockHttpServletRequest("GET", "/v1/patients");
+    request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, "soon"));
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(servlet));
+    assertFalse(pinned.get());
+  }
+}
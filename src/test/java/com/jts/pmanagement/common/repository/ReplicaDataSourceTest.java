@@ -0,0 +1,66 @@
+package com.jts.pmanagement.common.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Replica Data Source Unit Tests")
+class ReplicaDataSourceTest {
+
+  private final DataSource replica = mock(DataSource.class);
+  private final DataSource primary = mock(DataSource.class);
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ReplicaDataSource dataSource = new ReplicaDataSource(replica, primary, registry);
+
+  @AfterEach
+  void tearDown() {
+    ReplicaDataSource.unpin();
+  }
+
+  @Test
+  @DisplayName("Should hand out replica connections")
+  void getConnection_shouldUseReplica() throws SQLException {
+    var connection = mock(Connection.class);
+    when(replica.getConnection()).thenReturn(connection);
+
+    assertSame(connection, dataSource.getConnection());
+    verifyNoInteractions(primary);
+    assertEquals(1, reads("replica"));
+  }
+
+  @Test
+  @DisplayName("Should hand out primary connections while the thread is pinned")
+  void getConnection_shouldUsePrimaryWhenPinned() throws SQLException {
+    var connection = mock(Connection.class);
+    when(primary.getConnection()).thenReturn(connection);
+
+    ReplicaDataSource.pinToPrimary();
+
+    assertSame(connection, dataSource.getConnection());
+    verifyNoInteractions(replica);
+    assertEquals(1, reads("primary"));
+    assertEquals(0, reads("replica"));
+  }
+
+  @Test
+  @DisplayName("Should go back to the replica once unpinned")
+  void unpin_shouldRestoreReplica() throws SQLException {
+    ReplicaDataSource.pinToPrimary();
+    ReplicaDataSource.unpin();
+
+    assertFalse(ReplicaDataSource.isPinned());
+    dataSource.getConnection();
+    verify(replica).getConnection();
+  }
+
+  private double reads(String target) {
+    return registry.get("pms.db.reads").tag("target", target).counter().count();
+  }
+}
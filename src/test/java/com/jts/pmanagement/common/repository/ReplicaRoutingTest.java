@@ -0,0 +1,208 @@
+package com.jts.pmanagement.common.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jts.pmanagement.domains.doctor.dto.DoctorRequest;
+import com.jts.pmanagement.domains.doctor.repository.DoctorRepository;
+import com.jts.pmanagement.domains.patient.dto.PatientRequest;
+import com.jts.pmanagement.domains.patient.model.Patient;
+import com.jts.pmanagement.domains.patient.repository.PatientRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Runs the {@code replica} profile against two H2 databases of its own, with the periodic copy
+ * pushed out of the way so the tests decide when the replica catches up.
+ */
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:routing-primary",
+      "pms.db.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+      "pms.db.replica.sync-interval=1h"
+    })
+@AutoConfigureMockMvc
+@ActiveProfiles("replica")
+@DisplayName("Replica Routing")
+class ReplicaRoutingTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private PatientRepository patientRepository;
+
+  @Autowired private DoctorRepository doctorRepository;
+
+  @Autowired private ReplicaSync replicaSync;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  private final ObjectMapper objectMapper =
+      new ObjectMapper()
+          .registerModule(new JavaTimeModule())
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  @AfterEach
+  void tearDown() {
+    patientRepository.deleteAllInBatch();
+    doctorRepository.deleteAllInBatch();
+    replicaSync.sync();
+  }
+
+  @Test
+  @DisplayName("Should read from the replica, which only sees a write once synced")
+  void get_shouldReadFromReplica() throws Exception {
+    var id = insert("replica.jane@gmail.com");
+    double replicaReads = reads("replica");
+
+    mockMvc.perform(get("/v1/patients/{id}", id)).andExpect(status().isNotFound());
+    assertEquals(replicaReads + 1, reads("replica"));
+
+    replicaSync.sync();
+
+    mockMvc.perform(get("/v1/patients/{id}", id)).andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("Should tag the bulkhead and connection hold meters of each pool apart")
+  void meters_shouldBeTaggedByPool() throws Exception {
+    var pools = List.of("primaryDataSource", "replicaDataSource");
+    for (var pool : pools) {
+      var available = meterRegistry.get("pms.db.bulkhead.available").tag("pool", pool).gauge();
+      var queued = meterRegistry.get("pms.db.bulkhead.queued").tag("pool", pool).gauge();
+      assertTrue(available.value() > 0, pool);
+      assertEquals(0, queued.value(), pool);
+    }
+    double primaryHolds = holds("primaryDataSource");
+    double replicaHolds = holds("replicaDataSource");
+    double primaryWaits = waits("primaryDataSource");
+    double replicaWaits = waits("replicaDataSource");
+
+    var id = insert("pools.jane@gmail.com");
+    mockMvc.perform(get("/v1/patients/{id}", id)).andExpect(status().isNotFound());
+
+    assertEquals(primaryHolds + 1, holds("primaryDataSource"));
+    assertEquals(replicaHolds + 1, holds("replicaDataSource"));
+    assertEquals(primaryWaits + 1, waits("primaryDataSource"));
+    assertEquals(replicaWaits + 1, waits("replicaDataSource"));
+  }
+
+  @Test
+  @DisplayName("Should read from the primary after a write by the same client")
+  void get_shouldReadYourWrites() throws Exception {
+    var created =
+        mockMvc
+            .perform(
+                post("/v1/patients")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request("pinned.jane@gmail.com"))))
+            .andExpect(status().isCreated())
+            .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE))
+            .andReturn();
+    var id = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+    double primaryReads = reads("primary");
+
+    mockMvc
+        .perform(
+            get("/v1/patients/{id}", id)
+                .cookie(created.getResponse().getCookie(ReadYourWritesFilter.COOKIE)))
+        .andExpect(status().isOk());
+    assertEquals(primaryReads + 1, reads("primary"));
+
+    mockMvc.perform(get("/v1/patients/{id}", id)).andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("Should read a cached doctor from the replica and its update from the primary")
+  void getDoctor_shouldReadUpdateFromPrimary() throws Exception {
+    var created =
+        mockMvc
+            .perform(
+                post("/v1/doctors")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        objectMapper.writeValueAsString(
+                            doctorRequest("Foreman", "replica.foreman@email.com"))))
+            .andExpect(status().isCreated())
+            .andReturn();
+    var id = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+    replicaSync.sync();
+    double replicaReads = reads("replica");
+
+    mockMvc
+        .perform(get("/v1/doctors/{id}", id))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.lastName").value("Foreman"));
+    assertEquals(replicaReads + 1, reads("replica"));
+
+    var updated =
+        mockMvc
+            .perform(
+                put("/v1/doctors/{id}", id)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        objectMapper.writeValueAsString(
+                            doctorRequest("Wilson", "replica.foreman@email.com"))))
+            .andExpect(status().isOk())
+            .andReturn();
+    double primaryReads = reads("primary");
+
+    mockMvc
+        .perform(
+            get("/v1/doctors/{id}", id)
+                .cookie(updated.getResponse().getCookie(ReadYourWritesFilter.COOKIE)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.lastName").value("Wilson"));
+    assertEquals(primaryReads + 1, reads("primary"));
+  }
+
+  private long insert(String email) throws Exception {
+    var response =
+        mockMvc
+            .perform(
+                post("/v1/patients")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request(email))))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse();
+    return objectMapper.readTree(response.getContentAsString()).get("id").asLong();
+  }
+
+  private static PatientRequest request(String email) {
+    return new PatientRequest("Jane", "Roe", email, "Street 2", LocalDate.of(1985, 5, 5));
+  }
+
+  private static DoctorRequest doctorRequest(String lastName, String email) {
+    return new DoctorRequest("John", lastName, "Dr.", 1L, email, "123456", "Primary Care");
+  }
+
+  private double holds(String pool) {
+    return meterRegistry.get("pms.db.connection.hold").tag("pool", pool).timer().count();
+  }
+
+  private double waits(String pool) {
+    return meterRegistry.get("pms.db.bulkhead.wait").tag("pool", pool).timer().count();
+  }
+
+  private double reads(String target) {
+    return meterRegistry.get("pms.db.reads").tag("target", target).counter().count();
+  }
+}
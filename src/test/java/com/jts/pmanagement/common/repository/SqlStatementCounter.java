@@ -0,0 +1,76 @@
+package com.jts.pmanagement.common.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Counts the SQL statements Hibernate prepares, the transactions it runs and the connections its
+ * sessions check out, to pin the number of round trips of a call. Needs {@code
+ * hibernate.generate_statistics}.
+ */
+public class SqlStatementCounter {
+
+  private final EntityManager entityManager;
+  private final Statistics statistics;
+
+  public SqlStatementCounter(EntityManager entityManager) {
+    this.entityManager = entityManager;
+    this.statistics =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+  }
+
+  /**
+   * Writes and detaches the fixtures, so the next call loads everything from the database, and
+   * starts counting.
+   */
+  public void reset() {
+    if (entityManager.isJoinedToTransaction()) {
+      entityManager.flush();
+    }
+    entityManager.clear();
+    statistics.clear();
+  }
+
+  public long count() {
+    return statistics.getPrepareStatementCount();
+  }
+
+  public long connections() {
+    return statistics.getConnectCount();
+  }
+
+  public long transactions() {
+    return statistics.getTransactionCount();
+  }
+
+  public void assertStatements(long expected) {
+    assertEquals(
+        expected,
+        count(),
+        () ->
+            "SQL statements (entity loads %d, entity fetches %d, collection fetches %d, queries %s)"
+                .formatted(
+                    statistics.getEntityLoadCount(),
+                    statistics.getEntityFetchCount(),
+                    statistics.getCollectionFetchCount(),
+                    List.of(statistics.getQueries())));
+  }
+
+  public void assertTransactions(long expected) {
+    assertEquals(expected, transactions(), "Transactions");
+  }
+
+  /** Each transaction checks out its own connection and gives it back when it ends. */
+  public void assertConnections(long expected) {
+    assertEquals(
+        expected,
+        connections(),
+        () ->
+            "Connections checked out (transactions %d, sessions %d)"
+                .formatted(statistics.getTransactionCount(), statistics.getSessionOpenCount()));
+  }
+}
@@ -0,0 +1,66 @@
+package com.jts.pmanagement.common.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jts.pmanagement.domains.appointment.repository.AppointmentRepository;
+import com.jts.pmanagement.domains.doctor.repository.DoctorRepository;
+import com.jts.pmanagement.domains.doctor.repository.SpecialityRepository;
+import com.jts.pmanagement.domains.patient.repository.PatientRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Base of the tests pinning the number of SQL statements, transactions and connection checkouts of
+ * the controller endpoints, run against the real services and repositories, so an N+1 select or a
+ * lost transaction boundary fails the build.
+ *
+ * <p>The calls commit like in production, so the fixtures are written outside of a test
+ * transaction by {@link #insertFixtures()}, and every appointment, doctor and patient is removed
+ * after each test. The {@link #statements} only count what the test does after the fixtures.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public abstract class SqlStatementTest {
+
+  @Autowired protected MockMvc mockMvc;
+
+  @Autowired protected AppointmentRepository appointmentRepository;
+
+  @Autowired protected DoctorRepository doctorRepository;
+
+  @Autowired protected PatientRepository patientRepository;
+
+  @Autowired protected SpecialityRepository specialityRepository;
+
+  @Autowired private EntityManager entityManager;
+
+  protected final ObjectMapper objectMapper =
+      new ObjectMapper()
+          .registerModule(new JavaTimeModule())
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  protected SqlStatementCounter statements;
+
+  /** Saves the rows the test calls read and change. */
+  protected abstract void insertFixtures();
+
+  @BeforeEach
+  void setUpStatements() {
+    statements = new SqlStatementCounter(entityManager);
+    insertFixtures();
+    statements.reset();
+  }
+
+  @AfterEach
+  void deleteFixtures() {
+    appointmentRepository.deleteAllInBatch();
+    doctorRepository.deleteAllInBatch();
+    patientRepository.deleteAllInBatch();
+  }
+}
@@ -0,0 +1,35 @@
+package com.jts.pmanagement.common.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Bloom Filter Unit Tests")
+class BloomFilterTest {
+
+  @Test
+  @DisplayName("Should always find the values that were put")
+  void mightContain_noFalseNegatives() {
+    var filter = new BloomFilter(10_000, 0.01);
+    IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i + "@example.com"));
+
+    assertTrue(
+        IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("user" + i + "@example.com")));
+  }
+
+  @Test
+  @DisplayName("Should keep the false positives close to the rate it was sized for")
+  void mightContain_falsePositiveRate() {
+    var filter = new BloomFilter(10_000, 0.01);
+    IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i + "@example.com"));
+
+    long falsePositives =
+        IntStream.range(0, 100_000)
+            .filter(i -> filter.mightContain("other" + i + "@example.com"))
+            .count();
+
+    assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+  }
+}
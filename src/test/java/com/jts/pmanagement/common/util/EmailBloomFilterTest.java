@@ -0,0 +1,100 @@
+package com.jts.pmanagement.common.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Email Bloom Filter Unit Tests")
+class EmailBloomFilterTest {
+
+  private final List<String> table = new ArrayList<>();
+  private int loads;
+  private boolean down;
+
+  private final EmailBloomFilter filter =
+      new EmailBloomFilter() {
+        @Override
+        protected List<String> findAllEmails() {
+          loads++;
+          if (down) {
+            throw new IllegalStateException("Database is down");
+          }
+          return List.copyOf(table);
+        }
+      };
+
+  @BeforeEach
+  void setUp() {
+    for (int i = 0; i < 20; i++) {
+      table.add("user" + i + "@example.com");
+    }
+    filter.load();
+  }
+
+  @Test
+  @DisplayName("Should know the loaded and added emails")
+  void mightContain_loadedAndAdded() {
+    filter.add("new@example.com");
+
+    assertTrue(filter.mightContain("user3@example.com"));
+    assertTrue(filter.mightContain("new@example.com"));
+    assertFalse(filter.mightContain("unknown@example.com"));
+  }
+
+  @Test
+  @DisplayName("Should rebuild from the table once a tenth of the emails were removed")
+  void removed_rebuildsAfterDeletes() {
+    table.remove("user0@example.com");
+    table.remove("user1@example.com");
+
+    filter.removed();
+    filter.rebuildIfStale();
+    assertEquals(1, loads);
+    assertTrue(filter.mightContain("user0@example.com"));
+
+    filter.removed();
+    filter.rebuildIfStale();
+    assertEquals(2, loads);
+    assertFalse(filter.mightContain("user0@example.com"));
+    assertFalse(filter.mightContain("user1@example.com"));
+    assertTrue(filter.mightContain("user2@example.com"));
+  }
+
+  @Test
+  @DisplayName("Should leave the rebuild to the scheduled run instead of the writer")
+  void removed_doesNotRebuildOnCaller() {
+    table.remove("user0@example.com");
+    filter.removed();
+    filter.removed();
+
+    assertEquals(1, loads);
+    assertTrue(filter.mightContain("user0@example.com"));
+
+    filter.rebuildIfStale();
+    filter.rebuildIfStale();
+    assertEquals(2, loads);
+    assertFalse(filter.mightContain("user0@example.com"));
+  }
+
+  @Test
+  @DisplayName("Should retry a failed rebuild on the next run, keeping the previous filter")
+  void rebuildIfStale_retriesAfterFailure() {
+    table.remove("user0@example.com");
+    filter.removed();
+    filter.removed();
+    down = true;
+
+    filter.rebuildIfStale();
+    assertEquals(2, loads);
+    assertTrue(filter.mightContain("user0@example.com"));
+
+    down = false;
+    filter.rebuildIfStale();
+    assertEquals(3, loads);
+    assertFalse(filter.mightContain("user0@example.com"));
+  }
+}
@@ -0,0 +1,26 @@
+package com.jts.pmanagement.common.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Search Text Unit Tests")
+class SearchTextTest {
+
+  @Test
+  @DisplayName("Should lower-case and strip the accents")
+  void normalize_shouldStripAccents() {
+    assertEquals("joelle", SearchText.normalize("Joëlle"));
+    assertEquals(
+        "francois.muller@example.com", SearchText.normalize("François.Müller@Example.com"));
+    assertNull(SearchText.normalize(null));
+  }
+
+  @Test
+  @DisplayName("Should escape the LIKE wildcards of the searched text")
+  void prefixPattern_shouldEscapeWildcards() {
+    assertEquals("jo%", SearchText.prefixPattern("Jô"));
+    assertEquals("50\\%\\_off\\\\%", SearchText.prefixPattern("50%_off\\"));
+  }
+}
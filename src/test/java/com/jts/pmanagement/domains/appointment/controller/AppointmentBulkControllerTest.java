@@ -0,0 +1,113 @@
+package com.jts.pmanagement.domains.appointment.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jts.pmanagement.domains.appointment.controller.mapper.AppointmentMapper;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentRequest;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentType;
+import com.jts.pmanagement.domains.appointment.dto.BulkAppointmentItem;
+import com.jts.pmanagement.domains.appointment.dto.BulkAppointmentRequest;
+import com.jts.pmanagement.domains.appointment.dto.BulkAppointmentResult;
+import com.jts.pmanagement.domains.appointment.model.Appointment;
+import com.jts.pmanagement.domains.appointment.service.AppointmentService;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(AppointmentBulkController.class)
+@DisplayName("Appointment Bulk Controller Unit Test")
+class AppointmentBulkControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private AppointmentService service;
+
+  @MockitoBean private AppointmentMapper mapper;
+
+  private final ObjectMapper objectMapper =
+      new ObjectMapper()
+          .registerModule(new JavaTimeModule())
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  private BulkAppointmentItem buildItem(Long patientId) {
+    return new BulkAppointmentItem(
+        patientId,
+        new AppointmentRequest(
+            2L, LocalDateTime.now().plusDays(1), AppointmentType.CONSULTATION, "Title", "Desc"));
+  }
+
+  @Test
+  @DisplayName("POST /v1/appointments/bulk - should report the result of each appointment")
+  void shouldCreateAppointmentsInBulk() throws Exception {
+    BulkAppointmentRequest request =
+        new BulkAppointmentRequest(List.of(buildItem(1L), buildItem(3L)));
+
+    when(mapper.toAppointment(any(Long.class), any(AppointmentRequest.class)))
+        .thenReturn(new Appointment());
+    when(service.insertAll(anyList()))
+        .thenReturn(
+            List.of(
+                BulkAppointmentResult.created(0, 1L, 10L),
+                BulkAppointmentResult.rejected(1, 3L, "Patient with Id 3 was not found")));
+
+    mockMvc
+        .perform(
+            post("/v1/appointments/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.created").value(1))
+        .andExpect(jsonPath("$.rejected").value(1))
+        .andExpect(jsonPath("$.results[0].appointmentId").value(10))
+        .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+        .andExpect(jsonPath("$.results[1].message").value("Patient with Id 3 was not found"));
+  }
+
+  @Test
+  @DisplayName("POST /v1/appointments/bulk - should return 400 when an item is invalid")
+  void shouldReturnBadRequestWhenItemIsInvalid() throws Exception {
+    BulkAppointmentRequest request =
+        new BulkAppointmentRequest(
+            List.of(
+                buildItem(1L),
+                new BulkAppointmentItem(
+                    null, new AppointmentRequest(null, null, null, null, null))));
+
+    mockMvc
+        .perform(
+            post("/v1/appointments/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(service);
+  }
+
+  @Test
+  @DisplayName("POST /v1/appointments/bulk - should return 400 when there is no appointment")
+  void shouldReturnBadRequestWhenEmpty() throws Exception {
+    mockMvc
+        .perform(
+            post("/v1/appointments/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkAppointmentRequest(List.of()))))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(service);
+  }
+}
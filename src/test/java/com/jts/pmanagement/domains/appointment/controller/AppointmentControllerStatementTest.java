@@ -0,0 +1,230 @@
+package com.jts.pmanagement.domains.appointment.controller;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jts.pmanagement.common.repository.SqlStatementTest;
+import com.jts.pmanagement.domains.appointment.controller.mapper.AppointmentMapper;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentRequest;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentStatus;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentType;
+import com.jts.pmanagement.domains.appointment.model.Appointment;
+import com.jts.pmanagement.domains.doctor.model.Doctor;
+import com.jts.pmanagement.domains.doctor.model.Speciality;
+import com.jts.pmanagement.domains.patient.model.Patient;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Pins the SQL statements of the AppointmentController endpoints. The web layer is covered by
+ * AppointmentControllerTest.
+ */
+@DisplayName("Appointment Controller SQL Statements")
+class AppointmentControllerStatementTest extends SqlStatementTest {
+
+  @Autowired private AppointmentMapper appointmentMapper;
+
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  private final LocalDateTime start = LocalDateTime.of(2031, 3, 3, 9, 0);
+
+  private Patient patient;
+
+  private final List<Doctor> doctors = new ArrayList<>();
+
+  private final List<Appointment> appointments = new ArrayList<>();
+
+  @Override
+  protected void insertFixtures() {
+    patient =
+        patientRepository.save(
+            Patient.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("statement.appointments@gmail.com")
+                .address("Street 1")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .createdAt(LocalDateTime.now())
+                .build());
+
+    // One doctor and speciality per appointment, so per-row loads show up in the count
+    var specialities = specialityRepository.findAll();
+    for (int i = 0; i < 3; i++) {
+      var doctor = doctorRepository.save(buildDoctor(i, specialities.get(i)));
+      doctors.add(doctor);
+      appointments.add(
+          appointmentRepository.save(
+              Appointment.builder()
+                  .patient(patient)
+                  .doctor(doctor)
+                  .startTime(start.plusHours(i))
+                  .endTime(start.plusHours(i).plusMinutes(30))
+                  .duration(30)
+                  .type(AppointmentType.CONSULTATION)
+                  .title("Checkup " + i)
+                  .status(AppointmentStatus.SCHEDULED)
+                  .followUpRequired(false)
+                  .createdAt(LocalDateTime.now())
+                  .build()));
+    }
+  }
+
+  private Doctor buildDoctor(int index, Speciality speciality) {
+    return Doctor.builder()
+        .firstName("John")
+        .lastName("Foreman")
+        .title("Dr.")
+        .speciality(speciality)
+        .email("statement.doctor" + index + "@email.com")
+        .phone("123456")
+        .department("Primary Care")
+        .createdAt(LocalDateTime.now())
+        .build();
+  }
+
+  private String request(Doctor doctor, LocalDateTime startTime) throws Exception {
+    return objectMapper.writeValueAsString(
+        new AppointmentRequest(
+            doctor.getId(), startTime, AppointmentType.FOLLOW_UP, "Follow-up", "Knee pain"));
+  }
+
+  @Test
+  @DisplayName("GET /v1/patients/{patientId}/appointments/{id} - should load the appointment")
+  void findById() throws Exception {
+    mockMvc
+        .perform(
+            get(
+                "/v1/patients/{patientId}/appointments/{id}",
+                patient.getId(),
+                appointments.getFirst().getId()))
+        .andExpect(status().isOk());
+
+    // The details graph joins the patient, doctor and speciality; 3 with the eager associations
+    statements.assertStatements(1);
+  }
+
+  @Test
+  @DisplayName("GET /v1/patients/{patientId}/appointments - should list the appointments")
+  void list() throws Exception {
+    mockMvc
+        .perform(get("/v1/patients/{patientId}/appointments", patient.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(3));
+
+    // Count and page, both projected straight into the responses
+    statements.assertStatements(2);
+  }
+
+  @Test
+  @DisplayName("GET /v1/patients/{patientId}/appointments?after= - should page by cursor")
+  void listWithCursor() throws Exception {
+    mockMvc
+        .perform(get("/v1/patients/{patientId}/appointments", patient.getId()).param("after", ""))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(3));
+
+    // The details graph joins the associations; 5 when the patient and each doctor were fetched
+    statements.assertStatements(1);
+  }
+
+  @Test
+  @DisplayName("POST /v1/patients/{patientId}/appointments - should book the appointment")
+  void create() throws Exception {
+    mockMvc
+        .perform(
+            post("/v1/patients/{patientId}/appointments", patient.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(request(doctors.getFirst(), start.plusDays(1))))
+        .andExpect(status().isCreated());
+
+    // Doctor, patient, their two row locks, the two overlap checks and the insert
+    statements.assertStatements(7);
+    statements.assertTransactions(1);
+    statements.assertConnections(1);
+  }
+
+  @Test
+  @DisplayName("PUT /v1/patients/{patientId}/appointments/{id} - should reschedule it")
+  void update() throws Exception {
+    mockMvc
+        .perform(
+            put(
+                    "/v1/patients/{patientId}/appointments/{id}",
+                    patient.getId(),
+                    appointments.getFirst().getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(request(doctors.get(1), start.plusDays(2))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.patient.firstName").value("John"));
+
+    // Doctor, appointment with its patient, their two row locks, the two overlap checks and the
+    // update
+    statements.assertStatements(7);
+    statements.assertTransactions(1);
+    statements.assertConnections(1);
+  }
+
+  @Test
+  @DisplayName("POST /v1/patients/{patientId}/appointments/{id}/cancel - should cancel it")
+  void cancel() throws Exception {
+    mockMvc
+        .perform(
+            post(
+                    "/v1/patients/{patientId}/appointments/{id}/cancel",
+                    patient.getId(),
+                    appointments.getFirst().getId())
+                .param("reason", "Travelling"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.doctor.speciality").isNotEmpty());
+
+    statements.assertStatements(2);
+    statements.assertTransactions(1);
+    statements.assertConnections(1);
+  }
+
+  @Test
+  @DisplayName("DELETE /v1/patients/{patientId}/appointments/{id} - should delete it")
+  void delete() throws Exception {
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.delete(
+                "/v1/patients/{patientId}/appointments/{id}",
+                patient.getId(),
+                appointments.getFirst().getId()))
+        .andExpect(status().isNoContent());
+
+    statements.assertStatements(2);
+    statements.assertTransactions(1);
+    statements.assertConnections(1);
+  }
+
+  @Test
+  @DisplayName("Mapping an appointment loaded without its details fails instead of loading them")
+  void mapper_shouldNotLoadLazily() {
+    var appointment = appointments.getFirst();
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          var loaded =
+              appointmentRepository
+                  .findByIdAndPatientId(appointment.getId(), patient.getId())
+                  .orElseThrow();
+          assertThrows(
+              IllegalStateException.class, () -> appointmentMapper.toAppointmentResponse(loaded));
+        });
+
+    statements.assertStatements(1);
+  }
+}
@@ -1,19 +1,32 @@
 package com.jts.pmanagement.domains.appointment.controller;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jts.pmanagement.common.exception.BadRequestException;
 import com.jts.pmanagement.common.exception.NotFoundException;
+import com.jts.pmanagement.common.filter.CursorPage;
+import com.jts.pmanagement.domains.appointment.controller.export.AppointmentExportWriter;
 import com.jts.pmanagement.domains.appointment.controller.mapper.AppointmentMapper;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentFilter;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentRequest;
@@ -25,16 +38,22 @@ import com.jts.pmanagement.domains.appointment.model.Appointment;
 import com.jts.pmanagement.domains.appointment.service.AppointmentService;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(AppointmentController.class)
+@Import(AppointmentExportWriter.class)
 @DisplayName("Appointment Controller Unit Test")
 class AppointmentControllerTest {
 
@@ -210,16 +229,136 @@ class AppointmentControllerTest {
   @DisplayName("GET /v1/patients/{patientId}/appointments - should return appointments list")
   void shouldListAppointments() throws Exception {
 
-    Appointment appointment = buildAppointment();
     AppointmentResponse response = buildResponse();
 
     when(service.findAllByPatientId(eq(patientId), any(AppointmentFilter.class)))
-        .thenReturn(new PageImpl<>(List.of(appointment)));
+        .thenReturn(new PageImpl<>(List.of(response)));
+
+    mockMvc
+        .perform(get("/v1/patients/{patientId}/appointments", patientId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].id").value(appointmentId));
+
+    verifyNoInteractions(mapper);
+  }
+
+  @Test
+  @DisplayName(
+      "GET /v1/patients/{patientId}/appointments?withTotal=false - should return a slice without total")
+  void shouldListAppointmentsAsSlice() throws Exception {
+
+    AppointmentResponse response = buildResponse();
+
+    when(service.findSliceByPatientId(eq(patientId), any(AppointmentFilter.class)))
+        .thenReturn(new SliceImpl<>(List.of(response), PageRequest.of(0, 10), false));
+
+    mockMvc
+        .perform(
+            get("/v1/patients/{patientId}/appointments", patientId).param("withTotal", "false"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].id").value(appointmentId))
+        .andExpect(jsonPath("$.totalElements").doesNotExist());
+  }
+
+  @Test
+  @DisplayName(
+      "GET /v1/patients/{patientId}/appointments?after= - should return appointments page by cursor")
+  void shouldListAppointmentsWithCursor() throws Exception {
+
+    Appointment appointment = buildAppointment();
+    AppointmentResponse response = buildResponse();
+
+    when(service.findAllByPatientIdWithCursor(eq(patientId), any(AppointmentFilter.class)))
+        .thenReturn(new CursorPage<>(List.of(appointment), 10, true, "next-token"));
 
     when(mapper.toAppointmentResponse(appointment)).thenReturn(response);
 
     mockMvc
-        .perform(get("/v1/patients/{patientId}/appointments", patientId))
-        .andExpect(status().isOk());
+        .perform(get("/v1/patients/{patientId}/appointments", patientId).param("after", ""))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].id").value(appointmentId))
+        .andExpect(jsonPath("$.hasNext").value(true))
+        .andExpect(jsonPath("$.nextCursor").value("next-token"));
+  }
+
+  @Test
+  @DisplayName(
+      "GET /v1/patients/{patientId}/appointments?after= - should return 400 when cursor is invalid")
+  void shouldReturnBadRequestWhenCursorInvalid() throws Exception {
+
+    when(service.findAllByPatientIdWithCursor(eq(patientId), any(AppointmentFilter.class)))
+        .thenThrow(new BadRequestException("The cursor 'abc' informed is not valid"));
+
+    mockMvc
+        .perform(get("/v1/patients/{patientId}/appointments", patientId).param("after", "abc"))
+        .andExpect(status().isBadRequest());
+  }
+
+  // ========================= EXPORT =========================
+
+  @Test
+  @DisplayName(
+      "GET /v1/patients/{patientId}/appointments/export - should stream appointments as NDJSON")
+  void shouldExportAppointmentsAsNdjson() throws Exception {
+
+    AppointmentResponse other = buildResponse();
+    other.setId(11L);
+
+    when(service.streamByPatientId(eq(patientId), any(AppointmentFilter.class)))
+        .thenReturn(Stream.of(buildResponse(), other));
+
+    MvcResult result =
+        mockMvc
+            .perform(get("/v1/patients/{patientId}/appointments/export", patientId))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andExpect(
+            content()
+                .string(
+                    "{\"id\":10,\"status\":\"SCHEDULED\"}\n{\"id\":11,\"status\":\"SCHEDULED\"}\n"));
+  }
+
+  @Test
+  @DisplayName(
+      "GET /v1/patients/{patientId}/appointments/export?format=CSV - should stream appointments as CSV")
+  void shouldExportAppointmentsAsCsv() throws Exception {
+
+    when(service.streamByPatientId(eq(patientId), any(AppointmentFilter.class)))
+        .thenReturn(Stream.of(buildResponse()));
+
+    MvcResult result =
+        mockMvc
+            .perform(
+                get("/v1/patients/{patientId}/appointments/export", patientId)
+                    .param("format", "CSV"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith("text/csv"))
+        .andExpect(content().string(startsWith("id,patientId,")))
+        .andExpect(content().string(containsString("\n10,,,,,,,,,,,,,,,,SCHEDULED,,\n")));
+  }
+
+  @Test
+  @DisplayName(
+      "GET /v1/patients/{patientId}/appointments/export - should return 404 when patient is not found")
+  void shouldNotExportWhenPatientDoesNotExist() throws Exception {
+
+    doThrow(new NotFoundException("Patient with Id 1 was not found"))
+        .when(service)
+        .checkPatientExists(patientId);
+
+    mockMvc
+        .perform(get("/v1/patients/{patientId}/appointments/export", patientId))
+        .andExpect(status().isNotFound());
+    verify(service, never()).streamByPatientId(any(), any());
   }
 }
@@ -0,0 +1,90 @@
+package com.jts.pmanagement.domains.appointment.controller;
+
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jts.pmanagement.common.exception.BadRequestException;
+import com.jts.pmanagement.common.exception.NotFoundException;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentResponse;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentStatus;
+import com.jts.pmanagement.domains.appointment.dto.DoctorScheduleFilter;
+import com.jts.pmanagement.domains.appointment.service.AppointmentService;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(DoctorScheduleController.class)
+@DisplayName("Doctor Schedule Controller Unit Test")
+class DoctorScheduleControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private AppointmentService service;
+
+  @Test
+  @DisplayName("GET /v1/doctors/{doctorId}/schedule - should return the doctor appointments")
+  void shouldReturnDoctorSchedule() throws Exception {
+    AppointmentResponse first =
+        AppointmentResponse.builder()
+            .id(10L)
+            .startTime(LocalDateTime.of(2030, 5, 10, 8, 0))
+            .status(AppointmentStatus.SCHEDULED)
+            .build();
+    AppointmentResponse second =
+        AppointmentResponse.builder()
+            .id(11L)
+            .startTime(LocalDateTime.of(2030, 5, 10, 9, 0))
+            .status(AppointmentStatus.SCHEDULED)
+            .build();
+
+    when(service.findDoctorSchedule(
+            eq(3L),
+            argThat(
+                (DoctorScheduleFilter f) ->
+                    LocalDate.of(2030, 5, 10).equals(f.getFrom())
+                        && LocalDate.of(2030, 5, 12).equals(f.getTo()))))
+        .thenReturn(List.of(first, second));
+
+    mockMvc
+        .perform(
+            get("/v1/doctors/{doctorId}/schedule", 3L)
+                .param("from", "2030-05-10")
+                .param("to", "2030-05-12"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(10))
+        .andExpect(jsonPath("$[1].id").value(11));
+  }
+
+  @Test
+  @DisplayName("GET /v1/doctors/{doctorId}/schedule - should return 404 when doctor not found")
+  void shouldReturnNotFoundWhenDoctorDoesNotExist() throws Exception {
+    when(service.findDoctorSchedule(eq(99L), argThat(f -> true)))
+        .thenThrow(new NotFoundException("Doctor with Id 99 was not found"));
+
+    mockMvc.perform(get("/v1/doctors/{doctorId}/schedule", 99L)).andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("GET /v1/doctors/{doctorId}/schedule - should return 400 when range is invalid")
+  void shouldReturnBadRequestWhenRangeIsInvalid() throws Exception {
+    when(service.findDoctorSchedule(eq(3L), argThat(f -> true)))
+        .thenThrow(new BadRequestException("The schedule range must not be longer than 31 days"));
+
+    mockMvc
+        .perform(
+            get("/v1/doctors/{doctorId}/schedule", 3L)
+                .param("from", "2030-05-01")
+                .param("to", "2030-07-01"))
+        .andExpect(status().isBadRequest());
+  }
+}
@@ -0,0 +1,66 @@
+package com.jts.pmanagement.domains.appointment.controller.export;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.jts.pmanagement.domains.appointment.dto.AppointmentResponse;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentStatus;
+import com.jts.pmanagement.domains.appointment.dto.DoctorAppointment;
+import com.jts.pmanagement.domains.appointment.dto.ExportFormat;
+import com.jts.pmanagement.domains.appointment.dto.PatientAppointment;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+@DisplayName("Appointment Export Writer Unit Test")
+class AppointmentExportWriterTest {
+
+  private final AppointmentExportWriter writer =
+      new AppointmentExportWriter(JsonMapper.builder().build());
+
+  private AppointmentResponse buildResponse(long id) {
+    return AppointmentResponse.builder()
+        .id(id)
+        .patient(new PatientAppointment(1L, "John", "Doe", "john.doe@gmail.com"))
+        .doctor(new DoctorAppointment(2L, "Carmen", "Louis", "Dr.", "Cardiology"))
+        .startTime(LocalDateTime.of(2030, 5, 10, 9, 0))
+        .title("Check up")
+        .description("Pain, \"sharp\"\nsince Monday")
+        .status(AppointmentStatus.SCHEDULED)
+        .build();
+  }
+
+  @Test
+  @DisplayName("should write one JSON document per line")
+  void shouldWriteNdjson() throws Exception {
+    var out = new ByteArrayOutputStream();
+
+    writer.write(
+        ExportFormat.NDJSON,
+        IntStream.range(0, 250).mapToObj(i -> buildResponse(i)),
+        out);
+
+    var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(250, lines.length);
+    assertTrue(lines[0].startsWith("{\"id\":0,"));
+    assertTrue(lines[249].startsWith("{\"id\":249,"));
+  }
+
+  @Test
+  @DisplayName("should write a header and quote the fields that need it")
+  void shouldWriteCsv() throws Exception {
+    var out = new ByteArrayOutputStream();
+
+    writer.write(ExportFormat.CSV, Stream.of(buildResponse(7)), out);
+
+    assertEquals(
+        AppointmentExportWriter.CSV_HEADER
+            + "\n7,1,John,Doe,john.doe@gmail.com,2,Carmen,Louis,Dr.,Cardiology,2030-05-10T09:00,,,"
+            + "Check up,\"Pain, \"\"sharp\"\"\nsince Monday\",,SCHEDULED,,\n",
+        out.toString(StandardCharsets.UTF_8));
+  }
+}
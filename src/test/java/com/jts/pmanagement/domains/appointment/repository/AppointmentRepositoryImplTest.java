@@ -2,7 +2,11 @@ package com.jts.pmanagement.domains.appointment.repository;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.jts.pmanagement.common.exception.BadRequestException;
+import com.jts.pmanagement.common.filter.CursorPage;
+import com.jts.pmanagement.common.filter.PageSize;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentFilter;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentResponse;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentStatus;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentType;
 import com.jts.pmanagement.domains.appointment.model.Appointment;
@@ -12,17 +16,25 @@ import com.jts.pmanagement.domains.doctor.repository.DoctorRepository;
 import com.jts.pmanagement.domains.doctor.repository.SpecialityRepository;
 import com.jts.pmanagement.domains.patient.model.Patient;
 import com.jts.pmanagement.domains.patient.repository.PatientRepository;
+import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @DisplayName("Appointment Repository Unit Tests")
 class AppointmentRepositoryImplTest {
 
@@ -34,6 +46,8 @@ class AppointmentRepositoryImplTest {
 
   @Autowired private SpecialityRepository specialityRepository;
 
+  @Autowired private EntityManager entityManager;
+
   private Patient patient1;
   private Patient patient2;
   private Doctor doctor1;
@@ -191,25 +205,9 @@ class AppointmentRepositoryImplTest {
     assertFalse(deleted.isPresent());
   }
 
-  @Test
-  @DisplayName("Should filter appointments by patient id")
-  void findAllWithFilters_shouldFilterByPatient() {
-
-    createAppointment(patient1, doctor1, LocalDateTime.now(), AppointmentStatus.SCHEDULED);
-
-    createAppointment(patient2, doctor2, LocalDateTime.now(), AppointmentStatus.SCHEDULED);
-
-    AppointmentFilter filter = new AppointmentFilter();
-
-    Page<Appointment> result = appointmentRepository.findAllWithFilters(patient1.getId(), filter);
-
-    assertEquals(1, result.getTotalElements());
-    assertEquals(patient1.getId(), result.getContent().getFirst().getPatient().getId());
-  }
-
   @Test
   @DisplayName("Should filter appointments by status and date range")
-  void findAllWithFilters_shouldFilterByStatusAndDateRange() {
+  void findResponsesWithFilters_shouldFilterByStatusAndDateRange() {
 
     LocalDateTime now = LocalDateTime.now();
 
@@ -222,18 +220,19 @@ class AppointmentRepositoryImplTest {
     filter.setStartDate(LocalDate.now().minusDays(2));
     filter.setEndDate(LocalDate.now());
 
-    Page<Appointment> result = appointmentRepository.findAllWithFilters(patient1.getId(), filter);
+    Page<AppointmentResponse> result =
+        appointmentRepository.findResponsesWithFilters(patient1.getId(), filter);
 
     assertEquals(1, result.getTotalElements());
 
-    Appointment filtered = result.getContent().getFirst();
+    AppointmentResponse filtered = result.getContent().getFirst();
     assertEquals(AppointmentStatus.COMPLETED, filtered.getStatus());
     assertTrue(filtered.getStartTime().isAfter(now.minusDays(2)));
   }
 
   @Test
   @DisplayName("Should filter appointments by doctor id")
-  void findAllWithFilters_shouldFilterByDoctor() {
+  void findResponsesWithFilters_shouldFilterByDoctor() {
 
     createAppointment(patient1, doctor1, LocalDateTime.now(), AppointmentStatus.SCHEDULED);
 
@@ -242,9 +241,404 @@ class AppointmentRepositoryImplTest {
     AppointmentFilter filter = new AppointmentFilter();
     filter.setDoctorId(doctor1.getId());
 
-    Page<Appointment> result = appointmentRepository.findAllWithFilters(patient1.getId(), filter);
+    Page<AppointmentResponse> result =
+        appointmentRepository.findResponsesWithFilters(patient1.getId(), filter);
 
     assertEquals(1, result.getTotalElements());
     assertEquals(doctor1.getId(), result.getContent().getFirst().getDoctor().getId());
   }
+
+  @Test
+  @DisplayName("Should page appointments by cursor without repeating or skipping records")
+  void findAllWithCursor_shouldWalkAllPages() {
+    List<Long> expected = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      expected.addFirst(
+          createAppointment(
+                  patient1, doctor1, LocalDateTime.now().plusDays(i), AppointmentStatus.SCHEDULED)
+              .getId());
+    }
+    createAppointment(patient2, doctor1, LocalDateTime.now(), AppointmentStatus.SCHEDULED);
+
+    AppointmentFilter filter = new AppointmentFilter();
+    filter.setPageSize(2);
+    filter.setAfter("");
+
+    List<Long> visited = new ArrayList<>();
+    List<Integer> pageSizes = new ArrayList<>();
+    CursorPage<Appointment> page;
+    do {
+      page = appointmentRepository.findAllWithCursor(patient1.getId(), filter);
+      page.getContent().forEach(a -> visited.add(a.getId()));
+      pageSizes.add(page.getContent().size());
+      filter.setAfter(page.getNextCursor());
+    } while (page.isHasNext());
+
+    assertEquals(List.of(2, 2, 1), pageSizes);
+    assertEquals(expected, visited);
+    assertNull(page.getNextCursor());
+  }
+
+  @Test
+  @DisplayName("Should keep applying the filters when paging by cursor")
+  void findAllWithCursor_shouldApplyFilters() {
+    createAppointment(patient1, doctor1, LocalDateTime.now(), AppointmentStatus.SCHEDULED);
+    createAppointment(patient1, doctor2, LocalDateTime.now(), AppointmentStatus.SCHEDULED);
+
+    AppointmentFilter filter = new AppointmentFilter();
+    filter.setDoctorId(doctor2.getId());
+    filter.setAfter("");
+
+    CursorPage<Appointment> page =
+        appointmentRepository.findAllWithCursor(patient1.getId(), filter);
+
+    assertEquals(1, page.getContent().size());
+    assertEquals(doctor2.getId(), page.getContent().getFirst().getDoctor().getId());
+    assertFalse(page.isHasNext());
+  }
+
+  @Test
+  @DisplayName("Should reject a cursor page size below one")
+  void findAllWithCursor_shouldRejectEmptyPage() {
+    createAppointment(patient1, doctor1, LocalDateTime.now(), AppointmentStatus.SCHEDULED);
+
+    AppointmentFilter filter = new AppointmentFilter();
+    filter.setPageSize(0);
+    filter.setAfter("");
+
+    assertThrows(
+        BadRequestException.class,
+        () -> appointmentRepository.findAllWithCursor(patient1.getId(), filter));
+  }
+
+  @Test
+  @DisplayName("Should cap the cursor page size")
+  void findAllWithCursor_shouldCapPageSize() {
+    createAppointment(patient1, doctor1, LocalDateTime.now(), AppointmentStatus.SCHEDULED);
+    createAppointment(patient1, doctor2, LocalDateTime.now(), AppointmentStatus.SCHEDULED);
+
+    AppointmentFilter filter = new AppointmentFilter();
+    filter.setPageSize(Integer.MAX_VALUE);
+    filter.setAfter("");
+
+    CursorPage<Appointment> page =
+        appointmentRepository.findAllWithCursor(patient1.getId(), filter);
+
+    assertEquals(PageSize.MAX, page.getSize());
+    assertEquals(2, page.getContent().size());
+    assertFalse(page.isHasNext());
+  }
+
+  @Test
+  @DisplayName("Should return a slice of appointments without counting")
+  void findResponseSliceWithFilters_shouldTellWhetherThereIsNextPage() {
+    createAppointment(patient1, doctor1, LocalDateTime.now(), AppointmentStatus.SCHEDULED);
+    createAppointment(patient1, doctor2, LocalDateTime.now(), AppointmentStatus.SCHEDULED);
+    createAppointment(patient2, doctor2, LocalDateTime.now(), AppointmentStatus.SCHEDULED);
+
+    AppointmentFilter filter = new AppointmentFilter();
+    filter.setPageSize(1);
+
+    Slice<AppointmentResponse> first =
+        appointmentRepository.findResponseSliceWithFilters(patient1.getId(), filter);
+
+    filter.setPageNumber(1);
+    Slice<AppointmentResponse> last =
+        appointmentRepository.findResponseSliceWithFilters(patient1.getId(), filter);
+
+    assertEquals(1, first.getNumberOfElements());
+    assertTrue(first.hasNext());
+    assertEquals(1, last.getNumberOfElements());
+    assertFalse(last.hasNext());
+  }
+
+  @Test
+  @DisplayName("Should reject a slice page size below one and cap larger ones")
+  void findResponseSliceWithFilters_shouldCheckPageSize() {
+    createAppointment(patient1, doctor1, LocalDateTime.now(), AppointmentStatus.SCHEDULED);
+    createAppointment(patient1, doctor2, LocalDateTime.now(), AppointmentStatus.SCHEDULED);
+
+    AppointmentFilter filter = new AppointmentFilter();
+    filter.setPageSize(0);
+
+    assertThrows(
+        BadRequestException.class,
+        () -> appointmentRepository.findResponseSliceWithFilters(patient1.getId(), filter));
+
+    filter.setPageSize(Integer.MAX_VALUE);
+    Slice<AppointmentResponse> slice =
+        appointmentRepository.findResponseSliceWithFilters(patient1.getId(), filter);
+
+    assertEquals(PageSize.MAX, slice.getSize());
+    assertEquals(2, slice.getNumberOfElements());
+    assertFalse(slice.hasNext());
+  }
+
+  @Test
+  @DisplayName("Should detect overlapping appointments of the doctor and the patient")
+  void existsOverlap_shouldDetectOverlappingIntervals() {
+    LocalDateTime start = LocalDateTime.of(2030, 5, 10, 10, 0);
+    Appointment booked = createAppointment(patient1, doctor1, start, AppointmentStatus.SCHEDULED);
+    createAppointment(patient2, doctor2, start, AppointmentStatus.CANCELLED);
+
+    assertTrue(
+        appointmentRepository.existsDoctorOverlap(
+            doctor1.getId(), start.plusMinutes(30), start.plusMinutes(90), null));
+    assertTrue(
+        appointmentRepository.existsPatientOverlap(
+            patient1.getId(), start.minusMinutes(30), start.plusMinutes(30), null));
+
+    // Back-to-back, cancelled and the appointment itself do not count as overlaps
+    assertFalse(
+        appointmentRepository.existsDoctorOverlap(
+            doctor1.getId(), start.plusHours(1), start.plusHours(2), null));
+    assertFalse(
+        appointmentRepository.existsDoctorOverlap(
+            doctor2.getId(), start, start.plusHours(1), null));
+    assertFalse(
+        appointmentRepository.existsPatientOverlap(
+            patient1.getId(), start, start.plusHours(1), booked.getId()));
+  }
+
+  @Test
+  @DisplayName("Should list the booked slots of appointments not cancelled nor ended")
+  void findBookedSlotsEndingAfter_shouldSkipCancelledAndEndedAppointments() {
+    LocalDateTime start = LocalDateTime.of(2030, 5, 10, 10, 0);
+    Appointment booked = createAppointment(patient1, doctor1, start, AppointmentStatus.SCHEDULED);
+    createAppointment(patient2, doctor2, start, AppointmentStatus.CANCELLED);
+    createAppointment(patient2, doctor1, start.minusHours(1), AppointmentStatus.SCHEDULED);
+
+    var slots = appointmentRepository.findBookedSlotsEndingAfter(start);
+
+    assertEquals(1, slots.size());
+    assertEquals(booked.getId(), slots.getFirst().getId());
+    assertEquals(doctor1.getId(), slots.getFirst().getDoctorId());
+    assertEquals(patient1.getId(), slots.getFirst().getPatientId());
+    assertEquals(start.plusHours(1), slots.getFirst().getEndTime());
+  }
+
+  @Test
+  @DisplayName("Should list the booked slots of the doctors overlapping the range")
+  void findBookedSlotsByDoctorIds_shouldFilterByDoctorsAndRange() {
+    LocalDateTime start = LocalDateTime.of(2030, 5, 10, 10, 0);
+    Appointment booked = createAppointment(patient1, doctor1, start, AppointmentStatus.SCHEDULED);
+    createAppointment(patient1, doctor1, start.plusDays(2), AppointmentStatus.SCHEDULED);
+    createAppointment(patient2, doctor1, start.plusHours(2), AppointmentStatus.CANCELLED);
+    createAppointment(patient2, doctor2, start, AppointmentStatus.SCHEDULED);
+
+    var slots =
+        appointmentRepository.findBookedSlotsByDoctorIds(
+            List.of(doctor1.getId()),
+            start.toLocalDate().atStartOfDay(),
+            start.toLocalDate().plusDays(1).atStartOfDay());
+
+    assertEquals(1, slots.size());
+    assertEquals(booked.getId(), slots.getFirst().getId());
+  }
+
+  @Test
+  @DisplayName("Should project the appointments straight into responses")
+  void findResponsesWithFilters_shouldProjectResponses() {
+    Appointment saved =
+        createAppointment(patient1, doctor1, LocalDateTime.now(), AppointmentStatus.SCHEDULED);
+
+    AppointmentFilter filter = new AppointmentFilter();
+    var page = appointmentRepository.findResponsesWithFilters(patient1.getId(), filter);
+
+    assertEquals(1, page.getTotalElements());
+    var response = page.getContent().getFirst();
+    assertAll(
+        () -> assertEquals(saved.getId(), response.getId()),
+        () -> assertEquals(AppointmentStatus.SCHEDULED, response.getStatus()),
+        () -> assertEquals(AppointmentType.CONSULTATION, response.getType()),
+        () -> assertEquals("General checkup", response.getDescription()),
+        () -> assertEquals(patient1.getId(), response.getPatient().getId()),
+        () -> assertEquals("john.doe@gmail.com", response.getPatient().getEmail()),
+        () -> assertEquals(doctor1.getId(), response.getDoctor().getId()),
+        () -> assertEquals("Cardiology", response.getDoctor().getSpeciality()));
+  }
+
+  @Test
+  @DisplayName("Should read a page of responses with one query plus the count")
+  void findResponsesWithFilters_shouldUseOneStatementPerQuery() {
+    for (int i = 0; i < 5; i++) {
+      createAppointment(
+          patient1,
+          i % 2 == 0 ? doctor1 : doctor2,
+          LocalDateTime.now().plusDays(i),
+          AppointmentStatus.SCHEDULED);
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    Statistics statistics =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    AppointmentFilter filter = new AppointmentFilter();
+
+    statistics.clear();
+    var page = appointmentRepository.findResponsesWithFilters(patient1.getId(), filter);
+    assertEquals(5, page.getNumberOfElements());
+    assertEquals(2, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+
+    filter.setWithTotal(false);
+    statistics.clear();
+    var slice = appointmentRepository.findResponseSliceWithFilters(patient1.getId(), filter);
+    assertEquals(5, slice.getNumberOfElements());
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  @Test
+  @DisplayName("Should insert appointments in JDBC batches with pooled sequence ids")
+  void saveAll_shouldBatchInserts() {
+    LocalDateTime start = LocalDateTime.of(2030, 5, 10, 8, 0);
+    List<Appointment> appointments = new ArrayList<>();
+    for (int i = 0; i < 120; i++) {
+      appointments.add(
+          Appointment.builder()
+              .patient(patient1)
+              .doctor(doctor1)
+              .startTime(start.plusHours(i))
+              .endTime(start.plusHours(i + 1))
+              .duration(60)
+              .type(AppointmentType.CONSULTATION)
+              .title("Consultation")
+              .status(AppointmentStatus.SCHEDULED)
+              .createdAt(LocalDateTime.now())
+              .build());
+    }
+
+    Statistics statistics =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    appointmentRepository.saveAll(appointments);
+    entityManager.flush();
+
+    // 3 blocks of 50 ids from the sequence and 3 insert batches instead of 120 round trips
+    assertTrue(statistics.getPrepareStatementCount() <= 6);
+    assertEquals(120, statistics.getEntityInsertCount());
+    assertEquals(120, appointments.stream().map(Appointment::getId).distinct().count());
+    assertTrue(appointments.stream().allMatch(a -> a.getId() > 0));
+  }
+
+  @Test
+  @DisplayName("Should list the booked slots of the patients overlapping the range")
+  void findBookedSlotsByPatientIds_shouldFilterByPatientsAndRange() {
+    LocalDateTime start = LocalDateTime.of(2030, 5, 10, 10, 0);
+    Appointment booked = createAppointment(patient1, doctor1, start, AppointmentStatus.SCHEDULED);
+    createAppointment(patient1, doctor2, start.plusDays(2), AppointmentStatus.SCHEDULED);
+    createAppointment(patient2, doctor2, start, AppointmentStatus.SCHEDULED);
+
+    var slots =
+        appointmentRepository.findBookedSlotsByPatientIds(
+            List.of(patient1.getId()), start.minusHours(1), start.plusHours(3));
+
+    assertEquals(1, slots.size());
+    assertEquals(booked.getId(), slots.getFirst().getId());
+  }
+
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  @DisplayName("Should stream every matching appointment from a cursor")
+  void streamResponses_shouldReadAllRows() {
+    // The stateless session uses its own connection, so the rows must be committed
+    try {
+      for (int i = 0; i < 30; i++) {
+        createAppointment(
+            patient1, doctor1, LocalDateTime.now().plusDays(i), AppointmentStatus.SCHEDULED);
+      }
+      createAppointment(patient2, doctor1, LocalDateTime.now(), AppointmentStatus.SCHEDULED);
+
+      List<AppointmentResponse> rows;
+      try (var stream =
+          appointmentRepository.streamResponses(patient1.getId(), new AppointmentFilter())) {
+        rows = stream.toList();
+      }
+
+      assertEquals(30, rows.size());
+      assertTrue(rows.stream().allMatch(r -> r.getPatient().getId().equals(patient1.getId())));
+      assertEquals("Cardiology", rows.getFirst().getDoctor().getSpeciality());
+    } finally {
+      appointmentRepository.deleteAll();
+    }
+  }
+
+  @Test
+  @DisplayName("Should list the doctor schedule within the range ordered by start time")
+  void findDoctorSchedule_shouldOrderByStartTime() {
+    LocalDateTime start = LocalDateTime.of(2030, 5, 10, 8, 0);
+    Appointment late =
+        createAppointment(patient1, doctor1, start.plusHours(5), AppointmentStatus.SCHEDULED);
+    Appointment early = createAppointment(patient2, doctor1, start, AppointmentStatus.SCHEDULED);
+    createAppointment(patient1, doctor1, start.plusDays(1), AppointmentStatus.SCHEDULED);
+    createAppointment(patient1, doctor2, start.plusHours(2), AppointmentStatus.SCHEDULED);
+
+    var schedule =
+        appointmentRepository.findDoctorSchedule(
+            doctor1.getId(),
+            start.toLocalDate().atStartOfDay(),
+            start.toLocalDate().plusDays(1).atStartOfDay());
+
+    assertEquals(
+        List.of(early.getId(), late.getId()),
+        schedule.stream().map(AppointmentResponse::getId).toList());
+    assertEquals(patient2.getId(), schedule.getFirst().getPatient().getId());
+  }
+
+  @Test
+  @DisplayName("Should read the doctor schedule through the doctor and start time index")
+  void findDoctorSchedule_shouldUseCompositeIndex() {
+    String plan =
+        (String)
+            entityManager
+                .createNativeQuery(
+                    "EXPLAIN SELECT a.id FROM appointment a"
+                        + " WHERE a.doctor_id = 1"
+                        + " AND a.start_time >= TIMESTAMP '2030-05-10 00:00:00'"
+                        + " AND a.start_time < TIMESTAMP '2030-05-11 00:00:00'"
+                        + " ORDER BY a.start_time, a.id")
+                .getSingleResult();
+
+    assertTrue(plan.contains("IDX_APPOINTMENT_6"), plan);
+    assertTrue(plan.contains("START_TIME >="), plan);
+  }
+
+  @Test
+  @DisplayName("Should delete a patient and its appointments with two statements however many")
+  void bulkDelete_shouldUseConstantStatements() {
+    Statistics statistics =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    LocalDateTime start = LocalDateTime.of(2030, 5, 10, 8, 0);
+
+    for (int count : new int[] {3, 40}) {
+      Patient patient =
+          patientRepository.save(
+              Patient.builder()
+                  .firstName("Bulk")
+                  .lastName("Patient")
+                  .email("bulk" + count + "@gmail.com")
+                  .address("Street 3")
+                  .dateOfBirth(LocalDate.of(1970, 1, 1))
+                  .createdAt(LocalDateTime.now())
+                  .build());
+      Appointment loaded = null;
+      for (int i = 0; i < count; i++) {
+        loaded =
+            createAppointment(patient, doctor1, start.plusDays(i), AppointmentStatus.SCHEDULED);
+      }
+      entityManager.flush();
+
+      statistics.clear();
+      int appointments = appointmentRepository.bulkDeleteByPatientId(patient.getId());
+      int patients = patientRepository.bulkDeleteById(patient.getId());
+
+      assertEquals(count, appointments);
+      assertEquals(1, patients);
+      assertEquals(2, statistics.getPrepareStatementCount());
+      assertFalse(entityManager.contains(loaded));
+      assertTrue(patientRepository.findById(patient.getId()).isEmpty());
+    }
+  }
 }
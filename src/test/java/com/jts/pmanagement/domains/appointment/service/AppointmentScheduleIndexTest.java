@@ -0,0 +1,148 @@
+package com.jts.pmanagement.domains.appointment.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.jts.pmanagement.common.exception.ConflictException;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentStatus;
+import com.jts.pmanagement.domains.appointment.dto.BookedSlot;
+import com.jts.pmanagement.domains.appointment.model.Appointment;
+import com.jts.pmanagement.domains.appointment.repository.AppointmentRepository;
+import com.jts.pmanagement.domains.doctor.model.Doctor;
+import com.jts.pmanagement.domains.patient.model.Patient;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Appointment Schedule Index Unit Tests")
+class AppointmentScheduleIndexTest {
+
+  private static final LocalDateTime NINE = LocalDateTime.of(2030, 5, 10, 9, 0);
+
+  @Mock private AppointmentRepository appointmentRepository;
+
+  @InjectMocks private AppointmentScheduleIndex scheduleIndex;
+
+  private Appointment appointment(Long id, Long doctorId, Long patientId, LocalDateTime start) {
+    return Appointment.builder()
+        .id(id)
+        .doctor(Doctor.builder().id(doctorId).build())
+        .patient(Patient.builder().id(patientId).build())
+        .startTime(start)
+        .endTime(start.plusHours(1))
+        .build();
+  }
+
+  @Test
+  @DisplayName("checkAvailability rejects an overlap with a registered appointment")
+  void checkAvailability_registeredOverlap() {
+    scheduleIndex.register(appointment(1L, 2L, 3L, NINE));
+
+    var conflict =
+        assertThrows(
+            ConflictException.class,
+            () -> scheduleIndex.checkAvailability(appointment(null, 2L, 4L, NINE.plusMinutes(30))));
+    assertTrue(conflict.getMessage().startsWith("Doctor with Id 2"));
+    verifyNoInteractions(appointmentRepository);
+  }
+
+  @Test
+  @DisplayName("checkAvailability confirms a free slot against the database")
+  void checkAvailability_databaseOverlap() {
+    when(appointmentRepository.existsDoctorOverlap(eq(2L), any(), any(), eq(null)))
+        .thenReturn(false);
+    when(appointmentRepository.existsPatientOverlap(eq(4L), any(), any(), eq(null)))
+        .thenReturn(true);
+
+    var conflict =
+        assertThrows(
+            ConflictException.class,
+            () -> scheduleIndex.checkAvailability(appointment(null, 2L, 4L, NINE)));
+    assertTrue(conflict.getMessage().startsWith("Patient with Id 4"));
+  }
+
+  @Test
+  @DisplayName("checkAvailability of a batch reports overlaps with booked and batch appointments")
+  void checkAvailability_batch() {
+    when(appointmentRepository.findBookedSlotsByDoctorIds(any(), eq(NINE), any()))
+        .thenReturn(List.of(new BookedSlot(1L, 2L, 3L, NINE, NINE.plusHours(1))));
+    when(appointmentRepository.findBookedSlotsByPatientIds(any(), eq(NINE), any()))
+        .thenReturn(List.of(new BookedSlot(1L, 2L, 3L, NINE, NINE.plusHours(1))));
+
+    var conflicts =
+        scheduleIndex.checkAvailability(
+            List.of(
+                appointment(null, 2L, 4L, NINE),
+                appointment(null, 5L, 4L, NINE.plusHours(2)),
+                appointment(null, 6L, 4L, NINE.plusHours(2).plusMinutes(30)),
+                appointment(null, 6L, 7L, NINE.plusHours(3))));
+
+    assertAll(
+        () -> assertTrue(conflicts.get(0).getMessage().startsWith("Doctor with Id 2")),
+        () -> assertNull(conflicts.get(1)),
+        () -> assertTrue(conflicts.get(2).getMessage().startsWith("Patient with Id 4")),
+        () -> assertNull(conflicts.get(3)));
+    verify(appointmentRepository).findBookedSlotsByDoctorIds(any(), any(), any());
+    verify(appointmentRepository).findBookedSlotsByPatientIds(any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("register frees the slot of a cancelled appointment")
+  void register_cancelled() {
+    Appointment booked = appointment(1L, 2L, 3L, NINE);
+    scheduleIndex.register(booked);
+
+    booked.setStatus(AppointmentStatus.CANCELLED);
+    scheduleIndex.register(booked);
+
+    when(appointmentRepository.existsDoctorOverlap(any(), any(), any(), any())).thenReturn(false);
+    when(appointmentRepository.existsPatientOverlap(any(), any(), any(), any())).thenReturn(false);
+    assertDoesNotThrow(() -> scheduleIndex.checkAvailability(appointment(null, 2L, 3L, NINE)));
+  }
+
+  @Test
+  @DisplayName("unregisterPatient drops the agenda of the patient and frees its doctor slots")
+  void unregisterPatient_dropsAgenda() {
+    scheduleIndex.register(appointment(1L, 2L, 3L, NINE));
+    scheduleIndex.register(appointment(5L, 6L, 3L, NINE.plusHours(2)));
+
+    scheduleIndex.unregisterPatient(3L);
+
+    assertFalse(scheduleIndex.hasPatientAgenda(3L));
+    assertFalse(scheduleIndex.hasDoctorAgenda(2L));
+    assertFalse(scheduleIndex.hasDoctorAgenda(6L));
+  }
+
+  @Test
+  @DisplayName("load keeps the upcoming appointments only")
+  void load_upcomingOnly() {
+    when(appointmentRepository.findBookedSlotsEndingAfter(any()))
+        .thenReturn(List.of(new BookedSlot(1L, 2L, 3L, NINE, NINE.plusHours(1))));
+
+    scheduleIndex.load();
+
+    verify(appointmentRepository).findBookedSlotsEndingAfter(any());
+    assertTrue(scheduleIndex.hasDoctorAgenda(2L));
+  }
+
+  @Test
+  @DisplayName("evictEndedBefore drops the ended appointments and their empty agendas")
+  void evictEndedBefore_dropsEnded() {
+    scheduleIndex.register(appointment(1L, 2L, 3L, NINE));
+    scheduleIndex.register(appointment(5L, 2L, 4L, NINE.plusHours(2)));
+
+    assertEquals(1, scheduleIndex.evictEndedBefore(NINE.plusHours(1)));
+
+    assertFalse(scheduleIndex.hasPatientAgenda(3L));
+    assertTrue(scheduleIndex.hasPatientAgenda(4L));
+    assertTrue(scheduleIndex.hasDoctorAgenda(2L));
+  }
+}
@@ -0,0 +1,130 @@
+package com.jts.pmanagement.domains.appointment.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.jts.pmanagement.common.exception.ConflictException;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentType;
+import com.jts.pmanagement.domains.appointment.model.Appointment;
+import com.jts.pmanagement.domains.appointment.repository.AppointmentRepository;
+import com.jts.pmanagement.domains.doctor.model.Doctor;
+import com.jts.pmanagement.domains.doctor.repository.DoctorRepository;
+import com.jts.pmanagement.domains.doctor.repository.SpecialityRepository;
+import com.jts.pmanagement.domains.patient.model.Patient;
+import com.jts.pmanagement.domains.patient.repository.PatientRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/** Books the same slot from several threads at once, against the real database. */
+@SpringBootTest
+@DisplayName("Appointment Service Concurrency")
+class AppointmentServiceConcurrencyTest {
+
+  private static final int BOOKINGS = 6;
+  private static final LocalDateTime START = LocalDateTime.of(2031, 4, 7, 10, 0);
+
+  @Autowired private AppointmentService appointmentService;
+
+  @Autowired private AppointmentScheduleIndex scheduleIndex;
+
+  @Autowired private AppointmentRepository appointmentRepository;
+
+  @Autowired private DoctorRepository doctorRepository;
+
+  @Autowired private PatientRepository patientRepository;
+
+  @Autowired private SpecialityRepository specialityRepository;
+
+  @AfterEach
+  void tearDown() {
+    appointmentRepository.deleteAllInBatch();
+    doctorRepository.deleteAllInBatch();
+    patientRepository.deleteAllInBatch();
+    scheduleIndex.load();
+  }
+
+  @Test
+  @DisplayName("Should book a doctor slot once when the bookings run concurrently")
+  void insert_shouldNotDoubleBookDoctor() throws Exception {
+    var doctor = doctorRepository.save(doctor());
+    var patients = new ArrayList<Patient>();
+    for (int i = 0; i < BOOKINGS; i++) {
+      patients.add(patientRepository.save(patient(i)));
+    }
+
+    var barrier = new CyclicBarrier(BOOKINGS);
+    var results = new ArrayList<Future<Appointment>>();
+    try (var executor = Executors.newFixedThreadPool(BOOKINGS)) {
+      for (var patient : patients) {
+        results.add(
+            executor.submit(
+                () -> {
+                  barrier.await();
+                  return appointmentService.insert(appointment(doctor, patient));
+                }));
+      }
+    }
+
+    int booked = 0;
+    List<Throwable> failures = new ArrayList<>();
+    for (var result : results) {
+      try {
+        result.get();
+        booked++;
+      } catch (ExecutionException e) {
+        failures.add(e.getCause());
+      }
+    }
+
+    assertEquals(1, booked);
+    assertTrue(
+        failures.stream().allMatch(ConflictException.class::isInstance), () -> "" + failures);
+    assertEquals(1, appointmentRepository.count());
+  }
+
+  private Doctor doctor() {
+    return Doctor.builder()
+        .firstName("John")
+        .lastName("Foreman")
+        .title("Dr.")
+        .speciality(specialityRepository.findAll().getFirst())
+        .email("concurrent.doctor@email.com")
+        .phone("123456")
+        .department("Primary Care")
+        .createdAt(LocalDateTime.now())
+        .build();
+  }
+
+  private static Patient patient(int index) {
+    return Patient.builder()
+        .firstName("Jane")
+        .lastName("Roe")
+        .email("concurrent.patient" + index + "@gmail.com")
+        .address("Street 1")
+        .dateOfBirth(LocalDate.of(1990, 1, 1))
+        .createdAt(LocalDateTime.now())
+        .build();
+  }
+
+  private static Appointment appointment(Doctor doctor, Patient patient) {
+    return Appointment.builder()
+        .doctor(Doctor.builder().id(doctor.getId()).build())
+        .patient(Patient.builder().id(patient.getId()).build())
+        .startTime(START)
+        .type(AppointmentType.CONSULTATION)
+        .title("Checkup")
+        .description("Knee pain")
+        .followUpRequired(false)
+        .build();
+  }
+}
@@ -1,24 +1,36 @@
 package com.jts.pmanagement.domains.appointment.service;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
+import com.jts.pmanagement.common.exception.BadRequestException;
 import com.jts.pmanagement.common.exception.ConflictException;
 import com.jts.pmanagement.common.exception.NotFoundException;
+import com.jts.pmanagement.common.filter.CursorPage;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentFilter;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentRequest;
+import com.jts.pmanagement.domains.appointment.dto.AppointmentResponse;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentStatus;
 import com.jts.pmanagement.domains.appointment.dto.AppointmentType;
+import com.jts.pmanagement.domains.appointment.dto.BulkAppointmentResult;
+import com.jts.pmanagement.domains.appointment.dto.BulkAppointmentStatus;
 import com.jts.pmanagement.domains.appointment.dto.CancelAppointmentRequest;
+import com.jts.pmanagement.domains.appointment.dto.DoctorScheduleFilter;
 import com.jts.pmanagement.domains.appointment.model.Appointment;
 import com.jts.pmanagement.domains.appointment.repository.AppointmentRepository;
+import com.jts.pmanagement.domains.doctor.dto.DoctorDetails;
 import com.jts.pmanagement.domains.doctor.model.Doctor;
 import com.jts.pmanagement.domains.doctor.service.DoctorService;
 import com.jts.pmanagement.domains.patient.model.Patient;
 import com.jts.pmanagement.domains.patient.service.PatientService;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -35,6 +47,7 @@ class AppointmentServiceTest {
   @Mock private DoctorService doctorService;
   @Mock private PatientService patientService;
   @Mock private AppointmentRepository appointmentRepository;
+  @Mock private AppointmentScheduleIndex scheduleIndex;
 
   @InjectMocks private AppointmentService appointmentService;
 
@@ -69,27 +82,59 @@ class AppointmentServiceTest {
         NotFoundException.class, () -> appointmentService.findById(appointmentId, patientId));
   }
 
+  @Test
+  @DisplayName("findByIdEnriched loads the appointment with its patient and doctor")
+  void findByIdEnriched_success() {
+    Long patientId = 1L;
+    Long appointmentId = 2L;
+    Appointment appointment = new Appointment();
+    appointment.setId(appointmentId);
+
+    when(appointmentRepository.findWithDetailsByIdAndPatientId(appointmentId, patientId))
+        .thenReturn(Optional.of(appointment));
+
+    Appointment result = appointmentService.findByIdEnriched(patientId, appointmentId);
+    assertEquals(appointmentId, result.getId());
+    verify(appointmentRepository, never()).findByIdAndPatientId(appointmentId, patientId);
+  }
+
   @Test
   @DisplayName("findAllByPatientId returns paginated results")
   void findAllByPatientId_success() {
     AppointmentFilter filter = new AppointmentFilter();
     Long patientId = 1L;
 
-    Appointment appointment = new Appointment();
-    Page<Appointment> page = new PageImpl<>(Collections.singletonList(appointment));
+    AppointmentResponse response = new AppointmentResponse();
+    Page<AppointmentResponse> page = new PageImpl<>(Collections.singletonList(response));
 
-    when(appointmentRepository.findAllWithFilters(patientId, filter)).thenReturn(page);
+    when(appointmentRepository.findResponsesWithFilters(patientId, filter)).thenReturn(page);
 
-    Page<Appointment> result = appointmentService.findAllByPatientId(patientId, filter);
+    Page<AppointmentResponse> result = appointmentService.findAllByPatientId(patientId, filter);
     assertEquals(1, result.getTotalElements());
-    verify(appointmentRepository).findAllWithFilters(patientId, filter);
+    verify(appointmentRepository).findResponsesWithFilters(patientId, filter);
+  }
+
+  @Test
+  @DisplayName("findAllByPatientIdWithCursor returns the cursor page from the repository")
+  void findAllByPatientIdWithCursor_success() {
+    AppointmentFilter filter = new AppointmentFilter();
+    filter.setAfter("");
+    Long patientId = 1L;
+
+    CursorPage<Appointment> page = new CursorPage<>(List.of(new Appointment()), 10, true, "abc");
+
+    when(appointmentRepository.findAllWithCursor(patientId, filter)).thenReturn(page);
+
+    CursorPage<Appointment> result =
+        appointmentService.findAllByPatientIdWithCursor(patientId, filter);
+    assertEquals("abc", result.getNextCursor());
+    verify(appointmentRepository).findAllWithCursor(patientId, filter);
   }
 
   @Test
   @DisplayName("insert sets correct fields and saves appointment")
   void insert_success() {
-    Doctor doctor = new Doctor();
-    doctor.setId(2L);
+    Doctor doctor = Doctor.builder().id(2L).firstName("John").build();
     Patient patient = new Patient();
     patient.setId(1L);
 
@@ -100,7 +145,8 @@ class AppointmentServiceTest {
     appointment.getPatient().setId(1L);
     appointment.setStartTime(LocalDateTime.now());
 
-    when(doctorService.findById(2L)).thenReturn(doctor);
+    when(doctorService.findById(2L)).thenReturn(DoctorDetails.of(doctor));
+    when(doctorService.getReference(2L)).thenReturn(Doctor.builder().id(2L).build());
     when(patientService.findById(1L)).thenReturn(patient);
 
     Appointment result = appointmentService.insert(appointment);
@@ -114,7 +160,30 @@ class AppointmentServiceTest {
         () -> assertNotNull(result.getCreatedAt()),
         () -> assertNotNull(result.getEndTime()));
 
+    verify(scheduleIndex).checkAvailability(result);
     verify(appointmentRepository).save(result);
+    verify(scheduleIndex).register(result);
+  }
+
+  @Test
+  @DisplayName("insert throws ConflictException and does not save when the slot is taken")
+  void insert_overlapConflict() {
+    Appointment appointment = new Appointment();
+    appointment.setDoctor(new Doctor());
+    appointment.getDoctor().setId(2L);
+    appointment.setPatient(new Patient());
+    appointment.getPatient().setId(1L);
+    appointment.setStartTime(LocalDateTime.now());
+
+    when(doctorService.findById(2L)).thenReturn(DoctorDetails.of(appointment.getDoctor()));
+    when(doctorService.getReference(2L)).thenReturn(appointment.getDoctor());
+    when(patientService.findById(1L)).thenReturn(appointment.getPatient());
+    doThrow(new ConflictException("overlap")).when(scheduleIndex).checkAvailability(appointment);
+
+    assertThrows(ConflictException.class, () -> appointmentService.insert(appointment));
+
+    verify(appointmentRepository, never()).save(any());
+    verify(scheduleIndex, never()).register(any());
   }
 
   @Test
@@ -123,21 +192,21 @@ class AppointmentServiceTest {
     Long id = 1L;
     Long patientId = 2L;
 
-    Doctor doctor = new Doctor();
-    doctor.setId(5L);
+    Doctor doctor = Doctor.builder().id(5L).firstName("John").build();
 
     AppointmentRequest request =
         new AppointmentRequest(
             5L, LocalDateTime.now(), AppointmentType.CONSULTATION, "Checkup", "Desc");
 
+    Patient patient = new Patient();
+    patient.setId(patientId);
     Appointment appointment = new Appointment();
     appointment.setStatus(AppointmentStatus.SCHEDULED);
-    appointment.setPatient(new Patient());
-    appointment.getPatient().setId(patientId);
+    appointment.setPatient(patient);
 
-    when(doctorService.findById(5L)).thenReturn(doctor);
-    when(patientService.findById(patientId)).thenReturn(new Patient());
-    when(appointmentRepository.findByIdAndPatientId(id, patientId))
+    when(doctorService.findById(5L)).thenReturn(DoctorDetails.of(doctor));
+    when(doctorService.getReference(5L)).thenReturn(Doctor.builder().id(5L).build());
+    when(appointmentRepository.findWithPatientByIdAndPatientId(id, patientId))
         .thenReturn(Optional.of(appointment));
 
     Appointment result = appointmentService.update(id, patientId, request);
@@ -147,8 +216,54 @@ class AppointmentServiceTest {
         () -> assertEquals("Checkup", result.getTitle()),
         () -> assertEquals("Desc", result.getDescription()),
         () -> assertEquals(doctor, result.getDoctor()),
+        () -> assertSame(patient, result.getPatient()),
         () -> assertEquals(60, result.getDuration()),
         () -> assertNotNull(result.getEndTime()));
+
+    verify(scheduleIndex).checkAvailability(appointment);
+    verify(scheduleIndex).register(appointment);
+    verify(patientService, never()).findById(any());
+  }
+
+  @Test
+  @DisplayName("update throws NotFoundException for the patient when it does not exist")
+  void update_patientNotFound() {
+    Long id = 1L;
+    Long patientId = 2L;
+
+    AppointmentRequest request = new AppointmentRequest(1L, LocalDateTime.now(), null, null, null);
+
+    when(doctorService.findById(1L)).thenReturn(DoctorDetails.of(new Doctor()));
+    when(appointmentRepository.findWithPatientByIdAndPatientId(id, patientId))
+        .thenReturn(Optional.empty());
+    when(patientService.findById(patientId))
+        .thenThrow(new NotFoundException("Patient with Id 2 was not found"));
+
+    var exception =
+        assertThrows(
+            NotFoundException.class, () -> appointmentService.update(id, patientId, request));
+    assertEquals("Patient with Id 2 was not found", exception.getMessage());
+    verify(appointmentRepository, never()).save(any());
+  }
+
+  @Test
+  @DisplayName("update throws NotFoundException for an appointment of another patient")
+  void update_notOwned() {
+    Long id = 1L;
+    Long patientId = 2L;
+
+    AppointmentRequest request = new AppointmentRequest(1L, LocalDateTime.now(), null, null, null);
+
+    when(doctorService.findById(1L)).thenReturn(DoctorDetails.of(new Doctor()));
+    when(appointmentRepository.findWithPatientByIdAndPatientId(id, patientId))
+        .thenReturn(Optional.empty());
+    when(patientService.findById(patientId)).thenReturn(new Patient());
+
+    var exception =
+        assertThrows(
+            NotFoundException.class, () -> appointmentService.update(id, patientId, request));
+    assertEquals("Appointment with Id 1 was not found", exception.getMessage());
+    verify(appointmentRepository, never()).save(any());
   }
 
   @Test
@@ -164,9 +279,8 @@ class AppointmentServiceTest {
     appointment.setPatient(new Patient());
     appointment.getPatient().setId(patientId);
 
-    when(doctorService.findById(1L)).thenReturn(new Doctor());
-    when(patientService.findById(patientId)).thenReturn(new Patient());
-    when(appointmentRepository.findByIdAndPatientId(id, patientId))
+    when(doctorService.findById(1L)).thenReturn(DoctorDetails.of(new Doctor()));
+    when(appointmentRepository.findWithPatientByIdAndPatientId(id, patientId))
         .thenReturn(Optional.of(appointment));
 
     assertThrows(ConflictException.class, () -> appointmentService.update(id, patientId, request));
@@ -185,7 +299,7 @@ class AppointmentServiceTest {
     appointment.setPatient(new Patient());
     appointment.getPatient().setId(patientId);
 
-    when(appointmentRepository.findByIdAndPatientId(id, patientId))
+    when(appointmentRepository.findWithDetailsByIdAndPatientId(id, patientId))
         .thenReturn(Optional.of(appointment));
 
     Appointment result = appointmentService.cancel(id, patientId, request);
@@ -198,6 +312,7 @@ class AppointmentServiceTest {
         () -> assertNotNull(result.getLastUpdated()));
 
     verify(appointmentRepository).save(appointment);
+    verify(scheduleIndex).unregister(appointment.getId());
   }
 
   @Test
@@ -217,6 +332,7 @@ class AppointmentServiceTest {
     appointmentService.delete(patientId, id);
 
     verify(appointmentRepository).delete(appointment);
+    verify(scheduleIndex).unregister(appointment.getId());
   }
 
   @Test
@@ -235,4 +351,89 @@ class AppointmentServiceTest {
 
     assertThrows(ConflictException.class, () -> appointmentService.delete(patientId, id));
   }
+
+  @Test
+  @DisplayName("insertAll saves the bookable appointments and reports the others")
+  void insertAll_mixedResults() {
+    LocalDateTime start = LocalDateTime.now().plusDays(1);
+    List<Appointment> appointments =
+        List.of(
+            Appointment.builder()
+                .doctor(Doctor.builder().id(2L).build())
+                .patient(Patient.builder().id(1L).build())
+                .startTime(start)
+                .build(),
+            Appointment.builder()
+                .doctor(Doctor.builder().id(9L).build())
+                .patient(Patient.builder().id(1L).build())
+                .startTime(start)
+                .build(),
+            Appointment.builder()
+                .doctor(Doctor.builder().id(2L).build())
+                .patient(Patient.builder().id(8L).build())
+                .startTime(start)
+                .build(),
+            Appointment.builder()
+                .doctor(Doctor.builder().id(2L).build())
+                .patient(Patient.builder().id(1L).build())
+                .startTime(start)
+                .build());
+
+    when(doctorService.lockExistingIds(Set.of(2L, 9L))).thenReturn(Set.of(2L));
+    when(patientService.lockExistingIds(Set.of(1L, 8L))).thenReturn(Set.of(1L));
+    when(doctorService.getReference(2L)).thenReturn(Doctor.builder().id(2L).build());
+    when(patientService.getReference(1L)).thenReturn(Patient.builder().id(1L).build());
+    when(scheduleIndex.checkAvailability(anyList()))
+        .thenReturn(Arrays.asList(null, new ConflictException("Doctor with Id 2 is busy")));
+    when(appointmentRepository.saveAll(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<Appointment> saved = invocation.getArgument(0);
+              saved.forEach(a -> a.setId(50L));
+              return saved;
+            });
+
+    List<BulkAppointmentResult> results = appointmentService.insertAll(appointments);
+
+    assertAll(
+        () -> assertEquals(BulkAppointmentStatus.CREATED, results.get(0).getStatus()),
+        () -> assertEquals(50L, results.get(0).getAppointmentId()),
+        () -> assertEquals("Doctor with Id 9 was not found", results.get(1).getMessage()),
+        () -> assertEquals("Patient with Id 8 was not found", results.get(2).getMessage()),
+        () -> assertEquals("Doctor with Id 2 is busy", results.get(3).getMessage()),
+        () -> assertEquals(AppointmentStatus.SCHEDULED, appointments.get(0).getStatus()));
+
+    verify(appointmentRepository).saveAll(List.of(appointments.get(0)));
+    verify(scheduleIndex).register(appointments.get(0));
+    verify(scheduleIndex, never()).register(appointments.get(3));
+  }
+
+  @Test
+  @DisplayName("findDoctorSchedule reads the inclusive range of days")
+  void findDoctorSchedule_success() {
+    Long doctorId = 3L;
+    DoctorScheduleFilter filter = new DoctorScheduleFilter();
+    filter.setFrom(LocalDate.of(2030, 5, 10));
+    filter.setTo(LocalDate.of(2030, 5, 12));
+    List<AppointmentResponse> schedule = List.of(new AppointmentResponse());
+
+    when(doctorService.findById(doctorId)).thenReturn(DoctorDetails.of(new Doctor()));
+    when(appointmentRepository.findDoctorSchedule(
+            doctorId, LocalDateTime.of(2030, 5, 10, 0, 0), LocalDateTime.of(2030, 5, 13, 0, 0)))
+        .thenReturn(schedule);
+
+    assertSame(schedule, appointmentService.findDoctorSchedule(doctorId, filter));
+  }
+
+  @Test
+  @DisplayName("findDoctorSchedule rejects a range longer than the limit")
+  void findDoctorSchedule_rangeTooLong() {
+    DoctorScheduleFilter filter = new DoctorScheduleFilter();
+    filter.setFrom(LocalDate.of(2030, 5, 1));
+    filter.setTo(filter.getFrom().plusDays(AppointmentService.MAX_SCHEDULE_DAYS));
+
+    assertThrows(
+        BadRequestException.class, () -> appointmentService.findDoctorSchedule(3L, filter));
+    verifyNoInteractions(doctorService, appointmentRepository);
+  }
 }
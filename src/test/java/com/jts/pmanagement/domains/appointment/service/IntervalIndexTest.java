@@ -0,0 +1,64 @@
+package com.jts.pmanagement.domains.appointment.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.jts.pmanagement.domains.appointment.dto.BookedSlot;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Interval Index Unit Tests")
+class IntervalIndexTest {
+
+  private static final LocalDateTime NINE = LocalDateTime.of(2030, 5, 10, 9, 0);
+
+  private BookedSlot slot(Long id, LocalDateTime start, int minutes) {
+    return new BookedSlot(id, 1L, 1L, start, start.plusMinutes(minutes));
+  }
+
+  @Test
+  @DisplayName("findOverlap finds intervals that start before and end inside the period")
+  void findOverlap_longIntervalStartingBefore() {
+    IntervalIndex index = new IntervalIndex();
+    index.add(slot(1L, NINE, 180));
+    index.add(slot(2L, NINE.plusHours(4), 60));
+
+    var overlap = index.findOverlap(NINE.plusHours(2), NINE.plusHours(3), null);
+
+    assertTrue(overlap.isPresent());
+    assertEquals(1L, overlap.get().getId());
+  }
+
+  @Test
+  @DisplayName("findOverlap ignores back-to-back intervals")
+  void findOverlap_adjacentIntervals() {
+    IntervalIndex index = new IntervalIndex();
+    index.add(slot(1L, NINE, 60));
+    index.add(slot(2L, NINE.plusHours(2), 60));
+
+    assertTrue(index.findOverlap(NINE.plusHours(1), NINE.plusHours(2), null).isEmpty());
+    assertTrue(index.findOverlap(NINE.plusMinutes(59), NINE.plusHours(2), null).isPresent());
+  }
+
+  @Test
+  @DisplayName("findOverlap skips the excluded interval")
+  void findOverlap_excludedId() {
+    IntervalIndex index = new IntervalIndex();
+    index.add(slot(1L, NINE, 60));
+
+    assertTrue(index.findOverlap(NINE, NINE.plusHours(1), 1L).isEmpty());
+    assertTrue(index.findOverlap(NINE, NINE.plusHours(1), 2L).isPresent());
+  }
+
+  @Test
+  @DisplayName("remove frees the interval")
+  void remove_freesInterval() {
+    IntervalIndex index = new IntervalIndex();
+    BookedSlot slot = slot(1L, NINE, 60);
+    index.add(slot);
+    index.remove(slot);
+
+    assertTrue(index.isEmpty());
+    assertTrue(index.findOverlap(NINE, NINE.plusHours(1), null).isEmpty());
+  }
+}
@@ -0,0 +1,69 @@
+package com.jts.pmanagement.domains.availability.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jts.pmanagement.common.exception.BadRequestException;
+import com.jts.pmanagement.domains.availability.dto.AvailabilityFilter;
+import com.jts.pmanagement.domains.availability.dto.AvailableSlot;
+import com.jts.pmanagement.domains.availability.service.AvailabilityService;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(AvailabilityController.class)
+@DisplayName("Availability Controller Unit Test")
+class AvailabilityControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private AvailabilityService service;
+
+  @Test
+  @DisplayName("GET /v1/availability - should return the free slots")
+  void shouldReturnFreeSlots() throws Exception {
+    LocalDateTime start = LocalDateTime.of(2030, 5, 10, 9, 0);
+
+    when(service.findAvailableSlots(any(AvailabilityFilter.class)))
+        .thenReturn(List.of(new AvailableSlot(1L, start, start.plusHours(1))));
+
+    mockMvc
+        .perform(
+            get("/v1/availability")
+                .param("speciality", "3")
+                .param("from", "2030-05-10")
+                .param("to", "2030-05-17"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].doctorId").value(1))
+        .andExpect(jsonPath("$[0].startTime").exists());
+
+    verify(service)
+        .findAvailableSlots(
+            argThat(
+                f ->
+                    f.getSpeciality().equals(3L)
+                        && f.getFrom().equals(LocalDate.of(2030, 5, 10))
+                        && f.getTo().equals(LocalDate.of(2030, 5, 17))
+                        && f.getLimit() == 10));
+  }
+
+  @Test
+  @DisplayName("GET /v1/availability - should return 400 when the search is invalid")
+  void shouldReturnBadRequestWhenSearchIsInvalid() throws Exception {
+    when(service.findAvailableSlots(any(AvailabilityFilter.class)))
+        .thenThrow(new BadRequestException("The speciality must be informed"));
+
+    mockMvc.perform(get("/v1/availability")).andExpect(status().isBadRequest());
+  }
+}
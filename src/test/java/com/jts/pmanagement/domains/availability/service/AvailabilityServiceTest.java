@@ -0,0 +1,144 @@
+package com.jts.pmanagement.domains.availability.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.jts.pmanagement.common.exception.BadRequestException;
+import com.jts.pmanagement.common.exception.NotFoundException;
+import com.jts.pmanagement.domains.appointment.dto.BookedSlot;
+import com.jts.pmanagement.domains.appointment.repository.AppointmentRepository;
+import com.jts.pmanagement.domains.availability.dto.AvailabilityFilter;
+import com.jts.pmanagement.domains.availability.dto.AvailableSlot;
+import com.jts.pmanagement.domains.doctor.repository.DoctorRepository;
+import com.jts.pmanagement.domains.doctor.service.SpecialityCatalogue;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Availability Service Unit Tests")
+class AvailabilityServiceTest {
+
+  private static final LocalDate DAY = LocalDate.of(2030, 5, 10);
+
+  @Mock private SpecialityCatalogue specialityCatalogue;
+  @Mock private DoctorRepository doctorRepository;
+  @Mock private AppointmentRepository appointmentRepository;
+
+  @InjectMocks private AvailabilityService availabilityService;
+
+  private AvailabilityFilter filter(LocalDate from, LocalDate to, int limit) {
+    AvailabilityFilter filter = new AvailabilityFilter();
+    filter.setSpeciality(3L);
+    filter.setFrom(from);
+    filter.setTo(to);
+    filter.setLimit(limit);
+    return filter;
+  }
+
+  private BookedSlot booked(Long doctorId, LocalDateTime start, LocalDateTime end) {
+    return new BookedSlot(null, doctorId, 1L, start, end);
+  }
+
+  @Test
+  @DisplayName("findAvailableSlots merges the agendas and returns the earliest slots")
+  void findAvailableSlots_earliestAcrossDoctors() {
+    when(specialityCatalogue.exists(3L)).thenReturn(true);
+    when(doctorRepository.findIdsBySpecialityId(3L)).thenReturn(List.of(1L, 2L));
+    when(appointmentRepository.findBookedSlotsByDoctorIds(
+            List.of(1L, 2L), DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay()))
+        .thenReturn(
+            List.of(
+                booked(1L, DAY.atTime(8, 0), DAY.atTime(9, 0)),
+                booked(2L, DAY.atTime(8, 30), DAY.atTime(9, 30))));
+
+    List<AvailableSlot> slots = availabilityService.findAvailableSlots(filter(DAY, DAY, 3));
+
+    assertEquals(
+        List.of(
+            new AvailableSlot(1L, DAY.atTime(9, 0), DAY.atTime(10, 0)),
+            new AvailableSlot(2L, DAY.atTime(9, 30), DAY.atTime(10, 30)),
+            new AvailableSlot(1L, DAY.atTime(10, 0), DAY.atTime(11, 0))),
+        slots);
+  }
+
+  @Test
+  @DisplayName("findAvailableSlots skips gaps shorter than a slot and fully booked days")
+  void findAvailableSlots_shortGapsAndBusyDays() {
+    when(specialityCatalogue.exists(3L)).thenReturn(true);
+    when(doctorRepository.findIdsBySpecialityId(3L)).thenReturn(List.of(1L));
+    when(appointmentRepository.findBookedSlotsByDoctorIds(any(), any(), any()))
+        .thenReturn(
+            List.of(
+                booked(1L, DAY.atTime(8, 0), DAY.atTime(17, 0)),
+                booked(1L, DAY.atTime(17, 15), DAY.atTime(18, 0)),
+                booked(1L, DAY.plusDays(1).atTime(7, 0), DAY.plusDays(1).atTime(10, 10))));
+
+    List<AvailableSlot> slots =
+        availabilityService.findAvailableSlots(filter(DAY, DAY.plusDays(1), 1));
+
+    assertEquals(
+        List.of(
+            new AvailableSlot(
+                1L, DAY.plusDays(1).atTime(10, 15), DAY.plusDays(1).atTime(11, 15))),
+        slots);
+  }
+
+  @Test
+  @DisplayName("findAvailableSlots returns no slots when the speciality has no doctors")
+  void findAvailableSlots_noDoctors() {
+    when(specialityCatalogue.exists(3L)).thenReturn(true);
+    when(doctorRepository.findIdsBySpecialityId(3L)).thenReturn(List.of());
+
+    assertTrue(availabilityService.findAvailableSlots(filter(DAY, DAY, 10)).isEmpty());
+    verifyNoInteractions(appointmentRepository);
+  }
+
+  @Test
+  @DisplayName("findAvailableSlots throws NotFoundException if speciality does not exist")
+  void findAvailableSlots_specialityNotFound() {
+    when(specialityCatalogue.exists(3L)).thenReturn(false);
+
+    assertThrows(
+        NotFoundException.class,
+        () -> availabilityService.findAvailableSlots(filter(DAY, DAY, 10)));
+  }
+
+  @Test
+  @DisplayName("findAvailableSlots throws BadRequestException for invalid searches")
+  void findAvailableSlots_invalidFilter() {
+    AvailabilityFilter noSpeciality = filter(DAY, DAY, 10);
+    noSpeciality.setSpeciality(null);
+
+    assertAll(
+        () ->
+            assertThrows(
+                BadRequestException.class,
+                () -> availabilityService.findAvailableSlots(noSpeciality)),
+        () ->
+            assertThrows(
+                BadRequestException.class,
+                () -> availabilityService.findAvailableSlots(filter(DAY, DAY.minusDays(1), 10))),
+        () ->
+            assertThrows(
+                BadRequestException.class,
+                () ->
+                    availabilityService.findAvailableSlots(
+                        filter(DAY, DAY.plusDays(AvailabilityService.MAX_RANGE_DAYS + 1), 10))),
+        () ->
+            assertThrows(
+                BadRequestException.class,
+                () ->
+                    availabilityService.findAvailableSlots(
+                        filter(DAY, DAY, AvailabilityService.MAX_LIMIT + 1))));
+
+    verifyNoInteractions(specialityCatalogue, doctorRepository, appointmentRepository);
+  }
+}
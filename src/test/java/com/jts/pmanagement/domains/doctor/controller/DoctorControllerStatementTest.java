@@ -0,0 +1,192 @@
+package com.jts.pmanagement.domains.doctor.controller;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jts.pmanagement.common.repository.SqlStatementTest;
+import com.jts.pmanagement.domains.doctor.dto.DoctorRequest;
+import com.jts.pmanagement.domains.doctor.model.Doctor;
+import com.jts.pmanagement.domains.doctor.model.Speciality;
+import com.jts.pmanagement.domains.doctor.service.DoctorEmailFilter;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+/**
+ * Pins the SQL statements of the DoctorController endpoints. The web layer is covered by
+ * DoctorControllerTest.
+ */
+@DisplayName("Doctor Controller SQL Statements")
+class DoctorControllerStatementTest extends SqlStatementTest {
+
+  @Autowired private DoctorEmailFilter emailFilter;
+
+  private List<Doctor> doctors;
+
+  @Override
+  protected void insertFixtures() {
+    var specialities = specialityRepository.findAll();
+    doctors =
+        doctorRepository.saveAll(
+            List.of(
+                buildStoredDoctor("statement.a@email.com", specialities.get(0)),
+                buildStoredDoctor("statement.b@email.com", specialities.get(1)),
+                buildStoredDoctor("statement.c@email.com", specialities.get(2))));
+  }
+
+  private Doctor buildStoredDoctor(String email, Speciality speciality) {
+    return Doctor.builder()
+        .firstName("John")
+        .lastName("Foreman")
+        .title("Dr.")
+        .speciality(speciality)
+        .email(email)
+        .phone("123456")
+        .department("Primary Care")
+        .createdAt(LocalDateTime.now())
+        .build();
+  }
+
+  @Test
+  @DisplayName("GET /v1/doctors/{id} - should load the doctor once")
+  void findById() throws Exception {
+    mockMvc
+        .perform(get("/v1/doctors/{id}", doctors.getFirst().getId()))
+        .andExpect(status().isOk());
+    mockMvc
+        .perform(get("/v1/doctors/{id}", doctors.getFirst().getId()))
+        .andExpect(status().isOk());
+
+    // The second call is served from the doctors cache
+    statements.assertStatements(1);
+  }
+
+  @Test
+  @DisplayName("GET /v1/doctors - should list the doctors")
+  void listAll() throws Exception {
+    mockMvc.perform(get("/v1/doctors")).andExpect(status().isOk());
+
+    // Count and page joined to the specialities; 5 when the speciality was an eager @ManyToOne
+    statements.assertStatements(2);
+  }
+
+  @Test
+  @DisplayName("POST /v1/doctors - should insert the doctor")
+  void insert() throws Exception {
+    var request =
+        new DoctorRequest(
+            "Gregory",
+            "House",
+            "Dr.",
+            doctors.getFirst().getSpeciality().getId(),
+            "statement.house@email.com",
+            "123456",
+            "Diagnostics");
+
+    mockMvc
+        .perform(
+            post("/v1/doctors")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isCreated());
+
+    statements.assertStatements(1);
+    statements.assertTransactions(1);
+    statements.assertConnections(1);
+  }
+
+  @Test
+  @DisplayName("PUT /v1/doctors/{id} - should update the doctor")
+  void update() throws Exception {
+    var doctor = doctors.getFirst();
+    var request =
+        new DoctorRequest(
+            "John",
+            "Foreman",
+            "Dr.",
+            doctor.getSpeciality().getId(),
+            doctor.getEmail(),
+            "654321",
+            "Primary Care");
+
+    mockMvc
+        .perform(
+            put("/v1/doctors/{id}", doctor.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk());
+
+    statements.assertStatements(2);
+    statements.assertTransactions(1);
+    statements.assertConnections(1);
+  }
+
+  @Test
+  @DisplayName("PUT /v1/doctors/{id} - should reject the email of another doctor")
+  void update_duplicateEmail() throws Exception {
+    var doctor = doctors.getFirst();
+    var request =
+        new DoctorRequest(
+            "John",
+            "Foreman",
+            "Dr.",
+            doctor.getSpeciality().getId(),
+            doctors.getLast().getEmail(),
+            "123456",
+            "Primary Care");
+
+    mockMvc
+        .perform(
+            put("/v1/doctors/{id}", doctor.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("PUT /v1/doctors/{id} - should reject an email the email filter does not know yet")
+  void update_duplicateEmailMissedByFilter() throws Exception {
+    var doctor = doctors.getFirst();
+    var other =
+        doctorRepository.save(
+            buildStoredDoctor("statement.unfiltered@email.com", doctor.getSpeciality()));
+    // Written behind the service, like by another instance, so the update skips the pre-check
+    assertFalse(emailFilter.mightContain(other.getEmail()));
+    var request =
+        new DoctorRequest(
+            "John",
+            "Foreman",
+            "Dr.",
+            doctor.getSpeciality().getId(),
+            other.getEmail(),
+            "123456",
+            "Primary Care");
+
+    mockMvc
+        .perform(
+            put("/v1/doctors/{id}", doctor.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("DELETE /v1/doctors/{id} - should delete the doctor")
+  void delete() throws Exception {
+    mockMvc
+        .perform(MockMvcRequestBuilders.delete("/v1/doctors/{id}", doctors.getFirst().getId()))
+        .andExpect(status().isNoContent());
+
+    // The select and the delete; the email filter is rebuilt later, by the scheduler
+    statements.assertStatements(2);
+    statements.assertTransactions(1);
+    statements.assertConnections(1);
+  }
+}
@@ -18,6 +18,7 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.jts.pmanagement.common.exception.NotFoundException;
 import com.jts.pmanagement.domains.doctor.controller.mapper.DoctorMapper;
+import com.jts.pmanagement.domains.doctor.dto.DoctorDetails;
 import com.jts.pmanagement.domains.doctor.dto.DoctorFilter;
 import com.jts.pmanagement.domains.doctor.dto.DoctorRequest;
 import com.jts.pmanagement.domains.doctor.dto.DoctorResponse;
@@ -32,6 +33,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -152,7 +155,7 @@ class DoctorControllerTest {
 
     Long id = 1L;
 
-    Doctor doctor = buildDoctor(id);
+    DoctorDetails doctor = DoctorDetails.of(buildDoctor(id));
 
     DoctorResponse response =
         new DoctorResponse(
@@ -204,4 +207,27 @@ class DoctorControllerTest {
 
     verify(service).findAll(any(DoctorFilter.class));
   }
+
+  @Test
+  @DisplayName("GET /v1/doctors?withTotal=false - should return a slice without total")
+  void shouldReturnSliceWithoutTotal() throws Exception {
+    Doctor doctor = buildDoctor(1L);
+
+    DoctorResponse response =
+        new DoctorResponse(
+            1L, "John", "Foreman", "Dr.", "Cardiology", "john@email.com", "123456", "Primary Care");
+
+    when(service.findSlice(any(DoctorFilter.class)))
+        .thenReturn(new SliceImpl<>(List.of(doctor), PageRequest.of(0, 1), true));
+    when(doctorMapper.toDoctorResponse(doctor)).thenReturn(response);
+
+    mockMvc
+        .perform(get("/v1/doctors").param("withTotal", "false"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].id").value(1))
+        .andExpect(jsonPath("$.last").value(false))
+        .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+    verify(service).findSlice(any(DoctorFilter.class));
+  }
 }
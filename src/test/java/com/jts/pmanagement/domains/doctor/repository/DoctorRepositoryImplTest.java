@@ -1,18 +1,23 @@
 package com.jts.pmanagement.domains.doctor.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.jts.pmanagement.common.exception.BadRequestException;
+import com.jts.pmanagement.common.filter.PageSize;
 import com.jts.pmanagement.domains.doctor.dto.DoctorFilter;
 import com.jts.pmanagement.domains.doctor.model.Doctor;
 import com.jts.pmanagement.domains.doctor.model.Speciality;
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 @DataJpaTest
 @DisplayName("Doctor Repository Unit Tests")
@@ -242,4 +247,112 @@ class DoctorRepositoryImplTest {
     assertThat(result.getContent().get(1).getFirstName()).isEqualTo("Jane");
     assertThat(result.getContent().get(2).getFirstName()).isEqualTo("John");
   }
+
+  @Test
+  @DisplayName("findSliceWithFilters - should tell there is a next page without counting")
+  void shouldReturnSliceWithNextPage() {
+    DoctorFilter filter = new DoctorFilter();
+    filter.setPageNumber(0);
+    filter.setPageSize(2);
+
+    Slice<Doctor> first = doctorRepository.findSliceWithFilters(filter);
+
+    filter.setPageNumber(1);
+    Slice<Doctor> last = doctorRepository.findSliceWithFilters(filter);
+
+    assertThat(first.getContent()).hasSize(2);
+    assertThat(first.hasNext()).isTrue();
+    assertThat(last.getContent()).hasSize(1);
+    assertThat(last.hasNext()).isFalse();
+  }
+
+  @Test
+  @DisplayName("findSliceWithFilters - should reject a page size below one and cap larger ones")
+  void shouldCheckSlicePageSize() {
+    DoctorFilter filter = new DoctorFilter();
+    filter.setPageSize(0);
+
+    assertThatThrownBy(() -> doctorRepository.findSliceWithFilters(filter))
+        .isInstanceOf(BadRequestException.class);
+
+    filter.setPageSize(Integer.MAX_VALUE);
+    Slice<Doctor> slice = doctorRepository.findSliceWithFilters(filter);
+
+    assertThat(slice.getSize()).isEqualTo(PageSize.MAX);
+    assertThat(slice.getContent()).hasSize(3);
+    assertThat(slice.hasNext()).isFalse();
+  }
+
+  @Test
+  @DisplayName("findAllWithFilters - should reuse the cached total when requested")
+  void shouldReuseCachedTotal() {
+    DoctorFilter filter = new DoctorFilter();
+    filter.setPageSize(2);
+    filter.setCachedTotal(true);
+
+    Page<Doctor> before = doctorRepository.findAllWithFilters(filter);
+
+    doctorRepository.save(
+        Doctor.builder()
+            .firstName("Carmen")
+            .lastName("Louis")
+            .title("Dr.")
+            .email("carmen.louis@example.com")
+            .phone("4444")
+            .department("Heart")
+            .speciality(cardiology)
+            .createdAt(LocalDateTime.now())
+            .build());
+
+    Page<Doctor> cached = doctorRepository.findAllWithFilters(filter);
+
+    filter.setCachedTotal(false);
+    Page<Doctor> exact = doctorRepository.findAllWithFilters(filter);
+
+    assertThat(cached.getTotalElements()).isEqualTo(before.getTotalElements());
+    assertThat(exact.getTotalElements()).isEqualTo(before.getTotalElements() + 1);
+  }
+
+  @Test
+  @DisplayName("findIdsBySpecialityId - should return the ids of the speciality doctors in order")
+  void shouldFindIdsBySpeciality() {
+    var ids = doctorRepository.findIdsBySpecialityId(cardiology.getId());
+
+    assertThat(ids).hasSize(2).isSorted();
+    assertThat(doctorRepository.findAllById(ids))
+        .allMatch(d -> d.getSpeciality().getId().equals(cardiology.getId()));
+  }
+
+  @Test
+  @DisplayName("findAllWithFilters - should filter by resolved speciality ids")
+  void shouldFilterBySpecialityIds() {
+    DoctorFilter filter = new DoctorFilter();
+    filter.setSpecialityIds(Set.of(neurology.getId()));
+
+    Page<Doctor> result = doctorRepository.findAllWithFilters(filter);
+
+    assertThat(result.getContent()).extracting(Doctor::getFirstName).containsExactly("Jane");
+
+    filter.setSpecialityIds(Set.of());
+    assertThat(doctorRepository.findAllWithFilters(filter).getTotalElements()).isZero();
+  }
+
+  @Test
+  @DisplayName("findAllWithFilters - should filter by resolved doctor ids instead of the names")
+  void shouldFilterByDoctorIds() {
+    Long janeId =
+        doctorRepository.findAll().stream()
+            .filter(d -> d.getFirstName().equals("Jane"))
+            .findFirst()
+            .orElseThrow()
+            .getId();
+
+    DoctorFilter filter = new DoctorFilter();
+    filter.setFirstName("John");
+    filter.setDoctorIds(Set.of(janeId));
+
+    Page<Doctor> result = doctorRepository.findAllWithFilters(filter);
+
+    assertThat(result.getContent()).extracting(Doctor::getId).containsExactly(janeId);
+  }
 }
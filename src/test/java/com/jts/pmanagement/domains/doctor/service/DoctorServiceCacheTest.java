@@ -0,0 +1,113 @@
+package com.jts.pmanagement.domains.doctor.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.jts.pmanagement.common.config.CacheConfig;
+import com.jts.pmanagement.domains.doctor.model.Doctor;
+import com.jts.pmanagement.domains.doctor.repository.DoctorRepository;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.cache.autoconfigure.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@SpringBootTest(classes = {CacheConfig.class, DoctorService.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+@DisplayName("Doctor Service Cache Tests")
+class DoctorServiceCacheTest {
+
+  @Autowired private DoctorService doctorService;
+
+  @Autowired private CacheManager cacheManager;
+
+  @MockitoBean private DoctorRepository doctorRepository;
+
+  @MockitoBean private SpecialityCatalogue specialityCatalogue;
+
+  @MockitoBean private DoctorSearchIndex searchIndex;
+
+  @MockitoBean private DoctorEmailFilter emailFilter;
+
+  @BeforeEach
+  void setUp() {
+    cacheManager.getCache(CacheConfig.DOCTORS).clear();
+  }
+
+  @Test
+  @DisplayName("caches are backed by Caffeine")
+  void cacheManager_isCaffeine() {
+    assertInstanceOf(CaffeineCacheManager.class, cacheManager);
+    assertTrue(cacheManager.getCacheNames().contains(CacheConfig.DOCTORS));
+  }
+
+  @Test
+  @DisplayName("findById reads the doctor from the database once")
+  void findById_isCached() {
+    Doctor doctor = Doctor.builder().id(1L).build();
+    when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+
+    var cached = doctorService.findById(1L);
+    assertSame(cached, doctorService.findById(1L));
+
+    verify(doctorRepository, times(1)).findById(1L);
+  }
+
+  @Test
+  @DisplayName("findById caches a copy that later changes to the entity do not reach")
+  void findById_cachesCopy() {
+    Doctor doctor = Doctor.builder().id(1L).firstName("John").build();
+    when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+
+    doctorService.findById(1L);
+    doctor.setFirstName("Johnny");
+
+    assertEquals("John", doctorService.findById(1L).firstName());
+    assertNotSame(doctorService.findById(1L).toDoctor(), doctorService.findById(1L).toDoctor());
+  }
+
+  @Test
+  @DisplayName("update and delete evict the cached doctor")
+  void updateAndDelete_evictDoctor() {
+    when(doctorRepository.findById(1L))
+        .thenReturn(Optional.of(Doctor.builder().id(1L).firstName("John").build()));
+
+    doctorService.findById(1L);
+    doctorService.update(1L, Doctor.builder().firstName("Johnny").build());
+    doctorService.findById(1L);
+    doctorService.delete(1L);
+
+    assertNull(cacheManager.getCache(CacheConfig.DOCTORS).get(1L));
+    // initial read, the reads inside update and delete, and the read after the update
+    verify(doctorRepository, times(4)).findById(1L);
+  }
+
+  @Test
+  @DisplayName("update evicts the cached doctor only once the transaction commits")
+  void update_evictsDoctorAfterCommit() {
+    when(doctorRepository.findById(1L))
+        .thenReturn(Optional.of(Doctor.builder().id(1L).firstName("John").build()));
+    doctorService.findById(1L);
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      doctorService.update(1L, Doctor.builder().firstName("Johnny").build());
+      assertNotNull(cacheManager.getCache(CacheConfig.DOCTORS).get(1L));
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertNull(cacheManager.getCache(CacheConfig.DOCTORS).get(1L));
+  }
+}
@@ -5,21 +5,29 @@ import static org.mockito.Mockito.*;
 
 import com.jts.pmanagement.common.exception.BadRequestException;
 import com.jts.pmanagement.common.exception.NotFoundException;
+import com.jts.pmanagement.domains.doctor.dto.DoctorDetails;
 import com.jts.pmanagement.domains.doctor.dto.DoctorFilter;
 import com.jts.pmanagement.domains.doctor.model.Doctor;
 import com.jts.pmanagement.domains.doctor.model.Speciality;
 import com.jts.pmanagement.domains.doctor.repository.DoctorRepository;
-import com.jts.pmanagement.domains.doctor.repository.SpecialityRepository;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.SliceImpl;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Doctor Service Unit Tests")
@@ -27,20 +35,32 @@ class DoctorServiceTest {
 
   @Mock private DoctorRepository doctorRepository;
 
-  @Mock private SpecialityRepository specialityRepository;
+  @Mock private SpecialityCatalogue specialityCatalogue;
+
+  @Mock private DoctorSearchIndex searchIndex;
+
+  @Mock private DoctorEmailFilter emailFilter;
+
+  @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+  private CacheManager cacheManager;
 
   @InjectMocks private DoctorService doctorService;
 
   @Test
-  @DisplayName("findById returns doctor when found")
+  @DisplayName("findById returns a copy of the doctor when found")
   void findById_success() {
     Doctor doctor = new Doctor();
     doctor.setId(1L);
+    doctor.setFirstName("John");
+    doctor.setSpeciality(Speciality.builder().id(3L).description("Cardiology").build());
 
     when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
 
-    Doctor result = doctorService.findById(1L);
-    assertEquals(1L, result.getId());
+    DoctorDetails result = doctorService.findById(1L);
+    assertEquals(1L, result.id());
+    assertEquals("John", result.firstName());
+    assertEquals(3L, result.specialityId());
+    assertEquals("Cardiology", result.speciality());
     verify(doctorRepository).findById(1L);
   }
 
@@ -56,11 +76,11 @@ class DoctorServiceTest {
   void findAll_success() {
     DoctorFilter filter = new DoctorFilter();
     Page<Doctor> page = new PageImpl<>(Collections.singletonList(new Doctor()));
-    when(doctorRepository.findAllWithFilters(filter)).thenReturn(page);
+    when(doctorRepository.findAllWithFilters(any())).thenReturn(page);
 
     Page<Doctor> result = doctorService.findAll(filter);
     assertEquals(1, result.getTotalElements());
-    verify(doctorRepository).findAllWithFilters(filter);
+    verify(doctorRepository).findAllWithFilters(any());
   }
 
   @Test
@@ -72,14 +92,17 @@ class DoctorServiceTest {
     speciality.setId(1L);
     doctor.setSpeciality(speciality);
 
+    when(emailFilter.mightContain("doc@example.com")).thenReturn(true);
     when(doctorRepository.existsByEmail("doc@example.com")).thenReturn(false);
-    when(specialityRepository.findById(1L)).thenReturn(Optional.of(speciality));
+    when(specialityCatalogue.findById(1L)).thenReturn(Optional.of(speciality));
 
     doctorService.insert(doctor);
 
     assertNotNull(doctor.getCreatedAt());
     assertEquals(speciality, doctor.getSpeciality());
-    verify(doctorRepository).save(doctor);
+    verify(doctorRepository).saveAndFlush(doctor);
+    verify(searchIndex).put(doctor);
+    verify(emailFilter).add("doc@example.com");
   }
 
   @Test
@@ -88,10 +111,11 @@ class DoctorServiceTest {
     Doctor doctor = new Doctor();
     doctor.setEmail("doc@example.com");
     doctor.setSpeciality(new Speciality());
+    when(emailFilter.mightContain("doc@example.com")).thenReturn(true);
     when(doctorRepository.existsByEmail("doc@example.com")).thenReturn(true);
 
     assertThrows(BadRequestException.class, () -> doctorService.insert(doctor));
-    verify(doctorRepository, never()).save(any());
+    verify(doctorRepository, never()).saveAndFlush(any());
   }
 
   @Test
@@ -103,11 +127,12 @@ class DoctorServiceTest {
     speciality.setId(1L);
     doctor.setSpeciality(speciality);
 
+    when(emailFilter.mightContain("doc@example.com")).thenReturn(true);
     when(doctorRepository.existsByEmail("doc@example.com")).thenReturn(false);
-    when(specialityRepository.findById(1L)).thenReturn(Optional.empty());
+    when(specialityCatalogue.findById(1L)).thenReturn(Optional.empty());
 
     assertThrows(BadRequestException.class, () -> doctorService.insert(doctor));
-    verify(doctorRepository, never()).save(any());
+    verify(doctorRepository, never()).saveAndFlush(any());
   }
 
   @Test
@@ -132,7 +157,26 @@ class DoctorServiceTest {
 
     assertEquals("new@example.com", savedDoctor.getEmail());
     assertEquals("John", savedDoctor.getFirstName());
-    verify(doctorRepository).save(savedDoctor);
+    verify(doctorRepository).saveAndFlush(savedDoctor);
+  }
+
+  @Test
+  @DisplayName("update rejects the email of another doctor before changing the doctor")
+  void update_duplicateEmail() {
+    Doctor savedDoctor = new Doctor();
+    savedDoctor.setId(1L);
+    savedDoctor.setEmail("old@example.com");
+
+    Doctor updatedDoctor = new Doctor();
+    updatedDoctor.setEmail("taken@example.com");
+
+    when(doctorRepository.findById(1L)).thenReturn(Optional.of(savedDoctor));
+    when(emailFilter.mightContain("taken@example.com")).thenReturn(true);
+    when(doctorRepository.existsByEmail("taken@example.com")).thenReturn(true);
+
+    assertThrows(BadRequestException.class, () -> doctorService.update(1L, updatedDoctor));
+    assertEquals("old@example.com", savedDoctor.getEmail());
+    verify(doctorRepository, never()).saveAndFlush(any());
   }
 
   @Test
@@ -153,6 +197,7 @@ class DoctorServiceTest {
     doctorService.delete(1L);
 
     verify(doctorRepository).delete(doctor);
+    verify(emailFilter).removed();
   }
 
   @Test
@@ -161,4 +206,60 @@ class DoctorServiceTest {
     when(doctorRepository.findById(1L)).thenReturn(Optional.empty());
     assertThrows(NotFoundException.class, () -> doctorService.delete(1L));
   }
+
+  @Test
+  @DisplayName("findAll filters by the ids of the specialities matching the text")
+  void findAll_resolvesSpeciality() {
+    DoctorFilter filter = new DoctorFilter();
+    filter.setSpeciality("cardio");
+    when(specialityCatalogue.findIdsByDescription("cardio")).thenReturn(Set.of(3L));
+    when(doctorRepository.findAllWithFilters(any())).thenReturn(Page.empty());
+
+    doctorService.findAll(filter);
+
+    var resolved = ArgumentCaptor.forClass(DoctorFilter.class);
+    verify(doctorRepository).findAllWithFilters(resolved.capture());
+    assertEquals(Set.of(3L), resolved.getValue().getSpecialityIds());
+    assertEquals("cardio", resolved.getValue().getSpeciality());
+    assertNull(filter.getSpecialityIds());
+  }
+
+  @Test
+  @DisplayName("findSlice filters by the ids of the doctors matching the name")
+  void findSlice_resolvesName() {
+    DoctorFilter filter = new DoctorFilter();
+    filter.setFirstName("joh");
+    filter.setPageSize(5);
+    when(searchIndex.search("joh", null, null)).thenReturn(Set.of(1L, 2L));
+    when(doctorRepository.findSliceWithFilters(any())).thenReturn(new SliceImpl<>(List.of()));
+
+    doctorService.findSlice(filter);
+
+    var resolved = ArgumentCaptor.forClass(DoctorFilter.class);
+    verify(doctorRepository).findSliceWithFilters(resolved.capture());
+    assertEquals(Set.of(1L, 2L), resolved.getValue().getDoctorIds());
+    assertNull(resolved.getValue().getSpecialityIds());
+    assertEquals(5, resolved.getValue().getPageSize());
+    assertNull(filter.getDoctorIds());
+  }
+
+  @Test
+  @DisplayName("findAll falls back to the text filters when the name matches too many doctors")
+  void findAll_tooManyIds() {
+    DoctorFilter filter = new DoctorFilter();
+    filter.setLastName("son");
+    var ids =
+        LongStream.rangeClosed(1, DoctorService.MAX_RESOLVED_DOCTOR_IDS + 1)
+            .boxed()
+            .collect(Collectors.toSet());
+    when(searchIndex.search(null, "son", null)).thenReturn(ids);
+    when(doctorRepository.findAllWithFilters(any())).thenReturn(Page.empty());
+
+    doctorService.findAll(filter);
+
+    var resolved = ArgumentCaptor.forClass(DoctorFilter.class);
+    verify(doctorRepository).findAllWithFilters(resolved.capture());
+    assertNull(resolved.getValue().getDoctorIds());
+    assertEquals("son", resolved.getValue().getLastName());
+  }
 }
@@ -0,0 +1,94 @@
+package com.jts.pmanagement.domains.doctor.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.jts.pmanagement.domains.doctor.model.Speciality;
+import com.jts.pmanagement.domains.doctor.repository.SpecialityRepository;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Speciality Catalogue Unit Tests")
+class SpecialityCatalogueTest {
+
+  @Mock private SpecialityRepository specialityRepository;
+
+  @InjectMocks private SpecialityCatalogue catalogue;
+
+  private final Speciality cardiology =
+      Speciality.builder().id(1L).description("Cardiology").build();
+  private final Speciality neurology = Speciality.builder().id(2L).description("Neurology").build();
+
+  @BeforeEach
+  void setUp() {
+    when(specialityRepository.findAll()).thenReturn(List.of(cardiology, neurology));
+    catalogue.load();
+  }
+
+  @Test
+  @DisplayName("findById answers from memory")
+  void findById_fromMemory() {
+    assertSame(cardiology, catalogue.findById(1L).orElseThrow());
+    verify(specialityRepository, never()).existsById(any());
+  }
+
+  @Test
+  @DisplayName("findIdsByDescription matches part of the description ignoring case")
+  void findIdsByDescription_matchesIgnoringCase() {
+    assertEquals(Set.of(1L), catalogue.findIdsByDescription("CARDIO"));
+    assertEquals(Set.of(1L, 2L), catalogue.findIdsByDescription("logy"));
+    assertTrue(catalogue.findIdsByDescription("Dermatology").isEmpty());
+  }
+
+  @Test
+  @DisplayName("findById reloads the catalogue when the speciality was added later")
+  void findById_reloadsOnNewSpeciality() {
+    Speciality dermatology = Speciality.builder().id(3L).description("Dermatology").build();
+    when(specialityRepository.existsById(3L)).thenReturn(true);
+    when(specialityRepository.findAll()).thenReturn(List.of(cardiology, neurology, dermatology));
+
+    assertSame(dermatology, catalogue.findById(3L).orElseThrow());
+    assertEquals(Set.of(3L), catalogue.findIdsByDescription("derma"));
+  }
+
+  @Test
+  @DisplayName("refresh picks up renamed and deleted specialities")
+  void refresh_reloadsChanges() {
+    Speciality renamed = Speciality.builder().id(1L).description("Heart Surgery").build();
+    when(specialityRepository.findAll()).thenReturn(List.of(renamed));
+
+    catalogue.refresh();
+
+    assertEquals("Heart Surgery", catalogue.findById(1L).orElseThrow().getDescription());
+    assertTrue(catalogue.findIdsByDescription("cardio").isEmpty());
+    assertEquals(Set.of(1L), catalogue.findIdsByDescription("heart"));
+    assertTrue(catalogue.findIdsByDescription("neuro").isEmpty());
+  }
+
+  @Test
+  @DisplayName("refresh keeps the previous specialities when the reload fails")
+  void refresh_keepsSnapshotOnFailure() {
+    when(specialityRepository.findAll()).thenThrow(new IllegalStateException("down"));
+
+    catalogue.refresh();
+
+    assertSame(cardiology, catalogue.findById(1L).orElseThrow());
+  }
+
+  @Test
+  @DisplayName("findById does not reload for an unknown speciality")
+  void findById_unknown() {
+    when(specialityRepository.existsById(9L)).thenReturn(false);
+
+    assertTrue(catalogue.findById(9L).isEmpty());
+    verify(specialityRepository, times(1)).findAll();
+  }
+}
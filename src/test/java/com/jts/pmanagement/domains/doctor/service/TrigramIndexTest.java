@@ -0,0 +1,56 @@
+package com.jts.pmanagement.domains.doctor.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Trigram Index Unit Tests")
+class TrigramIndexTest {
+
+  private TrigramIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new TrigramIndex();
+    index.put(1L, "Johnny");
+    index.put(2L, "John");
+    index.put(3L, "Joanna");
+  }
+
+  @Test
+  @DisplayName("search returns the ids whose value contains the text ignoring case")
+  void search_substring() {
+    assertEquals(Set.of(1L, 2L), index.search("JOHN"));
+    assertEquals(Set.of(1L), index.search("hnny"));
+    assertTrue(index.search("xyz").isEmpty());
+  }
+
+  @Test
+  @DisplayName("search confirms candidates sharing every trigram but not the substring")
+  void search_confirmsCandidates() {
+    index.put(4L, "anna-nnan");
+
+    // "annan" has the trigrams ann, nna and nan, all found in "anna-nnan" but not in sequence
+    assertTrue(index.search("annan").isEmpty());
+  }
+
+  @Test
+  @DisplayName("search scans the values for texts shorter than a trigram")
+  void search_shortText() {
+    assertEquals(Set.of(1L, 2L, 3L), index.search("jo"));
+    assertEquals(Set.of(3L), index.search("a"));
+  }
+
+  @Test
+  @DisplayName("put replaces and remove drops the indexed value")
+  void putAndRemove() {
+    index.put(2L, "Mark");
+    index.remove(1L);
+
+    assertTrue(index.search("john").isEmpty());
+    assertEquals(Set.of(2L), index.search("mar"));
+  }
+}
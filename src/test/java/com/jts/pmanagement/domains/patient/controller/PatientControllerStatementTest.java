@@ -0,0 +1,162 @@
+package com.jts.pmanagement.domains.patient.controller;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jts.pmanagement.common.repository.SqlStatementTest;
+import com.jts.pmanagement.domains.patient.dto.PatientRequest;
+import com.jts.pmanagement.domains.patient.model.Patient;
+import com.jts.pmanagement.domains.patient.service.PatientEmailFilter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+/**
+ * Pins the SQL statements of the PatientController endpoints. The web layer is covered by
+ * PatientControllerTest.
+ */
+@DisplayName("Patient Controller SQL Statements")
+class PatientControllerStatementTest extends SqlStatementTest {
+
+  @Autowired private PatientEmailFilter emailFilter;
+
+  private Patient patient;
+
+  @Override
+  protected void insertFixtures() {
+    patient =
+        patientRepository.save(
+            Patient.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("statement.patient@gmail.com")
+                .address("Street 1")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .createdAt(LocalDateTime.now())
+                .build());
+  }
+
+  @Test
+  @DisplayName("GET /v1/patients/{id} - should load the patient")
+  void findById() throws Exception {
+    mockMvc.perform(get("/v1/patients/{id}", patient.getId())).andExpect(status().isOk());
+
+    statements.assertStatements(1);
+  }
+
+  @Test
+  @DisplayName("GET /v1/patients - should list the patients")
+  void listAll() throws Exception {
+    mockMvc.perform(get("/v1/patients")).andExpect(status().isOk());
+
+    statements.assertStatements(2);
+  }
+
+  @Test
+  @DisplayName("POST /v1/patients - should insert the patient")
+  void insert() throws Exception {
+    var request =
+        new PatientRequest(
+            "Jane", "Roe", "statement.jane@gmail.com", "Street 2", LocalDate.of(1985, 5, 5));
+
+    mockMvc
+        .perform(
+            post("/v1/patients")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isCreated());
+
+    statements.assertStatements(1);
+    statements.assertTransactions(1);
+    statements.assertConnections(1);
+  }
+
+  @Test
+  @DisplayName("PUT /v1/patients/{id} - should update the patient")
+  void update() throws Exception {
+    var request =
+        new PatientRequest(
+            "John", "Doe", "statement.patient@gmail.com", "Street 3", LocalDate.of(1990, 1, 1));
+
+    mockMvc
+        .perform(
+            put("/v1/patients/{id}", patient.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk());
+
+    statements.assertStatements(2);
+    statements.assertTransactions(1);
+    statements.assertConnections(1);
+  }
+
+  @Test
+  @DisplayName("PUT /v1/patients/{id} - should reject the email of another patient")
+  void update_duplicateEmail() throws Exception {
+    patientRepository.save(
+        Patient.builder()
+            .firstName("Jane")
+            .lastName("Roe")
+            .email("statement.jane@gmail.com")
+            .address("Street 2")
+            .dateOfBirth(LocalDate.of(1985, 5, 5))
+            .createdAt(LocalDateTime.now())
+            .build());
+    var request =
+        new PatientRequest(
+            "John", "Doe", "statement.jane@gmail.com", "Street 1", LocalDate.of(1990, 1, 1));
+
+    mockMvc
+        .perform(
+            put("/v1/patients/{id}", patient.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("PUT /v1/patients/{id} - should reject an email the email filter does not know yet")
+  void update_duplicateEmailMissedByFilter() throws Exception {
+    var other =
+        patientRepository.save(
+            Patient.builder()
+                .firstName("Jane")
+                .lastName("Roe")
+                .email("statement.unfiltered@gmail.com")
+                .address("Street 2")
+                .dateOfBirth(LocalDate.of(1985, 5, 5))
+                .createdAt(LocalDateTime.now())
+                .build());
+    // Written behind the service, like by another instance, so the update skips the pre-check
+    assertFalse(emailFilter.mightContain(other.getEmail()));
+    var request =
+        new PatientRequest("John", "Doe", other.getEmail(), "Street 1", LocalDate.of(1990, 1, 1));
+
+    mockMvc
+        .perform(
+            put("/v1/patients/{id}", patient.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("DELETE /v1/patients/{id} - should delete the patient")
+  void delete() throws Exception {
+    mockMvc
+        .perform(MockMvcRequestBuilders.delete("/v1/patients/{id}", patient.getId()))
+        .andExpect(status().isNoContent());
+
+    // Existence check and the two bulk deletes; the email filter is rebuilt later, by the scheduler
+    statements.assertStatements(3);
+    statements.assertTransactions(1);
+    statements.assertConnections(1);
+  }
+}
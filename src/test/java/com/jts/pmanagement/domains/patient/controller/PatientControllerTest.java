@@ -30,6 +30,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -205,4 +207,27 @@ class PatientControllerTest {
 
     verify(service).findAll(any(PatientFilter.class));
   }
+
+  @Test
+  @DisplayName("GET /v1/patients?withTotal=false - should return a slice without total")
+  void shouldReturnSliceWithoutTotal() throws Exception {
+    Patient patient = buildPatient(1L);
+
+    PatientResponse response =
+        new PatientResponse(
+            1L, "John", "Doe", "john.doe@gmail.com", "Street 1", LocalDate.of(1990, 1, 1));
+
+    when(service.findSlice(any(PatientFilter.class)))
+        .thenReturn(new SliceImpl<>(List.of(patient), PageRequest.of(0, 1), true));
+    when(patientMapper.toPatientResponse(patient)).thenReturn(response);
+
+    mockMvc
+        .perform(get("/v1/patients").param("withTotal", "false"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].id").value(1))
+        .andExpect(jsonPath("$.last").value(false))
+        .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+    verify(service).findSlice(any(PatientFilter.class));
+  }
 }
@@ -1,18 +1,26 @@
 package com.jts.pmanagement.domains.patient.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.jts.pmanagement.common.exception.BadRequestException;
+import com.jts.pmanagement.common.filter.PageSize;
 import com.jts.pmanagement.domains.patient.dto.PatientFilter;
+import com.jts.pmanagement.domains.patient.dto.PatientSearchMode;
 import com.jts.pmanagement.domains.patient.model.Patient;
+import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 @DataJpaTest
 @DisplayName("Patient Repository Unit Tests")
@@ -20,6 +28,8 @@ class PatientRepositoryImplTest {
 
   @Autowired private PatientRepository repository;
 
+  @Autowired private EntityManager entityManager;
+
   @BeforeEach
   void setUp() {
     repository.deleteAll();
@@ -180,4 +190,147 @@ class PatientRepositoryImplTest {
     assertThat(result.getContent().get(1).getFirstName()).isEqualTo("Jane");
     assertThat(result.getContent().get(2).getFirstName()).isEqualTo("John");
   }
+
+  @Test
+  @DisplayName("findSliceWithFilters - should tell there is a next page without counting")
+  void shouldReturnSliceWithNextPage() {
+    PatientFilter filter = new PatientFilter();
+    filter.setPageNumber(0);
+    filter.setPageSize(2);
+
+    Slice<Patient> first = repository.findSliceWithFilters(filter);
+
+    filter.setPageNumber(1);
+    Slice<Patient> last = repository.findSliceWithFilters(filter);
+
+    assertThat(first.getContent()).hasSize(2);
+    assertThat(first.hasNext()).isTrue();
+    assertThat(last.getContent()).hasSize(1);
+    assertThat(last.hasNext()).isFalse();
+  }
+
+  @Test
+  @DisplayName("findSliceWithFilters - should reject a page size below one and cap larger ones")
+  void shouldCheckSlicePageSize() {
+    PatientFilter filter = new PatientFilter();
+    filter.setPageSize(0);
+
+    assertThatThrownBy(() -> repository.findSliceWithFilters(filter))
+        .isInstanceOf(BadRequestException.class);
+
+    filter.setPageSize(Integer.MAX_VALUE);
+    Slice<Patient> slice = repository.findSliceWithFilters(filter);
+
+    assertThat(slice.getSize()).isEqualTo(PageSize.MAX);
+    assertThat(slice.getContent()).hasSize(3);
+    assertThat(slice.hasNext()).isFalse();
+  }
+
+  @Test
+  @DisplayName("findSliceWithFilters - should apply the filters")
+  void shouldFilterSliceByFirstName() {
+    PatientFilter filter = new PatientFilter();
+    filter.setFirstName("john");
+
+    Slice<Patient> result = repository.findSliceWithFilters(filter);
+
+    assertThat(result.getContent())
+        .extracting(Patient::getFirstName)
+        .containsExactly("Johnny", "John");
+    assertThat(result.hasNext()).isFalse();
+  }
+
+  @Test
+  @DisplayName("lockExistingIds - should return only the ids of existing patients")
+  void shouldLockExistingIds() {
+    Long existing = repository.findAll().getFirst().getId();
+
+    assertThat(repository.lockExistingIds(List.of(existing, -1L))).containsExactly(existing);
+  }
+
+  @Test
+  @DisplayName("findAllWithFilters - should match the prefix ignoring case and accents")
+  void shouldFilterByPrefix() {
+    repository.save(
+        Patient.builder()
+            .firstName("Joëlle")
+            .lastName("Martin")
+            .email("Joelle.Martin@example.com")
+            .address("1 Rue Haute")
+            .dateOfBirth(LocalDate.of(1991, 2, 3))
+            .createdAt(LocalDateTime.now())
+            .build());
+
+    PatientFilter filter = new PatientFilter();
+    filter.setSearchMode(PatientSearchMode.PREFIX);
+    filter.setFirstName("JOE");
+
+    Page<Patient> result = repository.findAllWithFilters(filter);
+    assertThat(result.getContent()).extracting(Patient::getFirstName).containsExactly("Joëlle");
+
+    filter.setFirstName("ohn");
+    assertThat(repository.findAllWithFilters(filter).getTotalElements()).isZero();
+
+    filter.setFirstName("jo");
+    filter.setEmail("JOHNNY");
+    assertThat(repository.findAllWithFilters(filter).getContent())
+        .extracting(Patient::getFirstName)
+        .containsExactly("Johnny");
+  }
+
+  @Test
+  @DisplayName("save - should refresh the normalized columns when the patient changes")
+  void shouldRefreshNormalizedColumns() {
+    Patient patient =
+        repository.findAll().stream()
+            .filter(p -> p.getFirstName().equals("Jane"))
+            .findFirst()
+            .orElseThrow();
+
+    patient.setFirstName("Ángela");
+    repository.saveAndFlush(patient);
+
+    assertThat(repository.findById(patient.getId()))
+        .get()
+        .extracting(Patient::getFirstNameNormalized)
+        .isEqualTo("angela");
+  }
+
+  @Test
+  @DisplayName("findAllWithFilters - should serve the prefix search with an index range scan")
+  void shouldUseNormalizedIndexForPrefix() {
+    String plan =
+        (String)
+            entityManager
+                .createNativeQuery(
+                    "EXPLAIN SELECT p.id FROM patient p WHERE p.first_name_normalized LIKE 'jo%'")
+                .getSingleResult();
+
+    assertThat(plan).contains("IDX_PATIENT_4").contains("FIRST_NAME_NORMALIZED >= 'jo'");
+  }
+
+  @Test
+  @DisplayName("save - should reject a second patient with the same email")
+  void shouldRejectDuplicateEmail() {
+    Patient duplicate =
+        Patient.builder()
+            .firstName("Other")
+            .lastName("John")
+            .email("john.doe@example.com")
+            .address("1 Other St")
+            .dateOfBirth(LocalDate.of(1980, 1, 1))
+            .createdAt(LocalDateTime.now())
+            .build();
+
+    assertThatThrownBy(() -> repository.saveAndFlush(duplicate))
+        .isInstanceOf(DataIntegrityViolationException.class);
+  }
+
+  @Test
+  @DisplayName("findAllEmails - should return the email of every patient")
+  void shouldFindAllEmails() {
+    assertThat(repository.findAllEmails())
+        .containsExactlyInAnyOrder(
+            "john.doe@example.com", "jane.smith@example.com", "johnny.apple@example.com");
+  }
 }
@@ -0,0 +1,77 @@
+package com.jts.pmanagement.domains.patient.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jts.pmanagement.domains.patient.dto.PatientFilter;
+import com.jts.pmanagement.domains.patient.dto.PatientSearchMode;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+
+/**
+ * Compares the contains and prefix patient searches over one million rows. It takes a while, so
+ * it only runs with {@code -Dpms.benchmark=true}.
+ */
+@Slf4j
+@DataJpaTest
+@EnabledIfSystemProperty(named = "pms.benchmark", matches = "true")
+@DisplayName("Patient Search Benchmark")
+class PatientSearchBenchmarkTest {
+
+  private static final int PATIENTS = 1_000_000;
+  private static final int ROUNDS = 5;
+
+  @Autowired private PatientRepository repository;
+
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  @DisplayName("prefix search should beat the contains search on a large table")
+  void prefixSearch_shouldBeatContainsSearch() {
+    entityManager
+        .createNativeQuery(
+            """
+            INSERT INTO patient (first_name, last_name, email, date_of_birth, address, created_at,
+                                 first_name_normalized, email_normalized)
+            SELECT 'Patient' || x, 'Last' || x, 'patient' || x || '@example.com', DATE '1990-01-01',
+                   'Street ' || x, DATEADD(SECOND, x, TIMESTAMP '2026-01-01 00:00:00'),
+                   'patient' || x, 'patient' || x || '@example.com'
+            FROM SYSTEM_RANGE(1, ?)
+            """)
+        .setParameter(1, PATIENTS)
+        .executeUpdate();
+
+    PatientFilter filter = new PatientFilter();
+    filter.setFirstName("Patient12345");
+    filter.setWithTotal(false);
+
+    filter.setSearchMode(PatientSearchMode.CONTAINS);
+    long contains = time(filter);
+
+    filter.setSearchMode(PatientSearchMode.PREFIX);
+    long prefix = time(filter);
+
+    log.info(
+        "Search over {} patients, average per query: contains {} us, prefix {} us",
+        PATIENTS,
+        contains / ROUNDS / 1_000,
+        prefix / ROUNDS / 1_000);
+    assertThat(prefix).isLessThan(contains);
+  }
+
+  private long time(PatientFilter filter) {
+    // Warm up once, then measure
+    assertThat(repository.findSliceWithFilters(filter).getContent()).isNotEmpty();
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++) {
+      repository.findSliceWithFilters(filter);
+      entityManager.clear();
+    }
+    return System.nanoTime() - start;
+  }
+}
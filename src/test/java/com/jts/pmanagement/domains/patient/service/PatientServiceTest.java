@@ -5,6 +5,8 @@ import static org.mockito.Mockito.*;
 
 import com.jts.pmanagement.common.exception.BadRequestException;
 import com.jts.pmanagement.common.exception.NotFoundException;
+import com.jts.pmanagement.domains.appointment.repository.AppointmentRepository;
+import com.jts.pmanagement.domains.appointment.service.AppointmentScheduleIndex;
 import com.jts.pmanagement.domains.patient.dto.PatientFilter;
 import com.jts.pmanagement.domains.patient.model.Patient;
 import com.jts.pmanagement.domains.patient.repository.PatientRepository;
@@ -14,9 +16,11 @@ import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
@@ -25,6 +29,9 @@ import org.springframework.data.domain.PageImpl;
 class PatientServiceTest {
 
   @Mock private PatientRepository repository;
+  @Mock private AppointmentRepository appointmentRepository;
+  @Mock private AppointmentScheduleIndex scheduleIndex;
+  @Mock private PatientEmailFilter emailFilter;
 
   @InjectMocks private PatientService patientService;
 
@@ -66,12 +73,46 @@ class PatientServiceTest {
     Patient patient = new Patient();
     patient.setEmail("test@example.com");
 
+    when(emailFilter.mightContain("test@example.com")).thenReturn(true);
     when(repository.existsByEmail("test@example.com")).thenReturn(false);
 
     patientService.insert(patient);
 
     assertNotNull(patient.getCreatedAt());
-    verify(repository).save(patient);
+    verify(repository).saveAndFlush(patient);
+    verify(emailFilter).add("test@example.com");
+  }
+
+  @Test
+  @DisplayName("insert skips the email query when the filter has never seen the email")
+  void insert_unknownEmail() {
+    Patient patient = new Patient();
+    patient.setEmail("test@example.com");
+
+    when(emailFilter.mightContain("test@example.com")).thenReturn(false);
+
+    patientService.insert(patient);
+
+    verify(repository, never()).existsByEmail(any());
+    verify(repository).saveAndFlush(patient);
+  }
+
+  @Test
+  @DisplayName("insert turns a unique email violation into BadRequestException")
+  void insert_uniqueViolation() {
+    Patient patient = new Patient();
+    patient.setEmail("test@example.com");
+
+    when(emailFilter.mightContain("test@example.com")).thenReturn(false);
+    when(repository.saveAndFlush(patient))
+        .thenThrow(new DataIntegrityViolationException("uk_patient_1"));
+    when(repository.existsByEmail("test@example.com")).thenReturn(true);
+
+    var exception = assertThrows(BadRequestException.class, () -> patientService.insert(patient));
+    assertEquals(
+        "There is another patient using the same email 'test@example.com' informed",
+        exception.getMessage());
+    verify(emailFilter, never()).add(any());
   }
 
   @Test
@@ -80,10 +121,11 @@ class PatientServiceTest {
     Patient patient = new Patient();
     patient.setEmail("test@example.com");
 
+    when(emailFilter.mightContain("test@example.com")).thenReturn(true);
     when(repository.existsByEmail("test@example.com")).thenReturn(true);
 
     assertThrows(BadRequestException.class, () -> patientService.insert(patient));
-    verify(repository, never()).save(patient);
+    verify(repository, never()).saveAndFlush(patient);
   }
 
   @Test
@@ -105,7 +147,28 @@ class PatientServiceTest {
 
     assertEquals("new@example.com", savedPatient.getEmail());
     assertEquals("John", savedPatient.getFirstName());
-    verify(repository).save(savedPatient);
+    verify(repository).saveAndFlush(savedPatient);
+    verify(emailFilter).add("new@example.com");
+    verify(emailFilter).removed();
+  }
+
+  @Test
+  @DisplayName("update rejects the email of another patient before changing the patient")
+  void update_duplicateEmail() {
+    Patient savedPatient = new Patient();
+    savedPatient.setId(1L);
+    savedPatient.setEmail("old@example.com");
+
+    Patient updatedPatient = new Patient();
+    updatedPatient.setEmail("taken@example.com");
+
+    when(repository.findById(1L)).thenReturn(Optional.of(savedPatient));
+    when(emailFilter.mightContain("taken@example.com")).thenReturn(true);
+    when(repository.existsByEmail("taken@example.com")).thenReturn(true);
+
+    assertThrows(BadRequestException.class, () -> patientService.update(1L, updatedPatient));
+    assertEquals("old@example.com", savedPatient.getEmail());
+    verify(repository, never()).saveAndFlush(any());
   }
 
   @Test
@@ -119,20 +182,23 @@ class PatientServiceTest {
   @Test
   @DisplayName("delete removes patient")
   void delete_success() {
-    Patient patient = new Patient();
-    patient.setId(1L);
-
-    when(repository.findById(1L)).thenReturn(Optional.of(patient));
+    when(repository.existsById(1L)).thenReturn(true);
 
     patientService.delete(1L);
 
-    verify(repository).delete(patient);
+    InOrder inOrder = inOrder(appointmentRepository, repository);
+    inOrder.verify(appointmentRepository).bulkDeleteByPatientId(1L);
+    inOrder.verify(repository).bulkDeleteById(1L);
+    verify(repository, never()).delete(any());
+    verify(scheduleIndex).unregisterPatient(1L);
+    verify(emailFilter).removed();
   }
 
   @Test
   @DisplayName("delete throws NotFoundException if patient does not exist")
   void delete_notFound() {
-    when(repository.findById(1L)).thenReturn(Optional.empty());
+    when(repository.existsById(1L)).thenReturn(false);
     assertThrows(NotFoundException.class, () -> patientService.delete(1L));
+    verifyNoInteractions(appointmentRepository);
   }
 }
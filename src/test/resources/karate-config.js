@@ -2,13 +2,16 @@ function fn() {
 
     var port = karate.properties['karate.port'];
     var config = {
-        baseUrl: 'http://localhost:' + port
+        baseUrl: karate.properties['karate.baseUrl'] || 'http://localhost:' + port
     };
 
     karate.configure('connectTimeout', 5000);
     karate.configure('readTimeout', 10000);
-    karate.configure('logPrettyRequest', true);
-    karate.configure('logPrettyResponse', true);
+
+    // Pretty printing every payload skews the latencies measured under load
+    var pretty = karate.env != 'load';
+    karate.configure('logPrettyRequest', pretty);
+    karate.configure('logPrettyResponse', pretty);
 
     return config;
 }
\ No newline at end of file